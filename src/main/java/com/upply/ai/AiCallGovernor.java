@@ -0,0 +1,278 @@
+package com.upply.ai;
+
+import com.upply.exception.custom.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAdvisorChain;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the calls this instance makes to one provider, shared by every {@link
+ * org.springframework.ai.chat.client.ChatClient} built on it. Limits hold across replicas:
+ * <ul>
+ *     <li>{@code ai-governor:{provider}:tokens} - token bucket, one token per call</li>
+ *     <li>{@code ai-governor:{provider}:leases} - sorted set of calls in flight, scored by
+ *     lease expiry so a crashed instance cannot hold a slot forever</li>
+ * </ul>
+ * Both are checked and taken in one script. A share of the tokens and slots is kept for
+ * {@link AiPriority#INTERACTIVE} calls, so background work cannot use up the provider.
+ *
+ * <p>Calls that cannot start right away wait in a local queue, interactive first and FIFO
+ * within a priority; only the head of the queue asks Redis. Each priority has a bounded
+ * queue and a maximum wait, past which the call fails with {@link ServiceBusyException}.
+ * When Redis is unreachable calls are let through rather than failed.
+ */
+@Slf4j
+public class AiCallGovernor implements CallAdvisor, StreamAdvisor {
+
+    public record Limits(int burst, double requestsPerSecond, int maxConcurrent) {
+    }
+
+    public record QueueSettings(int capacity, Duration maxWait) {
+    }
+
+    public record Settings(double interactiveReserve,
+                           Duration leaseDuration,
+                           Duration pollInterval,
+                           Map<AiPriority, QueueSettings> queues) {
+    }
+
+    /**
+     * Returns 0 when a call may start (token and lease taken), the milliseconds until the
+     * next token when the bucket is empty, or -1 when every slot is in use.
+     */
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local burst = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2]) / 1000
+            local reservedTokens = tonumber(ARGV[3])
+            local slots = tonumber(ARGV[4])
+            local leaseMillis = tonumber(ARGV[6])
+
+            redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now)
+            if redis.call('ZCARD', KEYS[2]) >= slots then
+                return -1
+            end
+
+            local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'updated')
+            local tokens = tonumber(bucket[1]) or burst
+            local updated = tonumber(bucket[2]) or now
+            tokens = math.min(burst, tokens + math.max(0, now - updated) * rate)
+            if tokens < 1 + reservedTokens then
+                redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'updated', tostring(now))
+                return math.max(1, math.ceil((1 + reservedTokens - tokens) / rate))
+            end
+
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens - 1), 'updated', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil(burst / rate) + 1000)
+            redis.call('ZADD', KEYS[2], now + leaseMillis, ARGV[5])
+            redis.call('PEXPIRE', KEYS[2], leaseMillis)
+            return 0
+            """, Long.class);
+
+    private final String provider;
+    private final StringRedisTemplate redisTemplate;
+    private final Limits limits;
+    private final Settings settings;
+    private final List<String> keys;
+    private final String leasesKey;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final PriorityQueue<Ticket> waiting = new PriorityQueue<>();
+    private long sequence;
+
+    private final Map<AiPriority, AtomicInteger> depth = new EnumMap<>(AiPriority.class);
+    private final Map<AiPriority, Timer> waitTimers = new EnumMap<>(AiPriority.class);
+    private final Map<AiPriority, Counter> queueFullRejections = new EnumMap<>(AiPriority.class);
+    private final Map<AiPriority, Counter> timeoutRejections = new EnumMap<>(AiPriority.class);
+
+    public AiCallGovernor(String provider,
+                          StringRedisTemplate redisTemplate,
+                          Limits limits,
+                          Settings settings,
+                          MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.redisTemplate = redisTemplate;
+        this.limits = limits;
+        this.settings = settings;
+        this.leasesKey = "ai-governor:{" + provider + "}:leases";
+        this.keys = List.of("ai-governor:{" + provider + "}:tokens", leasesKey);
+
+        for (AiPriority priority : AiPriority.values()) {
+            Tags tags = Tags.of("provider", provider, "priority", priority.name().toLowerCase());
+            depth.put(priority, meterRegistry.gauge("ai.governor.queue.depth", tags, new AtomicInteger()));
+            waitTimers.put(priority, meterRegistry.timer("ai.governor.wait", tags));
+            queueFullRejections.put(priority, meterRegistry.counter("ai.governor.rejections", tags.and("reason", "queue_full")));
+            timeoutRejections.put(priority, meterRegistry.counter("ai.governor.rejections", tags.and("reason", "timeout")));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "AiCallGovernor[" + provider + "]";
+    }
+
+    /**
+     * Runs after {@link CachingChatAdvisor}, so cache hits never wait for capacity.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+        String lease = acquire(priorityOf(request));
+        try {
+            return chain.nextCall(request);
+        } finally {
+            release(lease);
+        }
+    }
+
+    @Override
+    public Flux<ChatClientResponse> adviseStream(ChatClientRequest request, StreamAdvisorChain chain) {
+        AiPriority priority = priorityOf(request);
+        return Mono.fromCallable(() -> acquire(priority))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(lease -> chain.nextStream(request).doFinally(signal -> release(lease)));
+    }
+
+    private static AiPriority priorityOf(ChatClientRequest request) {
+        return request.context().get(AiPriority.CONTEXT_KEY) instanceof AiPriority priority
+                ? priority
+                : AiPriority.INTERACTIVE;
+    }
+
+    /**
+     * Waits for a token and a slot.
+     *
+     * @return the lease id to hand back to {@link #release}
+     * @throws ServiceBusyException when the queue for this priority is full or the wait ran out
+     */
+    String acquire(AiPriority priority) {
+        QueueSettings queue = settings.queues().get(priority);
+        AtomicInteger queued = depth.get(priority);
+        String lease = UUID.randomUUID().toString();
+        long start = System.nanoTime();
+        long deadline = start + queue.maxWait().toNanos();
+
+        lock.lock();
+        Ticket ticket = null;
+        try {
+            if (queued.get() >= queue.capacity()) {
+                queueFullRejections.get(priority).increment();
+                throw new ServiceBusyException("Too many pending " + provider + " requests, please try again later");
+            }
+            ticket = new Ticket(priority, sequence++);
+            waiting.add(ticket);
+            queued.incrementAndGet();
+            changed.signalAll();
+
+            while (true) {
+                long waitNanos = Long.MAX_VALUE;
+                if (waiting.peek() == ticket) {
+                    long retryAfter;
+                    lock.unlock();
+                    try {
+                        retryAfter = tryAcquire(priority, lease);
+                    } finally {
+                        lock.lock();
+                    }
+                    if (retryAfter == 0) {
+                        waitTimers.get(priority).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        return lease;
+                    }
+                    waitNanos = retryAfter > 0
+                            ? TimeUnit.MILLISECONDS.toNanos(retryAfter)
+                            : settings.pollInterval().toNanos();
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    timeoutRejections.get(priority).increment();
+                    throw new ServiceBusyException("Timed out waiting for " + provider + " capacity, please try again later");
+                }
+                changed.awaitNanos(Math.min(waitNanos, remaining));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + provider + " capacity", e);
+        } finally {
+            if (ticket != null) {
+                waiting.remove(ticket);
+                queued.decrementAndGet();
+                changed.signalAll();
+            }
+            lock.unlock();
+        }
+    }
+
+    void release(String lease) {
+        try {
+            redisTemplate.opsForZSet().remove(leasesKey, lease);
+        } catch (Exception e) {
+            log.warn("Failed to release {} call lease, it expires in {}", provider, settings.leaseDuration(), e);
+        }
+        lock.lock();
+        try {
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long tryAcquire(AiPriority priority, String lease) {
+        boolean background = priority != AiPriority.INTERACTIVE;
+        long reservedTokens = background ? (long) Math.floor(limits.burst() * settings.interactiveReserve()) : 0;
+        long reservedSlots = background ? (long) Math.floor(limits.maxConcurrent() * settings.interactiveReserve()) : 0;
+        long slots = Math.max(1, limits.maxConcurrent() - reservedSlots);
+        try {
+            Long result = redisTemplate.execute(ACQUIRE_SCRIPT, keys,
+                    String.valueOf(limits.burst()),
+                    String.valueOf(limits.requestsPerSecond()),
+                    String.valueOf(reservedTokens),
+                    String.valueOf(slots),
+                    lease,
+                    String.valueOf(settings.leaseDuration().toMillis()));
+            return result == null ? 0 : result;
+        } catch (Exception e) {
+            log.warn("AI call governor for {} could not reach Redis, letting the call through", provider, e);
+            return 0;
+        }
+    }
+
+    private record Ticket(AiPriority priority, long sequence) implements Comparable<Ticket> {
+        @Override
+        public int compareTo(Ticket other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
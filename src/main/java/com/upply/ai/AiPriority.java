@@ -0,0 +1,15 @@
+package com.upply.ai;
+
+/**
+ * Priority class of a model call, read by {@link AiCallGovernor}. Callers set it with
+ * {@code .advisors(a -> a.param(AiPriority.CONTEXT_KEY, AiPriority.BACKGROUND))};
+ * calls without it are {@link #INTERACTIVE}.
+ */
+public enum AiPriority {
+    /** A user is waiting on the answer (HTTP requests, recruiter chat). */
+    INTERACTIVE,
+    /** Queue-driven work such as Kafka consumers, which can wait for capacity. */
+    BACKGROUND;
+
+    public static final String CONTEXT_KEY = "upply.ai.priority";
+}
@@ -0,0 +1,248 @@
+package com.upply.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClientAttributes;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link CallAdvisor} that caches the text of a chat response by a SHA-256 of the model,
+ * options, messages and requested output format, first in a bounded in-process LRU and
+ * then in Redis. Identical requests already in flight on this instance wait for the
+ * first one instead of reaching the provider again.
+ *
+ * <p>Cache hits are rebuilt as a single-generation response without provider metadata,
+ * which is all {@code content()} and {@code entity()} need.
+ */
+@Slf4j
+public class CachingChatAdvisor implements CallAdvisor {
+
+    private final String client;
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final Duration ttl;
+    private final LruCache localCache;
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter coalesced;
+    private final Counter misses;
+
+    public CachingChatAdvisor(String client,
+                              StringRedisTemplate redisTemplate,
+                              MeterRegistry meterRegistry,
+                              int localMaxEntries,
+                              Duration localTtl,
+                              Duration ttl) {
+        this.client = client;
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = "ai-cache:" + client + ":";
+        this.ttl = ttl;
+        this.localCache = new LruCache(localMaxEntries, localTtl.compareTo(ttl) < 0 ? localTtl : ttl);
+
+        this.localHits = meterRegistry.counter("ai.cache.hits", "client", client, "tier", "local");
+        this.redisHits = meterRegistry.counter("ai.cache.hits", "client", client, "tier", "redis");
+        this.coalesced = meterRegistry.counter("ai.cache.coalesced", "client", client);
+        this.misses = meterRegistry.counter("ai.cache.misses", "client", client);
+        meterRegistry.gauge("ai.cache.local.size", List.of(Tag.of("client", client)),
+                localCache, LruCache::size);
+    }
+
+    @Override
+    public String getName() {
+        return "CachingChatAdvisor[" + client + "]";
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public ChatClientResponse adviseCall(ChatClientRequest request, CallAdvisorChain chain) {
+        String key = keyPrefix + sha256(cacheKey(request));
+
+        String cached = localCache.get(key);
+        if (cached != null) {
+            localHits.increment();
+            return toResponse(cached, request);
+        }
+
+        cached = readFromRedis(key);
+        if (cached != null) {
+            redisHits.increment();
+            localCache.put(key, cached);
+            return toResponse(cached, request);
+        }
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> leader = inFlight.putIfAbsent(key, future);
+        if (leader != null) {
+            coalesced.increment();
+            return toResponse(await(leader), request);
+        }
+
+        misses.increment();
+        try {
+            ChatClientResponse response = chain.nextCall(request);
+            String text = textOf(response);
+            if (text != null && !text.isBlank()) {
+                localCache.put(key, text);
+                writeToRedis(key, text);
+            }
+            future.complete(text);
+            return response;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private static String await(CompletableFuture<String> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Everything that can change the model's answer: model and sampling options, every
+     * message of the prompt, and the output format {@code entity()} appends further down the chain.
+     */
+    static String cacheKey(ChatClientRequest request) {
+        StringBuilder key = new StringBuilder();
+        ChatOptions options = request.prompt().getOptions();
+        if (options != null) {
+            key.append("model=").append(options.getModel())
+                    .append("|temperature=").append(options.getTemperature())
+                    .append("|maxTokens=").append(options.getMaxTokens())
+                    .append("|topP=").append(options.getTopP())
+                    .append("|topK=").append(options.getTopK())
+                    .append("|frequencyPenalty=").append(options.getFrequencyPenalty())
+                    .append("|presencePenalty=").append(options.getPresencePenalty())
+                    .append("|stop=").append(options.getStopSequences());
+        }
+        for (Message message : request.prompt().getInstructions()) {
+            key.append('\n').append(message.getMessageType()).append(':').append(message.getText());
+        }
+        key.append("\nformat=").append(request.context().get(ChatClientAttributes.OUTPUT_FORMAT.getKey()))
+                .append("\nschema=").append(request.context().get(ChatClientAttributes.STRUCTURED_OUTPUT_SCHEMA.getKey()));
+        return key.toString();
+    }
+
+    private static String textOf(ChatClientResponse response) {
+        ChatResponse chatResponse = response.chatResponse();
+        if (chatResponse == null || chatResponse.getResult() == null) {
+            return null;
+        }
+        return chatResponse.getResult().getOutput().getText();
+    }
+
+    private static ChatClientResponse toResponse(String text, ChatClientRequest request) {
+        return ChatClientResponse.builder()
+                .chatResponse(new ChatResponse(List.of(new Generation(new AssistantMessage(text)))))
+                .context(Map.copyOf(request.context()))
+                .build();
+    }
+
+    private String readFromRedis(String key) {
+        if (redisTemplate == null) {
+            return null;
+        }
+        try {
+            return redisTemplate.opsForValue().get(key);
+        } catch (Exception e) {
+            log.warn("Chat cache lookup in Redis failed for {}, calling the model", client, e);
+            return null;
+        }
+    }
+
+    private void writeToRedis(String key, String text) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(key, text, ttl);
+        } catch (Exception e) {
+            log.warn("Failed to write chat response for {} to Redis", client, e);
+        }
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class LruCache {
+        private final LinkedHashMap<String, Entry> entries;
+        private final long ttlNanos;
+
+        private record Entry(String text, long expiresAt) {
+        }
+
+        LruCache(int maxEntries, Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        synchronized String get(String key) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.expiresAt() > 0) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.text();
+        }
+
+        synchronized void put(String key, String text) {
+            entries.put(key, new Entry(text, System.nanoTime() + ttlNanos));
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.upply.ai;
+
+import com.upply.exception.custom.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Routes a call across interchangeable {@link ChatClient}s (e.g. the Gemini and Groq
+ * clients built from the same prompt).
+ *
+ * <p>Each provider keeps a rolling window of call outcomes and latencies. Providers are
+ * tried fastest-p95 first, in configured order until enough samples exist, and a provider
+ * whose error rate crosses the threshold is skipped for {@code openDuration}; after that a
+ * single failed probe opens it again. When hedging is enabled and the first provider has
+ * not answered within its own p95 (bounded below by {@code minHedgeDelay}), the next
+ * provider is called as well and the first successful answer wins. A failure moves on to
+ * the next provider immediately, as the old try/catch fallback did.
+ */
+@Slf4j
+public class ChatProviderRouter {
+
+    public record Provider(String name, ChatClient client) {
+    }
+
+    public record Settings(int window,
+                           int minSamples,
+                           double errorRateThreshold,
+                           Duration openDuration,
+                           boolean hedgeEnabled,
+                           double hedgePercentile,
+                           Duration minHedgeDelay,
+                           Duration initialHedgeDelay) {
+    }
+
+    private final String route;
+    private final List<ProviderState> providers;
+    private final Settings settings;
+    private final ExecutorService executor;
+    private final Counter hedges;
+
+    public ChatProviderRouter(String route, List<Provider> providers, Settings settings, MeterRegistry meterRegistry) {
+        this.route = route;
+        this.settings = settings;
+        this.providers = providers.stream()
+                .map(provider -> new ProviderState(provider, meterRegistry))
+                .toList();
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ai-" + route + "-", 0).factory());
+        this.hedges = meterRegistry.counter("ai.provider.hedges", "route", route);
+    }
+
+    /**
+     * Runs the request against the providers until one succeeds.
+     *
+     * @throws RuntimeException the last provider failure when every provider failed
+     */
+    public <T> T call(Function<ChatClient, T> request) {
+        List<ProviderState> order = order();
+        CompletionService<Attempt<T>> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Attempt<T>>> futures = new ArrayList<>();
+        AtomicBoolean settled = new AtomicBoolean();
+        RuntimeException lastFailure = null;
+
+        int next = 0;
+        int running = 0;
+        futures.add(completionService.submit(attempt(order.get(next++), request, settled)));
+        running++;
+
+        try {
+            while (running > 0) {
+                Future<Attempt<T>> done;
+                if (settings.hedgeEnabled() && next < order.size()) {
+                    done = completionService.poll(hedgeDelay(order.get(0)).toNanos(), TimeUnit.NANOSECONDS);
+                    if (done == null) {
+                        ProviderState hedge = order.get(next++);
+                        log.debug("Hedging {} call to {} after slow {}", route, hedge.provider.name(), order.get(0).provider.name());
+                        hedges.increment();
+                        futures.add(completionService.submit(attempt(hedge, request, settled)));
+                        running++;
+                        continue;
+                    }
+                } else {
+                    done = completionService.take();
+                }
+                running--;
+
+                Attempt<T> attempt = done.get();
+                if (attempt.failure() == null) {
+                    return attempt.value();
+                }
+                lastFailure = attempt.failure();
+                log.warn("{} call to {} failed: {}", route, attempt.provider(), lastFailure.getMessage());
+                if (running == 0 && next < order.size()) {
+                    futures.add(completionService.submit(attempt(order.get(next++), request, settled)));
+                    running++;
+                }
+            }
+            throw lastFailure;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + route + " response", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            settled.set(true);
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <T> Callable<Attempt<T>> attempt(ProviderState state, Function<ChatClient, T> request, AtomicBoolean settled) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                T value = request.apply(state.provider.client());
+                state.record(true, System.nanoTime() - start);
+                return new Attempt<>(state.provider.name(), value, null);
+            } catch (RuntimeException e) {
+                // neither a losing hedge interrupted after the winner returned nor a call the
+                // governor turned away is a provider failure
+                if (!settled.get() && !(e instanceof ServiceBusyException)) {
+                    state.record(false, System.nanoTime() - start);
+                }
+                return new Attempt<>(state.provider.name(), null, e);
+            }
+        };
+    }
+
+    /**
+     * Providers with a closed circuit first, fastest known p95 first; open ones are kept as a
+     * last resort so a call never fails without reaching any provider.
+     */
+    private List<ProviderState> order() {
+        long now = System.nanoTime();
+        List<ProviderState> closed = new ArrayList<>();
+        List<ProviderState> open = new ArrayList<>();
+        for (ProviderState state : providers) {
+            (state.isOpen(now) ? open : closed).add(state);
+        }
+        closed.sort(Comparator.comparingLong(ProviderState::rankingLatency));
+        closed.addAll(open);
+        return closed;
+    }
+
+    private Duration hedgeDelay(ProviderState primary) {
+        long percentile = primary.latencyPercentile(settings.hedgePercentile());
+        if (percentile < 0) {
+            return settings.initialHedgeDelay();
+        }
+        return Duration.ofNanos(Math.max(percentile, settings.minHedgeDelay().toNanos()));
+    }
+
+    private record Attempt<T>(String provider, T value, RuntimeException failure) {
+    }
+
+    private final class ProviderState {
+        private final Provider provider;
+        private final Timer successTimer;
+        private final Timer failureTimer;
+        private final Counter circuitOpened;
+
+        private final long[] latencies;
+        private final boolean[] failures;
+        private int latencyCount;
+        private int latencyNext;
+        private int outcomeCount;
+        private int outcomeNext;
+        private volatile long openUntil;
+        private volatile boolean probing;
+        private volatile boolean circuitOpen;
+
+        ProviderState(Provider provider, MeterRegistry meterRegistry) {
+            this.provider = provider;
+            this.latencies = new long[settings.window()];
+            this.failures = new boolean[settings.window()];
+            Tags tags = Tags.of("route", route, "provider", provider.name());
+            this.successTimer = meterRegistry.timer("ai.provider.latency", tags.and("outcome", "success"));
+            this.failureTimer = meterRegistry.timer("ai.provider.latency", tags.and("outcome", "failure"));
+            this.circuitOpened = meterRegistry.counter("ai.provider.circuit.opened", tags);
+            meterRegistry.gauge("ai.provider.circuit.open", tags, this, state -> state.circuitOpen ? 1 : 0);
+        }
+
+        boolean isOpen(long now) {
+            if (!circuitOpen) {
+                return false;
+            }
+            if (now - openUntil < 0) {
+                return true;
+            }
+            // let one probe through; record() decides whether the circuit closes or re-opens
+            synchronized (this) {
+                if (circuitOpen && now - openUntil >= 0) {
+                    circuitOpen = false;
+                    probing = true;
+                }
+            }
+            return false;
+        }
+
+        synchronized void record(boolean success, long latencyNanos) {
+            (success ? successTimer : failureTimer).record(latencyNanos, TimeUnit.NANOSECONDS);
+            if (success) {
+                latencies[latencyNext] = latencyNanos;
+                latencyNext = (latencyNext + 1) % latencies.length;
+                latencyCount = Math.min(latencyCount + 1, latencies.length);
+            }
+
+            if (probing) {
+                probing = false;
+                if (!success) {
+                    open();
+                }
+                return;
+            }
+
+            failures[outcomeNext] = !success;
+            outcomeNext = (outcomeNext + 1) % failures.length;
+            outcomeCount = Math.min(outcomeCount + 1, failures.length);
+            if (!success && outcomeCount >= settings.minSamples() && errorRate() >= settings.errorRateThreshold()) {
+                open();
+            }
+        }
+
+        private void open() {
+            log.warn("Opening circuit for {} on {} for {}", provider.name(), route, settings.openDuration());
+            circuitOpen = true;
+            openUntil = System.nanoTime() + settings.openDuration().toNanos();
+            outcomeCount = 0;
+            outcomeNext = 0;
+            circuitOpened.increment();
+        }
+
+        private double errorRate() {
+            int failed = 0;
+            for (int i = 0; i < outcomeCount; i++) {
+                if (failures[i]) {
+                    failed++;
+                }
+            }
+            return (double) failed / outcomeCount;
+        }
+
+        /**
+         * @return the latency percentile in nanoseconds, or -1 before {@code minSamples} successes
+         */
+        synchronized long latencyPercentile(double percentile) {
+            if (latencyCount < settings.minSamples()) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        long rankingLatency() {
+            long p95 = latencyPercentile(0.95);
+            return p95 < 0 ? Long.MAX_VALUE : p95;
+        }
+    }
+}
@@ -18,7 +18,11 @@ import java.time.LocalDateTime;
 @Builder
 @Data
 @Entity
-@Table(name = "applications")
+@Table(name = "applications",
+        indexes = {
+                @Index(name = "idx_applications_job_last_update", columnList = "job_id, last_update DESC, id DESC")
+        }
+)
 public class Application {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
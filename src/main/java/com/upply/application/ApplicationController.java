@@ -10,6 +10,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 
@@ -73,9 +74,9 @@ public class ApplicationController {
     @GetMapping("/{applicationId}/resume/view")
     @Operation(
             summary = "View application resume",
-            description = "Returns the resume PDF file associated with a job application for inline viewing in the browser."
+            description = "Streams the resume PDF file associated with a job application for inline viewing in the browser. Supports HTTP Range requests."
     )
-    public ResponseEntity<byte[]> viewUserResume(
+    public ResponseEntity<Resource> viewUserResume(
             @Parameter(
                     description = "The ID of the application whose resume to view",
                     required = true,
@@ -96,9 +97,9 @@ public class ApplicationController {
     @GetMapping("/{applicationId}/resume/download")
     @Operation(
             summary = "Download application resume",
-            description = "Downloads the resume PDF file associated with a job application as an attachment."
+            description = "Streams the resume PDF file associated with a job application as an attachment. Supports HTTP Range requests."
     )
-    public ResponseEntity<byte[]> downloadUserResume(
+    public ResponseEntity<Resource> downloadUserResume(
             @Parameter(
                     description = "The ID of the application whose resume to download",
                     required = true,
@@ -5,17 +5,21 @@ import com.upply.application.dto.ApplicationSummaryResult;
 import com.upply.exception.custom.ResourceNotFoundException;
 import com.upply.job.Job;
 import com.upply.job.JobRepository;
-import com.upply.profile.resume.AzureStorageService;
 import com.upply.profile.resume.Resume;
+import com.upply.profile.resume.ResumeTextService;
 import com.upply.profile.resume.chunks.ResumeVectorService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.*;
+import java.util.stream.Collectors;
+
 import static com.upply.config.KafkaConfig.APPLICATION_MATCH_CALC_TOPIC;
 
 @Slf4j
@@ -24,14 +28,20 @@ import static com.upply.config.KafkaConfig.APPLICATION_MATCH_CALC_TOPIC;
 public class ApplicationMatchConsumer {
     private final ApplicationRepository applicationRepository;
     private final JobRepository jobRepository;
-    private final AzureStorageService azureStorageService;
+    private final ResumeTextService resumeTextService;
     private final ApplicationSummaryService applicationSummaryService;
     private final ResumeVectorService resumeVectorService;
 
 
+    @Value("${app.application-match.batch.max-size}")
+    private int batchMaxSize;
+
+
     @KafkaListener(
+            id = "application-match",
             topics = APPLICATION_MATCH_CALC_TOPIC,
-            groupId = "application-matching-group"
+            groupId = "application-matching-group",
+            autoStartup = "#{!${app.application-match.batch.enabled}}"
     )
     @Transactional
     public void handleMatchCalc(ApplicationMatchEvent event) {
@@ -40,49 +50,148 @@ public class ApplicationMatchConsumer {
         Application application = applicationRepository.findById(event.getApplicationId())
                 .orElseThrow(() -> new ResourceNotFoundException("Application not found: " + event.getApplicationId()));
 
-        Job job = jobRepository.findById(event.getJobId())
-                .orElseThrow(() -> new RuntimeException("Job not found: " + event.getJobId()));
+        if (!event.isIndexOnly()) {
+            Job job = jobRepository.findById(event.getJobId())
+                    .orElseThrow(() -> new RuntimeException("Job not found: " + event.getJobId()));
 
-        Resume resume = application.getResume();
-
-        String resumeTxt = resume != null && resume.getBlobName() != null
-                ? applicationSummaryService.extractText(azureStorageService.downloadFile(resume.getBlobName()))
-                : "Resume not available.";
+            calcMatch(application, job, resumeText(application));
+        }
 
-        Long applicationId = application.getId();
-        Long applicationApplicantId = application.getApplicant().getId();
-        Long applicationJobId = application.getJob().getId();
-        Long resumeId = resume.getId();
+        registerResumeEmbeddings(List.of(application));
+    }
 
-        calcMatch(application, job, resumeTxt);
+    /**
+     * Batch mode of {@link #handleMatchCalc}: the broker holds each fetch for up to the batch
+     * window, events are grouped by job and every group is scored {@code max-size}
+     * applications per LLM request, sharing the job context. Applications the batch request
+     * did not answer fall back to the single-application call. Index-only events skip scoring
+     * and only have their resume indexed.
+     */
+    @KafkaListener(
+            id = "application-match-batch",
+            topics = APPLICATION_MATCH_CALC_TOPIC,
+            groupId = "application-matching-group",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${app.application-match.batch.enabled}",
+            properties = {
+                    "fetch.min.bytes=${app.application-match.batch.fetch-min-bytes}",
+                    "fetch.max.wait.ms=${app.application-match.batch.window-ms}",
+                    "max.poll.records=${app.application-match.batch.max-poll-records}"
+            }
+    )
+    @Transactional
+    public void handleMatchCalcBatch(List<ApplicationMatchEvent> events) {
+        log.info("Received {} match events", events.size());
+
+        Set<Long> applicationIds = events.stream()
+                .map(ApplicationMatchEvent::getApplicationId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<Long> toScore = events.stream()
+                .filter(event -> !event.isIndexOnly())
+                .map(ApplicationMatchEvent::getApplicationId)
+                .collect(Collectors.toSet());
+
+        Map<Long, List<Application>> applicationsByJob = new LinkedHashMap<>();
+        List<Application> indexed = new ArrayList<>();
+        int found = 0;
+        for (Application application : applicationRepository.findAllById(applicationIds)) {
+            found++;
+            if (toScore.contains(application.getId())) {
+                applicationsByJob.computeIfAbsent(application.getJob().getId(), jobId -> new ArrayList<>()).add(application);
+            } else {
+                indexed.add(application);
+            }
+        }
+        if (applicationIds.size() > found) {
+            log.warn("Skipping match events for missing applications among {}", applicationIds);
+        }
 
-        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-            @Override
-            public void afterCommit() {
-                try {
-                    storeResumeEmbedding(applicationId, applicationApplicantId, applicationJobId, resumeId, resumeTxt);
-                } catch (Exception e) {
-                    log.warn("Failed to store resume embedding for applicationId: {}, continuing",
-                            event.getApplicationId(), e);
-                }
+        applicationsByJob.values().forEach(applications -> {
+            Job job = applications.get(0).getJob();
+            for (int from = 0; from < applications.size(); from += batchMaxSize) {
+                calcMatchBatch(job, applications.subList(from, Math.min(from + batchMaxSize, applications.size())));
             }
+            indexed.addAll(applications);
         });
 
+        registerResumeEmbeddings(indexed);
+    }
+
+    private void calcMatchBatch(Job job, List<Application> applications) {
+        if (applications.size() == 1) {
+            calcMatch(applications.get(0), job, resumeText(applications.get(0)));
+            return;
+        }
+
+        Map<Long, String> resumeTexts = new LinkedHashMap<>();
+        applications.forEach(application -> resumeTexts.put(application.getId(), resumeText(application)));
+
+        Map<Long, ApplicationSummaryResult> results;
+        try {
+            results = applicationSummaryService.callAiBatch(job, resumeTexts);
+        } catch (Exception e) {
+            log.warn("Batch match for job {} failed, scoring {} applications one by one",
+                    job.getId(), applications.size(), e);
+            results = Map.of();
+        }
+
+        for (Application application : applications) {
+            ApplicationSummaryResult result = results.get(application.getId());
+            if (result != null) {
+                applyResult(application, result);
+            } else {
+                calcMatch(application, job, resumeTexts.get(application.getId()));
+            }
+        }
+    }
+
+    private String resumeText(Application application) {
+        Resume resume = application.getResume();
+        return resume != null && resume.getBlobName() != null
+                ? applicationSummaryService.resumeTextOrFallback(resumeTextService.getText(resume))
+                : "Resume not available.";
     }
 
     private void calcMatch(Application application, Job job, String resumeTxt) {
         try {
-            ApplicationSummaryResult result = applicationSummaryService.callAi(job, resumeTxt);
-            application.setMatchingRatio(result.fitScore() / 100.0);
-            application.setSummary(result.summary());
-            applicationRepository.save(application);
+            applyResult(application, applicationSummaryService.callAi(job, resumeTxt));
         } catch (Exception e) {
             log.error("Failed to process application match", e);
         }
     }
 
-    private void storeResumeEmbedding(Long applicationId, Long applicationApplicantId, Long applicationJobId, Long resumeId, String resumeTxt) {
-        resumeVectorService.storeResumeEmbedding(applicationId, applicationApplicantId, applicationJobId, resumeId, resumeTxt);
+    private void applyResult(Application application, ApplicationSummaryResult result) {
+        application.setMatchingRatio(result.fitScore() / 100.0);
+        application.setSummary(result.summary());
+        applicationRepository.save(application);
+    }
+
+    private void registerResumeEmbeddings(List<Application> applications) {
+        record Embedding(Long applicationId, Long applicantId, Long jobId, Resume resume) {
+        }
+        List<Embedding> embeddings = applications.stream()
+                .map(application -> new Embedding(application.getId(), application.getApplicant().getId(),
+                        application.getJob().getId(), application.getResume()))
+                .toList();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (Embedding embedding : embeddings) {
+                    try {
+                        storeResumeEmbedding(embedding.applicationId(), embedding.applicantId(),
+                                embedding.jobId(), embedding.resume());
+                    } catch (Exception e) {
+                        log.warn("Failed to store resume embedding for applicationId: {}, continuing",
+                                embedding.applicationId(), e);
+                    }
+                }
+            }
+        });
+    }
+
+    private void storeResumeEmbedding(Long applicationId, Long applicationApplicantId, Long applicationJobId, Resume resume) {
+        resumeVectorService.storeResumeEmbedding(applicationId, applicationApplicantId, applicationJobId, resume);
     }
 
 }
@@ -0,0 +1,171 @@
+package com.upply.application;
+
+import com.upply.common.NormalizeSkillName;
+import com.upply.job.Job;
+import com.upply.job.JobMatchingService;
+import com.upply.job.JobRepository;
+import com.upply.profile.resume.Resume;
+import com.upply.profile.resume.ResumeTextService;
+import com.upply.user.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Scores an application locally while it is being submitted, so the recruiter list is ranked
+ * before the LLM summary arrives. The score mixes the share of the job's skills named in the
+ * resume text with the cosine between the stored job and applicant skill vectors; either part
+ * is left out when it is not available.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ApplicationPreScorer {
+
+    public enum ReviewPolicy {
+        /** Every application gets the LLM summary. */
+        ALL,
+        /** Only applications whose pre-score reaches {@code review-min-ratio}. */
+        ABOVE_MIN_RATIO,
+        /** No application gets the LLM summary; the pre-score is final. */
+        NONE
+    }
+
+    /**
+     * @param ratio               provisional matching ratio in [0, 1], or null when neither the
+     *                            skills nor the vectors were available
+     * @param matchedSkills       job skills found in the resume text, or null when the resume
+     *                            has no readable text (scanned or encrypted PDFs)
+     * @param requiredSkills      all skills of the job
+     * @param embeddingSimilarity rescaled vector similarity in [0, 1], or null without vectors
+     */
+    public record PreScore(Double ratio,
+                           List<String> matchedSkills,
+                           List<String> requiredSkills,
+                           Double embeddingSimilarity) {
+    }
+
+    private static final int MAX_SKILL_WORDS = 3;
+
+    private final JobRepository jobRepository;
+    private final ResumeTextService resumeTextService;
+    private final JobMatchingService jobMatchingService;
+
+    @Value("${app.application-match.pre-score.skill-weight}")
+    private double skillWeight;
+
+    @Value("${app.application-match.pre-score.embedding-weight}")
+    private double embeddingWeight;
+
+    // cosine the embedding model gives unrelated texts; similarities are rescaled from here to 1
+    @Value("${app.application-match.pre-score.embedding-floor}")
+    private double embeddingFloor;
+
+    @Value("${app.application-match.review-policy}")
+    private ReviewPolicy reviewPolicy;
+
+    @Value("${app.application-match.review-min-ratio}")
+    private double reviewMinRatio;
+
+    public PreScore score(Job job, User applicant, Resume resume) {
+        List<String> requiredSkills = jobRepository.findJobSkillNames(job.getId());
+        String text = resumeText(resume);
+        // a resume without text says nothing about the skills, it does not lack all of them
+        List<String> matchedSkills = text.isBlank() ? null : matchSkills(requiredSkills, text);
+        Double embeddingSimilarity = embeddingSimilarity(job, applicant);
+
+        double weighted = 0;
+        double weights = 0;
+        if (matchedSkills != null && !requiredSkills.isEmpty()) {
+            weighted += skillWeight * matchedSkills.size() / requiredSkills.size();
+            weights += skillWeight;
+        }
+        if (embeddingSimilarity != null) {
+            weighted += embeddingWeight * embeddingSimilarity;
+            weights += embeddingWeight;
+        }
+        Double ratio = weights == 0 ? null : Math.round(weighted / weights * 100.0) / 100.0;
+        return new PreScore(ratio, matchedSkills, requiredSkills, embeddingSimilarity);
+    }
+
+    /**
+     * Whether the application should also get the LLM summary. Applications that could not be
+     * pre-scored always do.
+     */
+    public boolean needsReview(PreScore preScore) {
+        return switch (reviewPolicy) {
+            case ALL -> true;
+            case NONE -> false;
+            case ABOVE_MIN_RATIO -> preScore.ratio() == null || preScore.ratio() >= reviewMinRatio;
+        };
+    }
+
+    /**
+     * Summary shown to recruiters for applications that are not sent for the LLM summary.
+     */
+    public String summary(PreScore preScore) {
+        if (preScore.matchedSkills() == null || preScore.requiredSkills().isEmpty()) {
+            return "Automatically pre-screened without an AI review.";
+        }
+        String matched = preScore.matchedSkills().isEmpty()
+                ? ""
+                : " (" + String.join(", ", preScore.matchedSkills()) + ")";
+        return "Automatically pre-screened without an AI review: the resume mentions %d of the %d required skills%s."
+                .formatted(preScore.matchedSkills().size(), preScore.requiredSkills().size(), matched);
+    }
+
+    private String resumeText(Resume resume) {
+        if (resume == null || resume.getBlobName() == null) {
+            return "";
+        }
+        try {
+            String text = resumeTextService.getText(resume);
+            return text == null ? "" : text;
+        } catch (Exception e) {
+            log.warn("Could not read text of resume {} for pre-scoring", resume.getId(), e);
+            return "";
+        }
+    }
+
+    private Double embeddingSimilarity(Job job, User applicant) {
+        try {
+            Double score = jobMatchingService.calculateMatchScores(job, List.of(applicant.getId())).get(applicant.getId());
+            if (score == null || score <= 0) {
+                return null;
+            }
+            // match scores are on the vector store scale 1 / (2 - cos)
+            double cosine = 2.0 - 1.0 / score;
+            return Math.clamp((cosine - embeddingFloor) / (1.0 - embeddingFloor), 0.0, 1.0);
+        } catch (Exception e) {
+            log.warn("Could not compare vectors of job {} and user {} for pre-scoring", job.getId(), applicant.getId(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Job skills named in the text. Skills and text are compared in {@link NormalizeSkillName}
+     * form, and a skill may span up to {@value #MAX_SKILL_WORDS} words ("Spring Boot").
+     */
+    static List<String> matchSkills(List<String> skills, String text) {
+        if (skills.isEmpty() || text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        String[] words = text.split("[^\\p{L}\\p{N}+#.\\-_/]+");
+        Set<String> terms = new HashSet<>();
+        for (int start = 0; start < words.length; start++) {
+            StringBuilder term = new StringBuilder();
+            for (int end = start; end < Math.min(words.length, start + MAX_SKILL_WORDS); end++) {
+                term.append(NormalizeSkillName.normalizeSkill(words[end]));
+                terms.add(term.toString());
+            }
+        }
+
+        return skills.stream()
+                .filter(skill -> terms.contains(NormalizeSkillName.normalizeSkill(skill)))
+                .toList();
+    }
+}
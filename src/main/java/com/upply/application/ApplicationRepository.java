@@ -1,16 +1,23 @@
 package com.upply.application;
 
+import com.upply.application.dto.ApplicationExportRow;
 import com.upply.application.enums.ApplicationStatus;
 import com.upply.job.Job;
 import com.upply.user.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ApplicationRepository extends JpaRepository<Application, Long> {
 
@@ -29,6 +36,18 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
     //add @hasAuthority
     Page<Application> getJobApplications(Long jobId,Pageable pageable);
 
+    @Query("""
+        select a from Application a
+        where a.job.postedBy.id = ?#{principal.getId()} and a.job.id = :jobId
+          and (:updatedBefore is null or a.lastUpdate < :updatedBefore
+               or (a.lastUpdate = :updatedBefore and a.id < :idBefore))
+        order by a.lastUpdate desc, a.id desc
+    """)
+    List<Application> getJobApplicationsBefore(@Param("jobId") Long jobId,
+                                               @Param("updatedBefore") LocalDateTime updatedBefore,
+                                               @Param("idBefore") Long idBefore,
+                                               Pageable pageable);
+
     @Query("select a from Application a where a.job.postedBy.id = ?#{principal.getId()} and a.status = :status and a.job.id = :jobId")
     // add @hasauthority
     Page<Application> getApplicationByStatus(Long jobId,ApplicationStatus status ,Pageable pageable);
@@ -38,6 +57,17 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
 
     boolean existsApplicationByApplicantAndJob(User applicant, Job job);
 
-    @Query("select a from Application a where a.job.postedBy.id = ?#{principal.getId()} and a.job.id = :jobId")
-    List<Application> findAllByJobIdForRecruiter(Long jobId);
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the result set
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("""
+        select new com.upply.application.dto.ApplicationExportRow(
+            a.id, u.firstName, u.lastName, u.email, u.university, a.summary, j.title,
+            a.coverLetter, a.status, a.matchingRatio, a.applyTime)
+        from Application a
+        join a.job j
+        left join a.applicant u
+        where j.id = :jobId
+        order by a.matchingRatio desc, a.id
+    """)
+    Stream<ApplicationExportRow> streamExportRows(@Param("jobId") Long jobId);
 }
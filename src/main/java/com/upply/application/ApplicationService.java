@@ -23,6 +23,7 @@ import com.upply.user.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
@@ -53,6 +54,7 @@ public class ApplicationService {
     private final AzureStorageService azureStorageService;
     private final KafkaTemplate<String, ApplicationMatchEvent> kafkaApplicationTemplate;
     private final KafkaTemplate<String, NotificationEvent> notificationKafkaTemplate;
+    private final ApplicationPreScorer applicationPreScorer;
 
     @Transactional
     public ApplicationResponse createJobApplication(ApplicationRequest applicationRequest)
@@ -82,12 +84,23 @@ public class ApplicationService {
         application.setResume(resume);
         application.setStatus(ApplicationStatus.SUBMITTED);
 
+        // provisional ratio until the LLM summary replaces it; hopeless matches never reach the LLM
+        ApplicationPreScorer.PreScore preScore = applicationPreScorer.score(job, user, resume);
+        boolean needsReview = applicationPreScorer.needsReview(preScore);
+        if (preScore.ratio() != null) {
+            application.setMatchingRatio(preScore.ratio());
+        }
+        if (!needsReview) {
+            application.setSummary(applicationPreScorer.summary(preScore));
+        }
+
         applicationRepository.save(application);
 
         ApplicationMatchEvent matchingEvent = new ApplicationMatchEvent(
                 application.getId(),
                 user.getId(),
-                job.getId()
+                job.getId(),
+                !needsReview
         );
 
         NotificationEvent notificationEvent = new NotificationEvent(
@@ -105,8 +118,14 @@ public class ApplicationService {
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override
             public void afterCommit() {
+                if (!needsReview) {
+                    log.info("Application {} pre-scored at {}, skipping the LLM summary",
+                            application.getId(), preScore.ratio());
+                }
+                // sent either way, the consumer indexes the resume for search; keyed by job so
+                // one job's events share a partition and batch together
                 kafkaApplicationTemplate.send(APPLICATION_MATCH_CALC_TOPIC,
-                                String.valueOf(application.getId()), matchingEvent)
+                                String.valueOf(job.getId()), matchingEvent)
                         .exceptionally(ex -> {
                             log.error("Failed to publish match event for application {}",
                                     application.getId(), ex);
@@ -193,10 +212,10 @@ public class ApplicationService {
         return applicationMapper.toApplicationResponse(application);
     }
 
-    public byte[] getApplicationResume(Long applicationId) {
+    public Resource getApplicationResume(Long applicationId) {
         Application application = applicationRepository.getApplicationByIdForRecruiter(applicationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Application Not Found"));
-        return azureStorageService.downloadFile(application.getResume().getBlobName());
+        return azureStorageService.openFile(application.getResume().getBlobName());
     }
 
     private static final Map<ApplicationStatus, List<ApplicationStatus>> ALLOWED_TRANSITIONS = Map.of(
@@ -1,58 +1,104 @@
 package com.upply.application;
 
+import com.upply.ai.AiPriority;
+import com.upply.ai.ChatProviderRouter;
+import com.upply.application.dto.ApplicationBatchSummaryResult;
 import com.upply.application.dto.ApplicationSummaryResult;
 import com.upply.job.Job;
 import com.upply.profile.skill.Skill;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class ApplicationSummaryService {
-    private final ChatClient groqChatClient;
-    private final ChatClient geminiChatClient;
+    private final ChatProviderRouter router;
 
 
     public ApplicationSummaryService(
-            @Qualifier("applicationSummaryGroqChatClient") ChatClient groqChatClient,
-            @Qualifier("applicationSummaryGeminiChatClient") ChatClient geminiChatclient
+            @Qualifier("applicationSummaryRouter") ChatProviderRouter router
     ) {
-        this.groqChatClient = groqChatClient;
-        this.geminiChatClient = geminiChatclient;
+        this.router = router;
     }
 
 
     public ApplicationSummaryResult callAi(Job job, String resumeTxt) {
         String prompt = buildPrompt(job, resumeTxt);
-        try {
-            return geminiChatClient.prompt()
-                    .user(prompt)
-                    .call()
-                    .entity(ApplicationSummaryResult.class);
-        } catch (Exception e) {
-            return groqChatClient.prompt()
-                    .user(prompt)
-                    .call()
-                    .entity(ApplicationSummaryResult.class);
+        return router.call(client -> client.prompt()
+                .user(prompt)
+                .advisors(a -> a.param(AiPriority.CONTEXT_KEY, AiPriority.BACKGROUND))
+                .call()
+                .entity(ApplicationSummaryResult.class));
+    }
+
+    /**
+     * Scores several resumes against the same job in one request. Results are keyed by
+     * application id; candidates the model left out or answered for twice are simply
+     * missing from the map, so the caller can score them one by one.
+     */
+    public Map<Long, ApplicationSummaryResult> callAiBatch(Job job, Map<Long, String> resumeTexts) {
+        String prompt = buildBatchPrompt(job, resumeTexts);
+        ApplicationBatchSummaryResult batch = router.call(client -> client.prompt()
+                .user(prompt)
+                .advisors(a -> a.param(AiPriority.CONTEXT_KEY, AiPriority.BACKGROUND))
+                .call()
+                .entity(ApplicationBatchSummaryResult.class));
+
+        Map<Long, ApplicationSummaryResult> results = new HashMap<>();
+        if (batch == null || batch.results() == null) {
+            return results;
+        }
+        Set<Long> duplicates = new HashSet<>();
+        for (ApplicationBatchSummaryResult.Item item : batch.results()) {
+            if (item == null || !resumeTexts.containsKey(item.applicationId())
+                    || item.summary() == null || item.summary().isBlank()) {
+                continue;
+            }
+            if (results.putIfAbsent(item.applicationId(), new ApplicationSummaryResult(item.summary(), item.fitScore())) != null) {
+                duplicates.add(item.applicationId());
+            }
         }
+        if (!duplicates.isEmpty()) {
+            log.warn("Batch summary answered applications {} more than once, dropping them", duplicates);
+            results.keySet().removeAll(duplicates);
+        }
+        return results;
     }
 
-    private String buildPrompt(Job job, String resumeTxt) {
+    private String buildBatchPrompt(Job job, Map<Long, String> resumeTexts) {
+        StringBuilder prompt = new StringBuilder("""
+                == JOB ==
+                Title          : %s
+                Seniority      : %s
+                Required Skills: %s
 
+                == BATCH ==
+                The job above has %d candidates, listed below. Assess and score each candidate
+                on their own against the job, exactly as if they were the only candidate, and
+                never compare candidates with each other. Return one result per candidate with
+                its Application Id.
+                """.formatted(job.getTitle(), job.getSeniority(), jobSkills(job), resumeTexts.size()));
 
-        String jobSkills = job.getSkills().isEmpty()
-                ? "None listed"
-                : job.getSkills().stream()
-                  .map(Skill::getName)
-                  .collect(Collectors.joining(", "));
+        resumeTexts.forEach((applicationId, resumeTxt) -> prompt.append("""
+
+                == CANDIDATE ==
+                Application Id : %d
+                Resume Text:
+                \"\"\"
+                %s
+                \"\"\"
+                """.formatted(applicationId, truncate(resumeTxt, 12000))));
+        return prompt.toString();
+    }
+
+    private String buildPrompt(Job job, String resumeTxt) {
         return """
                 == JOB ==
                 Title          : %s
@@ -67,20 +113,21 @@ public class ApplicationSummaryService {
                 """.formatted(
                 job.getTitle(),
                 job.getSeniority(),
-                jobSkills,
+                jobSkills(job),
                 truncate(resumeTxt, 12000)
         );
     }
 
-    public String extractText(byte[] bytes) {
-        try (PDDocument doc = Loader.loadPDF(bytes)) {
-            if (doc.isEncrypted()) return "Resume is encrypted.";
-            String text = new PDFTextStripper().getText(doc).strip();
-            return text.isEmpty() ? "Resume text could not be extracted." : text;
-        } catch (IOException e) {
-            log.warn("PDF extraction failed", e);
-            return "Resume text unavailable.";
-        }
+    private String jobSkills(Job job) {
+        return job.getSkills().isEmpty()
+                ? "None listed"
+                : job.getSkills().stream()
+                  .map(Skill::getName)
+                  .collect(Collectors.joining(", "));
+    }
+
+    public String resumeTextOrFallback(String resumeTxt) {
+        return resumeTxt == null || resumeTxt.isBlank() ? "Resume text could not be extracted." : resumeTxt;
     }
     private String truncate(String text, int max) {
         if (text == null || text.isBlank()) return "";
@@ -0,0 +1,9 @@
+package com.upply.application.dto;
+
+import java.util.List;
+
+public record ApplicationBatchSummaryResult(List<Item> results) {
+
+    public record Item(Long applicationId, String summary, int fitScore) {
+    }
+}
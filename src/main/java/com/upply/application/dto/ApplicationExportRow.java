@@ -0,0 +1,38 @@
+package com.upply.application.dto;
+
+import com.upply.application.enums.ApplicationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the applications export, selected column by column so exports can be
+ * streamed without loading application entities and their associations.
+ */
+public record ApplicationExportRow(
+        Long id,
+        String applicantFirstName,
+        String applicantLastName,
+        String applicantEmail,
+        String applicantUniversity,
+        String summary,
+        String jobTitle,
+        String coverLetter,
+        ApplicationStatus status,
+        double matchingRatio,
+        LocalDateTime applyTime
+) {
+
+    // same rules as User#getFullName
+    public String applicantName() {
+        if (applicantFirstName == null && applicantLastName == null) {
+            return "";
+        }
+        if (applicantLastName == null) {
+            return applicantFirstName;
+        }
+        if (applicantFirstName == null) {
+            return applicantLastName;
+        }
+        return applicantFirstName + " " + applicantLastName;
+    }
+}
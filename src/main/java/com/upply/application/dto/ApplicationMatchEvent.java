@@ -11,4 +11,10 @@ public class ApplicationMatchEvent {
     private Long applicationId;
     private Long userId;
     private Long jobId;
+    // pre-scored without an LLM review: only index the resume for search
+    private boolean indexOnly;
+
+    public ApplicationMatchEvent(Long applicationId, Long userId, Long jobId) {
+        this(applicationId, userId, jobId, false);
+    }
 }
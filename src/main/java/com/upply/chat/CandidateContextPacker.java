@@ -0,0 +1,193 @@
+package com.upply.chat;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Packs retrieved resume chunks into the candidate context of the recruiter RAG prompt:
+ * <ul>
+ *     <li>chunks are grouped by applicant and near-duplicates (word Jaccard at or above
+ *     {@code duplicate-similarity}) are dropped</li>
+ *     <li>applicants are ranked by {@code max-weight} times their best chunk similarity plus
+ *     the rest times their mean chunk similarity</li>
+ *     <li>applicants, each with its chunks in similarity order, are added greedily until
+ *     {@code token-budget} is reached; an applicant whose header and best chunk do not fit is
+ *     left out and the prompt is told how many were</li>
+ * </ul>
+ */
+@Component
+public class CandidateContextPacker {
+
+    /**
+     * @param text              the candidate context, empty when no applicant fit
+     * @param tokens            estimated tokens of {@code text}
+     * @param candidates        applicants included
+     * @param droppedCandidates applicants left out for the budget
+     * @param droppedChunks     chunks of included applicants left out for the budget
+     * @param duplicateChunks   near-duplicate chunks removed
+     */
+    public record PackedContext(String text,
+                                int tokens,
+                                int candidates,
+                                int droppedCandidates,
+                                int droppedChunks,
+                                int duplicateChunks) {
+    }
+
+    private record Chunk(Document document, double score, Set<String> words) {
+    }
+
+    private record Candidate(String applicationId, List<Chunk> chunks, double score) {
+    }
+
+    private static final String SEPARATOR = "\n---\n";
+    // room kept for the note about candidates left out
+    private static final int NOTE_TOKENS = 32;
+
+    private final TokenCountEstimator tokenCountEstimator = new JTokkitTokenCountEstimator();
+
+    @Value("${app.recruter-application-url}")
+    private String applicationBaseUrl;
+
+    @Value("${app.recruiter-chat.context.token-budget}")
+    private int tokenBudget;
+
+    @Value("${app.recruiter-chat.context.max-weight}")
+    private double maxWeight;
+
+    @Value("${app.recruiter-chat.context.duplicate-similarity}")
+    private double duplicateSimilarity;
+
+    public PackedContext pack(List<Document> documents) {
+        Map<String, List<Document>> byApplicant = new LinkedHashMap<>();
+        for (Document document : documents) {
+            Object userId = document.getMetadata().get("userId");
+            if (userId != null) {
+                byApplicant.computeIfAbsent(userId.toString(), id -> new ArrayList<>()).add(document);
+            }
+        }
+
+        int duplicateChunks = 0;
+        List<Candidate> candidates = new ArrayList<>();
+        for (List<Document> applicantDocuments : byApplicant.values()) {
+            List<Chunk> chunks = distinctChunks(applicantDocuments);
+            duplicateChunks += applicantDocuments.size() - chunks.size();
+            candidates.add(new Candidate(
+                    String.valueOf(applicantDocuments.get(0).getMetadata().get("applicationId")),
+                    chunks,
+                    score(chunks)));
+        }
+        candidates.sort(Comparator.comparingDouble(Candidate::score).reversed());
+
+        StringBuilder text = new StringBuilder();
+        int budget = tokenBudget - NOTE_TOKENS;
+        int tokens = 0;
+        int included = 0;
+        int droppedCandidates = 0;
+        int droppedChunks = 0;
+        for (Candidate candidate : candidates) {
+            String header = (included == 0 ? "" : SEPARATOR) + header(candidate);
+            String best = chunkLine(candidate.chunks().get(0));
+            int required = estimate(header) + estimate(best);
+            if (tokens + required > budget) {
+                droppedCandidates++;
+                continue;
+            }
+
+            text.append(header).append(best);
+            tokens += required;
+            included++;
+            for (Chunk chunk : candidate.chunks().subList(1, candidate.chunks().size())) {
+                String line = chunkLine(chunk);
+                int lineTokens = estimate(line);
+                if (tokens + lineTokens > budget) {
+                    droppedChunks++;
+                    continue;
+                }
+                text.append(line);
+                tokens += lineTokens;
+            }
+        }
+
+        if (included > 0 && droppedCandidates > 0) {
+            String note = "%s%d more matching candidates were left out to keep this context short.\n"
+                    .formatted(SEPARATOR, droppedCandidates);
+            text.append(note);
+            tokens += estimate(note);
+        }
+        return new PackedContext(text.toString(), tokens, included, droppedCandidates, droppedChunks, duplicateChunks);
+    }
+
+    private List<Chunk> distinctChunks(List<Document> documents) {
+        List<Chunk> chunks = documents.stream()
+                .map(document -> new Chunk(document,
+                        document.getScore() == null ? 0 : document.getScore(),
+                        words(document.getText())))
+                .sorted(Comparator.comparingDouble(Chunk::score).reversed())
+                .toList();
+
+        List<Chunk> distinct = new ArrayList<>();
+        for (Chunk chunk : chunks) {
+            boolean duplicate = distinct.stream()
+                    .anyMatch(kept -> jaccard(kept.words(), chunk.words()) >= duplicateSimilarity);
+            if (!duplicate) {
+                distinct.add(chunk);
+            }
+        }
+        return distinct;
+    }
+
+    private double score(List<Chunk> chunks) {
+        double max = chunks.get(0).score();
+        double mean = chunks.stream().mapToDouble(Chunk::score).average().orElse(0);
+        return maxWeight * max + (1 - maxWeight) * mean;
+    }
+
+    private String header(Candidate candidate) {
+        return String.format(Locale.ROOT, """
+                Application Link: %s%s
+                Relevance: %.2f
+                """, applicationBaseUrl, candidate.applicationId(), candidate.score());
+    }
+
+    private static String chunkLine(Chunk chunk) {
+        Document document = chunk.document();
+        String text = document.getText() == null ? "" : document.getText().strip();
+        return "[%s] %s\n".formatted(document.getMetadata().get("chunkType"), text);
+    }
+
+    private int estimate(String text) {
+        return tokenCountEstimator.estimate(text);
+    }
+
+    private static Set<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return Set.of();
+        }
+        Set<String> words = new HashSet<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() && b.isEmpty()) {
+            return 1;
+        }
+        int common = 0;
+        for (String word : a) {
+            if (b.contains(word)) {
+                common++;
+            }
+        }
+        return (double) common / (a.size() + b.size() - common);
+    }
+}
@@ -0,0 +1,154 @@
+package com.upply.chat;
+
+import com.upply.profile.resume.chunks.ResumeIndexVersions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Candidate search results of each recruiter chat session, reused for follow-up prompts whose
+ * embedding is within {@code min-similarity} (cosine) of an earlier prompt's on the same job.
+ * Results are dropped once resume chunks for the job were indexed after they were fetched
+ * (see {@link ResumeIndexVersions}), after {@code ttl}, or with the session.
+ *
+ * <p>Prompt embeddings come from the shared embedding model, so the vector store's own
+ * embedding of the prompt on a miss is a cache hit there.
+ */
+@Component
+public class CandidateRetrievalCache {
+
+    private record Entry(Long jobId, float[] embedding, long indexVersion, List<Document> documents, long createdAt) {
+    }
+
+    private final EmbeddingModel embeddingModel;
+    private final ResumeIndexVersions resumeIndexVersions;
+    private final boolean enabled;
+    private final double minSimilarity;
+    private final int maxEntriesPerSession;
+    private final long ttlNanos;
+    private final Map<String, Deque<Entry>> sessions;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bypasses;
+
+    public CandidateRetrievalCache(EmbeddingModel embeddingModel,
+                                   ResumeIndexVersions resumeIndexVersions,
+                                   @Value("${app.recruiter-chat.retrieval-cache.enabled}") boolean enabled,
+                                   @Value("${app.recruiter-chat.retrieval-cache.min-similarity}") double minSimilarity,
+                                   @Value("${app.recruiter-chat.retrieval-cache.max-sessions}") int maxSessions,
+                                   @Value("${app.recruiter-chat.retrieval-cache.max-entries-per-session}") int maxEntriesPerSession,
+                                   @Value("${app.recruiter-chat.retrieval-cache.ttl}") Duration ttl,
+                                   MeterRegistry meterRegistry) {
+        this.embeddingModel = embeddingModel;
+        this.resumeIndexVersions = resumeIndexVersions;
+        this.enabled = enabled;
+        this.minSimilarity = minSimilarity;
+        this.maxEntriesPerSession = maxEntriesPerSession;
+        this.ttlNanos = ttl.toNanos();
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Deque<Entry>> eldest) {
+                return size() > maxSessions;
+            }
+        };
+
+        this.hits = meterRegistry.counter("chat.retrieval.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("chat.retrieval.cache.requests", "result", "miss");
+        this.bypasses = meterRegistry.counter("chat.retrieval.cache.requests", "result", "bypass");
+    }
+
+    /**
+     * @param search runs the candidate search for {@code query} when no cached result is close enough
+     * @return the cached or freshly searched documents
+     */
+    public List<Document> search(String sessionId, Long jobId, String query, Supplier<List<Document>> search) {
+        if (!enabled) {
+            return search.get();
+        }
+        OptionalLong indexVersion = resumeIndexVersions.current(jobId);
+        if (indexVersion.isEmpty()) {
+            bypasses.increment();
+            return search.get();
+        }
+
+        float[] embedding = normalize(embeddingModel.embed(query));
+        List<Document> cached = find(sessionId, jobId, indexVersion.getAsLong(), embedding);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        List<Document> documents = List.copyOf(search.get());
+        put(sessionId, new Entry(jobId, embedding, indexVersion.getAsLong(), documents, System.nanoTime()));
+        return documents;
+    }
+
+    public synchronized void evictSession(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    private synchronized List<Document> find(String sessionId, Long jobId, long indexVersion, float[] embedding) {
+        Deque<Entry> entries = sessions.get(sessionId);
+        if (entries == null) {
+            return null;
+        }
+
+        long now = System.nanoTime();
+        entries.removeIf(entry -> now - entry.createdAt() >= ttlNanos
+                || (entry.jobId().equals(jobId) && entry.indexVersion() != indexVersion));
+
+        Entry best = null;
+        double bestSimilarity = minSimilarity;
+        for (Entry entry : entries) {
+            if (!entry.jobId().equals(jobId)) {
+                continue;
+            }
+            double similarity = dot(entry.embedding(), embedding);
+            if (similarity >= bestSimilarity) {
+                best = entry;
+                bestSimilarity = similarity;
+            }
+        }
+        return best == null ? null : best.documents();
+    }
+
+    private synchronized void put(String sessionId, Entry entry) {
+        Deque<Entry> entries = sessions.computeIfAbsent(sessionId, id -> new ArrayDeque<>());
+        entries.addFirst(entry);
+        while (entries.size() > maxEntriesPerSession) {
+            entries.removeLast();
+        }
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = Math.sqrt(dot(vector, vector));
+        if (norm == 0) {
+            return vector;
+        }
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = (float) (vector[i] / norm);
+        }
+        return normalized;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        if (a.length != b.length) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
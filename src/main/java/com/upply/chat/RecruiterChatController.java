@@ -83,7 +83,7 @@ public class RecruiterChatController {
     )
     @Operation(
             summary = "Stream chat response",
-            description = "Sends a question and streams back the AI response using Server-Sent Events. Uses RAG to provide context from candidate resumes."
+            description = "Sends a question and streams back the AI response using Server-Sent Events. Uses RAG to provide context from candidate resumes. A \"thinking\" event is sent first, while the context is assembled."
     )
     public Flux<ServerSentEvent<String>> streamChat(
             @Parameter(description = "The session ID", required = true, example = "abc-123")
@@ -91,12 +91,19 @@ public class RecruiterChatController {
             @Parameter(description = "The question to ask about candidates", required = true, example = "Find candidates with Python experience")
             @RequestParam @NotBlank String question) {
 
-        return chatService.streamChat(sessionId, question)
-                .map(token -> ServerSentEvent.<String>builder()
-                        .event("token")
-                        .data(token)
-                        .build()
-                )
+        // sent before the context is assembled, so the client hears back right away
+        ServerSentEvent<String> thinking = ServerSentEvent.<String>builder()
+                .event("thinking")
+                .data("[THINKING]")
+                .build();
+
+        return Flux.just(thinking)
+                .concatWith(chatService.streamChat(sessionId, question)
+                        .map(token -> ServerSentEvent.<String>builder()
+                                .event("token")
+                                .data(token)
+                                .build()
+                        ))
                 .concatWith(Flux.just(
                         ServerSentEvent.<String>builder()
                                 .event("done")
@@ -10,6 +10,7 @@ import com.upply.exception.custom.ResourceNotFoundException;
 import com.upply.job.Job;
 import com.upply.job.JobRepository;
 import com.upply.user.User;
+import com.upply.vector.hybrid.HybridRetriever;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.memory.ChatMemory;
@@ -25,45 +26,59 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.Callable;
 
 
 @Service
 @Slf4j
 public class RecruiterChatSessionService {
     private final VectorStore vectorStore;
+    private final HybridRetriever hybridRetriever;
     private final ChatClient geminiChatClient;
     private final ChatClient groqChatClient;
     private final ChatMemory chatMemory;
     private final RecruiterChatSessionRepository sessionRepository;
     private final RecruiterChatMapper recruiterChatMapper;
     private final JobRepository jobRepository;
+    private final CandidateRetrievalCache candidateRetrievalCache;
+    private final CandidateContextPacker candidateContextPacker;
 
     private static final int TOP_K = 50;
     private static final double SIMILARITY_THRESHOLD = 0.5;
     private static final String NO_CANDIDATES = "No relevant candidates found for this query.";
 
-    @Value("${app.recruter-application-url}")
-    private String APPLICATION_BASE_URL;
+    @Value("${app.recruiter-chat.retrieval.hybrid}")
+    private boolean hybridRetrieval;
+
+    // hybrid results are precise enough to keep the candidate context small
+    @Value("${app.recruiter-chat.retrieval.hybrid-top-k}")
+    private int hybridTopK;
 
     public RecruiterChatSessionService(@Qualifier("resumeVectorStore") VectorStore vectorStore,
+                                       @Qualifier("resumeHybridRetriever") HybridRetriever hybridRetriever,
                                        @Qualifier("recruiterRagGeminiChatClient") ChatClient geminiChatClient,
                                        @Qualifier("recruiterRagGroqChatClient") ChatClient groqChatClient,
                                        ChatMemory chatMemory,
                                        RecruiterChatSessionRepository sessionRepository,
                                        RecruiterChatMapper recruiterChatMapper,
-                                       JobRepository jobRepository) {
+                                       JobRepository jobRepository,
+                                       CandidateRetrievalCache candidateRetrievalCache,
+                                       CandidateContextPacker candidateContextPacker) {
         this.vectorStore = vectorStore;
+        this.hybridRetriever = hybridRetriever;
         this.geminiChatClient = geminiChatClient;
         this.groqChatClient = groqChatClient;
         this.chatMemory = chatMemory;
         this.sessionRepository = sessionRepository;
         this.jobRepository = jobRepository;
         this.recruiterChatMapper = recruiterChatMapper;
+        this.candidateRetrievalCache = candidateRetrievalCache;
+        this.candidateContextPacker = candidateContextPacker;
     }
 
     public SessionResponse createSession(Authentication connectedUser, CreateSessionRequest request) {
@@ -99,6 +114,7 @@ public class RecruiterChatSessionService {
         RecruiterChatSession session = sessionRepository.findBySessionId(sessionId)
                 .orElseThrow(() -> new ResourceNotFoundException("No Session Found with this id"));
         chatMemory.clear(sessionId);
+        candidateRetrievalCache.evictSession(sessionId);
         sessionRepository.delete(session);
     }
 
@@ -113,6 +129,12 @@ public class RecruiterChatSessionService {
                 .toList();
     }
 
+    /**
+     * Streams the answer to {@code prompt}. The session is checked on the calling thread, where
+     * the security context is; the candidate context, job context and history are then
+     * assembled concurrently on the bounded elastic scheduler once the returned Flux is
+     * subscribed, so the wait before the first token is that of the slowest step.
+     */
     public Flux<String> streamChat(String sessionId, String prompt) {
         RecruiterChatSession session = sessionRepository.findBySessionId(sessionId)
                 .orElseThrow(() -> new ResourceNotFoundException("No Session Found with this id"));
@@ -120,12 +142,22 @@ public class RecruiterChatSessionService {
         Job job = session.getJob();
         Long jobId = job.getId();
 
-        String candidateCtx = buildCandidateContext(jobId, prompt);
-        String jobCtx = buildJobContext(job);
-
+        Mono<String> candidateCtx = blocking(() -> buildCandidateContext(sessionId, jobId, prompt));
+        Mono<String> jobCtx = blocking(() -> buildJobContext(job));
         // Pre-fetch history exactly once — shared by both the primary call and any fallback.
-        List<Message> history = chatMemory.get(sessionId);
+        Mono<List<Message>> history = blocking(() -> chatMemory.get(sessionId));
+
+        return Mono.zip(candidateCtx, jobCtx, history)
+                .flatMapMany(context -> streamWithFallback(sessionId, jobId, prompt,
+                        context.getT2(), context.getT1(), context.getT3()));
+    }
 
+    private static <T> Mono<T> blocking(Callable<T> step) {
+        return Mono.fromCallable(step).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Flux<String> streamWithFallback(String sessionId, Long jobId, String prompt,
+                                            String jobCtx, String candidateCtx, List<Message> history) {
         return callAiStream(geminiChatClient, sessionId, prompt, jobCtx, candidateCtx, history)
                 .doOnComplete(() -> log.info(
                         "AI_STREAM_SUCCESS provider=gemini sessionId={} jobId={}",
@@ -166,55 +198,34 @@ public class RecruiterChatSessionService {
                 .stream()
                 .content()
                 .doOnNext(responseBuffer::append)
-                .doOnComplete(() -> {
-                    chatMemory.add(sessionId, new UserMessage(prompt));
-                    chatMemory.add(sessionId, new AssistantMessage(responseBuffer.toString()));
-                });
+                .doOnComplete(() -> chatMemory.add(sessionId, List.of(
+                        new UserMessage(prompt),
+                        new AssistantMessage(responseBuffer.toString()))));
     }
 
-    private String buildCandidateContext(Long jobId, String prompt) {
+    private String buildCandidateContext(String sessionId, Long jobId, String prompt) {
         log.info("Searching for candidates with jobId: {}", jobId);
 
-        List<Document> docs = vectorStore.similaritySearch(
-                SearchRequest.builder()
-                        .query(prompt)
-                        .topK(TOP_K)
-                        .similarityThreshold(SIMILARITY_THRESHOLD)
-                        .filterExpression("jobId == '" + jobId + "'")
-                        .build()
-        );
+        List<Document> docs = candidateRetrievalCache.search(sessionId, jobId, prompt, () -> {
+            SearchRequest request = SearchRequest.builder()
+                    .query(prompt)
+                    .topK(hybridRetrieval ? hybridTopK : TOP_K)
+                    .similarityThreshold(SIMILARITY_THRESHOLD)
+                    .filterExpression("jobId == '" + jobId + "'")
+                    .build();
+            return hybridRetrieval ? hybridRetriever.retrieve(request) : vectorStore.similaritySearch(request);
+        });
 
         log.info("Found {} documents for jobId: {}", docs.size(), jobId);
 
         if (docs.isEmpty()) return NO_CANDIDATES;
 
-        return docs.stream()
-                .filter(doc -> doc.getMetadata() != null && doc.getMetadata().get("userId") != null)
-                .collect(Collectors.groupingBy(
-                        doc -> doc.getMetadata().get("userId").toString()
-                ))
-                .values().stream()
-                .map(this::bestDocPerApplicant)
-                .map(this::formatCandidate)
-                .collect(Collectors.joining("\n---\n"));
-    }
-
-    private Document bestDocPerApplicant(List<Document> docs) {
-        return docs.stream().findFirst().orElseThrow();
-    }
+        CandidateContextPacker.PackedContext packed = candidateContextPacker.pack(docs);
+        log.info("Packed {} candidates into ~{} tokens for jobId: {}, dropped {} candidates and {} chunks over budget, {} duplicate chunks",
+                packed.candidates(), packed.tokens(), jobId,
+                packed.droppedCandidates(), packed.droppedChunks(), packed.duplicateChunks());
 
-    private String formatCandidate(Document doc) {
-        Map<String, Object> meta = doc.getMetadata();
-        return """
-                Application Link: %s%s
-                Type: %s
-                %s
-                """.formatted(
-                APPLICATION_BASE_URL,
-                meta.get("applicationId"),
-                meta.get("chunkType"),
-                doc.getText()
-        );
+        return packed.text().isEmpty() ? NO_CANDIDATES : packed.text();
     }
 
     private String buildJobContext(Job job) {
@@ -0,0 +1,310 @@
+package com.upply.chat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.*;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ChatMemoryRepository} that keeps the active window of each conversation in Redis and
+ * writes it to a durable repository (JDBC) behind the chat turn:
+ * <ul>
+ *     <li>{@code chat-memory:window:{conversationId}} - JSON messages of the window, expiring
+ *     {@code hotTtl} after the last write; loaded from the durable repository on a miss</li>
+ *     <li>{@code chat-memory:dirty} - conversations whose window is not yet persisted</li>
+ *     <li>{@code chat-memory:processing:{workerId}} - conversations a worker claimed and is
+ *     persisting</li>
+ *     <li>{@code chat-memory:workers} - sorted set of workers by last heartbeat</li>
+ *     <li>{@code chat-memory:deleted:{conversationId}} - tombstone of a deleted conversation,
+ *     expiring after {@code hotTtl}, so a worker that read its window before the delete does
+ *     not write it back</li>
+ * </ul>
+ * A single worker per instance claims up to {@code maxBatchSize} dirty conversations every
+ * {@code flushInterval}, moving them to its processing set, and saves their latest window, so
+ * several turns of one conversation cost one write. A conversation leaves the processing set
+ * only once saved; the processing sets of workers whose heartbeat stopped are moved back to
+ * the dirty set by the others. The dirty set is shared, so any instance persists windows saved
+ * by another; {@link #close()} drains it before shutdown.
+ *
+ * <p>Like the JDBC repository, only the type and text of messages are kept. When Redis is
+ * unavailable reads and writes go straight to the durable repository.
+ */
+@Slf4j
+public class WriteBehindChatMemoryRepository implements ChatMemoryRepository, AutoCloseable {
+
+    private static final String WINDOW_KEY = "chat-memory:window:";
+    private static final String DIRTY_KEY = "chat-memory:dirty";
+    private static final String PROCESSING_KEY = "chat-memory:processing:";
+    private static final String WORKERS_KEY = "chat-memory:workers";
+    private static final String DELETED_KEY = "chat-memory:deleted:";
+    private static final Duration MIN_STALE_AFTER = Duration.ofMinutes(1);
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(30);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<List<StoredMessage>> WINDOW_TYPE = new TypeReference<>() {
+    };
+
+    private record StoredMessage(MessageType type, String text) {
+    }
+
+    private final ChatMemoryRepository delegate;
+    private final StringRedisTemplate redisTemplate;
+    private final Duration hotTtl;
+    private final int maxBatchSize;
+    private final long flushIntervalMillis;
+    private final long staleAfterMillis;
+    private final String workerId = UUID.randomUUID().toString();
+    private final String processingKey = PROCESSING_KEY + workerId;
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private final Thread worker;
+
+    public WriteBehindChatMemoryRepository(ChatMemoryRepository delegate,
+                                           StringRedisTemplate redisTemplate,
+                                           Duration hotTtl,
+                                           int maxBatchSize,
+                                           Duration flushInterval) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.hotTtl = hotTtl;
+        this.maxBatchSize = maxBatchSize;
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.staleAfterMillis = Math.max(MIN_STALE_AFTER.toMillis(), 10 * flushIntervalMillis);
+        this.worker = Thread.ofPlatform()
+                .name("chat-memory-writer")
+                .daemon()
+                .start(this::run);
+    }
+
+    @Override
+    public List<String> findConversationIds() {
+        Set<String> ids = new LinkedHashSet<>(delegate.findConversationIds());
+        try {
+            Set<String> dirty = redisTemplate.opsForSet().members(DIRTY_KEY);
+            if (dirty != null) {
+                ids.addAll(dirty);
+            }
+        } catch (Exception e) {
+            log.warn("Could not read unsaved chat conversations from Redis", e);
+        }
+        return List.copyOf(ids);
+    }
+
+    @Override
+    public List<Message> findByConversationId(String conversationId) {
+        String window;
+        try {
+            window = redisTemplate.opsForValue().get(WINDOW_KEY + conversationId);
+        } catch (Exception e) {
+            log.warn("Reading chat memory of {} from Redis failed, using the database", conversationId, e);
+            return delegate.findByConversationId(conversationId);
+        }
+        if (window != null) {
+            return fromJson(window);
+        }
+
+        List<Message> messages = delegate.findByConversationId(conversationId);
+        try {
+            // a turn saved meanwhile is newer than what was just read
+            redisTemplate.opsForValue().setIfAbsent(WINDOW_KEY + conversationId, toJson(messages), hotTtl);
+        } catch (Exception e) {
+            log.warn("Could not cache chat memory of {} in Redis", conversationId, e);
+        }
+        return messages;
+    }
+
+    @Override
+    public void saveAll(String conversationId, List<Message> messages) {
+        try {
+            // the window is written before the conversation is marked, so a flush never reads an older one
+            redisTemplate.opsForValue().set(WINDOW_KEY + conversationId, toJson(messages), hotTtl);
+            redisTemplate.opsForSet().add(DIRTY_KEY, conversationId);
+        } catch (Exception e) {
+            log.warn("Saving chat memory of {} to Redis failed, writing to the database", conversationId, e);
+            delegate.saveAll(conversationId, messages);
+        }
+    }
+
+    @Override
+    public void deleteByConversationId(String conversationId) {
+        try {
+            // set before the durable delete; see persist()
+            redisTemplate.opsForValue().set(DELETED_KEY + conversationId, "1", hotTtl);
+            redisTemplate.opsForSet().remove(DIRTY_KEY, conversationId);
+            redisTemplate.delete(WINDOW_KEY + conversationId);
+        } catch (Exception e) {
+            log.warn("Could not delete chat memory of {} from Redis", conversationId, e);
+        }
+        delegate.deleteByConversationId(conversationId);
+    }
+
+    /**
+     * Stops the worker and waits for every unsaved window to be persisted.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed.countDown();
+        worker.join(CLOSE_TIMEOUT);
+    }
+
+    private void run() {
+        try {
+            while (!closed.await(flushIntervalMillis, TimeUnit.MILLISECONDS)) {
+                flush();
+            }
+            flush();
+            redisTemplate.opsForZSet().remove(WORKERS_KEY, workerId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Could not unregister chat memory worker {}", workerId, e);
+        }
+    }
+
+    /**
+     * Persists dirty conversations in batches of {@code maxBatchSize} until none are left.
+     */
+    void flush() {
+        try {
+            recoverStaleWorkers();
+        } catch (Exception e) {
+            log.error("Could not recover chat conversations of stopped workers", e);
+        }
+
+        while (true) {
+            List<String> batch;
+            try {
+                // refreshed per batch, so a long drain is not taken for a stopped worker
+                redisTemplate.opsForZSet().add(WORKERS_KEY, workerId, System.currentTimeMillis());
+                batch = claim();
+            } catch (Exception e) {
+                log.error("Could not read unsaved chat conversations from Redis", e);
+                return;
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            int failed = 0;
+            for (String conversationId : batch) {
+                if (!persist(conversationId)) {
+                    failed++;
+                }
+            }
+            log.debug("Persisted {} chat conversations ({} failed)", batch.size() - failed, failed);
+            // failed ones are back in the set; leave them for the next round
+            if (failed > 0 || batch.size() < maxBatchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code maxBatchSize} dirty conversations to this worker's processing set;
+     * ones another worker moved first are skipped.
+     */
+    private List<String> claim() {
+        Set<String> candidates = redisTemplate.opsForSet().distinctRandomMembers(DIRTY_KEY, maxBatchSize);
+        if (candidates == null) {
+            return List.of();
+        }
+        List<String> claimed = new ArrayList<>(candidates.size());
+        for (String conversationId : candidates) {
+            if (Boolean.TRUE.equals(redisTemplate.opsForSet().move(DIRTY_KEY, conversationId, processingKey))) {
+                claimed.add(conversationId);
+            }
+        }
+        return claimed;
+    }
+
+    private void recoverStaleWorkers() {
+        Set<String> stale = redisTemplate.opsForZSet()
+                .rangeByScore(WORKERS_KEY, 0, System.currentTimeMillis() - staleAfterMillis);
+        if (stale == null) {
+            return;
+        }
+        for (String worker : stale) {
+            Set<String> claimed = redisTemplate.opsForSet().members(PROCESSING_KEY + worker);
+            if (claimed != null) {
+                for (String conversationId : claimed) {
+                    redisTemplate.opsForSet().move(PROCESSING_KEY + worker, conversationId, DIRTY_KEY);
+                }
+                if (!claimed.isEmpty()) {
+                    log.warn("Requeued {} unsaved chat conversations of stopped worker {}", claimed.size(), worker);
+                }
+            }
+            redisTemplate.opsForZSet().remove(WORKERS_KEY, worker);
+        }
+    }
+
+    private boolean persist(String conversationId) {
+        try {
+            String window = redisTemplate.opsForValue().get(WINDOW_KEY + conversationId);
+            if (window == null) {
+                log.warn("Chat memory of {} expired before it was persisted", conversationId);
+            } else if (!isDeleted(conversationId)) {
+                delegate.saveAll(conversationId, fromJson(window));
+                // a delete that began after the check above may have removed the rows before this
+                // save; its tombstone is visible now, and one that is not yet visible deletes after it
+                if (isDeleted(conversationId)) {
+                    delegate.deleteByConversationId(conversationId);
+                }
+            }
+            redisTemplate.opsForSet().remove(processingKey, conversationId);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to persist chat memory of {}", conversationId, e);
+            try {
+                redisTemplate.opsForSet().move(processingKey, conversationId, DIRTY_KEY);
+                redisTemplate.expire(WINDOW_KEY + conversationId, hotTtl);
+            } catch (Exception redisError) {
+                log.error("Could not mark chat memory of {} for another attempt", conversationId, redisError);
+            }
+            return false;
+        }
+    }
+
+    private boolean isDeleted(String conversationId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(DELETED_KEY + conversationId));
+    }
+
+    private static String toJson(List<Message> messages) {
+        List<StoredMessage> stored = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            if (message.getMessageType() == MessageType.TOOL) {
+                continue;
+            }
+            stored.add(new StoredMessage(message.getMessageType(), message.getText()));
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(stored);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize chat memory", e);
+        }
+    }
+
+    private static List<Message> fromJson(String window) {
+        List<StoredMessage> stored;
+        try {
+            stored = OBJECT_MAPPER.readValue(window, WINDOW_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read chat memory", e);
+        }
+        List<Message> messages = new ArrayList<>(stored.size());
+        for (StoredMessage message : stored) {
+            messages.add(switch (message.type()) {
+                case USER -> new UserMessage(message.text());
+                case ASSISTANT -> new AssistantMessage(message.text());
+                case SYSTEM -> new SystemMessage(message.text());
+                case TOOL -> throw new IllegalStateException("Tool messages are not kept in chat memory");
+            });
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,49 @@
+package com.upply.common;
+
+import com.upply.exception.custom.BusinessLogicException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Keyset position for cursor pagination: the sort timestamp and id of the last row of a
+ * page. Clients only ever see it as an opaque, URL-safe token.
+ */
+public record Cursor(Instant timestamp, Long id) {
+
+    public static Cursor of(LocalDateTime timestamp, Long id) {
+        return new Cursor(timestamp.toInstant(ZoneOffset.UTC), id);
+    }
+
+    public LocalDateTime localTimestamp() {
+        return LocalDateTime.ofInstant(timestamp, ZoneOffset.UTC);
+    }
+
+    public String encode() {
+        String raw = timestamp.getEpochSecond() + "." + timestamp.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded position, or {@code null} for a missing token (first page)
+     */
+    public static Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int dot = raw.indexOf('.');
+            int colon = raw.indexOf(':');
+            Instant timestamp = Instant.ofEpochSecond(
+                    Long.parseLong(raw.substring(0, dot)),
+                    Long.parseLong(raw.substring(dot + 1, colon)));
+            return new Cursor(timestamp, Long.valueOf(raw.substring(colon + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessLogicException("Invalid cursor");
+        }
+    }
+}
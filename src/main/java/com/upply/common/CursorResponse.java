@@ -0,0 +1,37 @@
+package com.upply.common;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorResponse<T> {
+
+    private List<T> content;
+
+    private int size;
+
+    private String nextCursor;  // pass back to get the next page; null on the last page
+    private boolean last;
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}; the extra row only
+     * tells whether another page exists and is not returned.
+     */
+    public static <E, T> CursorResponse<T> of(List<E> rows, int size,
+                                              Function<E, Cursor> position, Function<E, T> mapper) {
+        boolean last = rows.size() <= size;
+        List<E> page = last ? rows : rows.subList(0, size);
+
+        return new CursorResponse<>(
+                page.stream().map(mapper).toList(),
+                size,
+                last || page.isEmpty() ? null : position.apply(page.get(page.size() - 1)).encode(),
+                last);
+    }
+}
@@ -0,0 +1,45 @@
+package com.upply.config;
+
+import com.upply.vector.embedding.CachingEmbeddingModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.transformers.TransformersEmbeddingModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+
+@Configuration
+@Profile("!test")
+@ConditionalOnProperty(name = "app.embedding.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class EmbeddingCacheConfig {
+
+    @Value("${app.embedding.cache.namespace}")
+    private String namespace;
+    @Value("${app.embedding.cache.local-max-entries}")
+    private int localMaxEntries;
+    @Value("${app.embedding.cache.redis-ttl}")
+    private Duration redisTtl;
+
+    @Bean
+    @Primary
+    public EmbeddingModel cachingEmbeddingModel(TransformersEmbeddingModel transformersEmbeddingModel,
+                                                RedisConnectionFactory connectionFactory,
+                                                MeterRegistry meterRegistry) {
+        RedisTemplate<String, byte[]> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(RedisSerializer.string());
+        redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        redisTemplate.afterPropertiesSet();
+
+        return new CachingEmbeddingModel(transformersEmbeddingModel, redisTemplate, meterRegistry,
+                namespace, localMaxEntries, redisTtl);
+    }
+}
@@ -0,0 +1,24 @@
+package com.upply.config;
+
+import com.upply.job.JobSpecification;
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers MySQL's {@code MATCH ... AGAINST} so criteria queries can filter and rank on
+ * the {@code jobs} full-text index. Loaded by Hibernate through
+ * {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                JobSpecification.MATCH_AGAINST,
+                "match(?1, ?2) against(?3 in boolean mode)",
+                functionContributions.getTypeConfiguration()
+                        .getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.DOUBLE));
+    }
+}
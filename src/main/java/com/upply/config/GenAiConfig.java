@@ -1,5 +1,11 @@
 package com.upply.config;
 
+import com.upply.ai.AiCallGovernor;
+import com.upply.ai.AiPriority;
+import com.upply.ai.CachingChatAdvisor;
+import com.upply.ai.ChatProviderRouter;
+import com.upply.chat.WriteBehindChatMemoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.memory.MessageWindowChatMemory;
@@ -13,15 +19,22 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.io.Resource;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 @Profile("!test")
 public class GenAiConfig {
     private final ChatClient.Builder geminiBuilder;
     private final ChatClient.Builder groqBuilder;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
 
     @Value("${app.model.google-lite-model}")
     private String googleLiteModel;
@@ -35,16 +48,150 @@ public class GenAiConfig {
     @Value("${app.model.groq-full-model}")
     private String groqFullModel;
 
+    @Value("${app.ai.cache.enabled}")
+    private boolean cacheEnabled;
+
+    @Value("${app.ai.cache.local-max-entries}")
+    private int cacheLocalMaxEntries;
+
+    @Value("${app.ai.cache.local-ttl}")
+    private Duration cacheLocalTtl;
+
+    @Value("${app.ai.cache.ttl.resume-analysis}")
+    private Duration resumeAnalysisCacheTtl;
+
+    @Value("${app.ai.cache.ttl.resume-parser}")
+    private Duration resumeParserCacheTtl;
+
+    @Value("${app.ai.cache.ttl.application-summary}")
+    private Duration applicationSummaryCacheTtl;
+
+    @Value("${app.ai.cache.ttl.job-import}")
+    private Duration jobImportCacheTtl;
+
+    @Value("${app.ai.routing.window}")
+    private int routingWindow;
+
+    @Value("${app.ai.routing.min-samples}")
+    private int routingMinSamples;
+
+    @Value("${app.ai.routing.error-rate-threshold}")
+    private double routingErrorRateThreshold;
+
+    @Value("${app.ai.routing.open-duration}")
+    private Duration routingOpenDuration;
+
+    @Value("${app.ai.routing.hedge.enabled}")
+    private boolean hedgeEnabled;
+
+    @Value("${app.ai.routing.hedge.percentile}")
+    private double hedgePercentile;
+
+    @Value("${app.ai.routing.hedge.min-delay}")
+    private Duration hedgeMinDelay;
+
+    @Value("${app.ai.routing.hedge.initial-delay}")
+    private Duration hedgeInitialDelay;
+
+    @Value("${app.ai.governor.enabled}")
+    private boolean governorEnabled;
+
+    @Value("${app.ai.governor.interactive-reserve}")
+    private double governorInteractiveReserve;
+
+    @Value("${app.ai.governor.lease-duration}")
+    private Duration governorLeaseDuration;
+
+    @Value("${app.ai.governor.poll-interval}")
+    private Duration governorPollInterval;
+
+    @Value("${app.ai.governor.queue.interactive.capacity}")
+    private int interactiveQueueCapacity;
+
+    @Value("${app.ai.governor.queue.interactive.max-wait}")
+    private Duration interactiveQueueMaxWait;
+
+    @Value("${app.ai.governor.queue.background.capacity}")
+    private int backgroundQueueCapacity;
+
+    @Value("${app.ai.governor.queue.background.max-wait}")
+    private Duration backgroundQueueMaxWait;
+
+    @Value("${app.ai.governor.gemini.burst}")
+    private int geminiBurst;
+
+    @Value("${app.ai.governor.gemini.requests-per-minute}")
+    private int geminiRequestsPerMinute;
+
+    @Value("${app.ai.governor.gemini.max-concurrent}")
+    private int geminiMaxConcurrent;
+
+    @Value("${app.ai.governor.groq.burst}")
+    private int groqBurst;
+
+    @Value("${app.ai.governor.groq.requests-per-minute}")
+    private int groqRequestsPerMinute;
+
+    @Value("${app.ai.governor.groq.max-concurrent}")
+    private int groqMaxConcurrent;
+
+    @Value("${app.recruiter-chat.memory.hot-ttl}")
+    private Duration memoryHotTtl;
+
+    @Value("${app.recruiter-chat.memory.flush-batch-size}")
+    private int memoryFlushBatchSize;
+
+    @Value("${app.recruiter-chat.memory.flush-interval}")
+    private Duration memoryFlushInterval;
+
     public GenAiConfig(
             @Qualifier("googleGenAiChatModel") ChatModel geminiModel,
-            @Qualifier("openAiChatModel") ChatModel groqModel) {
+            @Qualifier("openAiChatModel") ChatModel groqModel,
+            RedisConnectionFactory connectionFactory,
+            MeterRegistry meterRegistry) {
         this.geminiBuilder = ChatClient.builder(geminiModel);
         this.groqBuilder   = ChatClient.builder(groqModel);
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.meterRegistry = meterRegistry;
+    }
+
+    private ChatClient.Builder cached(ChatClient.Builder builder, String client, Duration ttl) {
+        if (!cacheEnabled) {
+            return builder;
+        }
+        return builder.defaultAdvisors(new CachingChatAdvisor(client, redisTemplate, meterRegistry,
+                cacheLocalMaxEntries, cacheLocalTtl, ttl));
+    }
+
+    private ChatClient.Builder governed(ChatClient.Builder builder, AiCallGovernor governor) {
+        if (!governorEnabled) {
+            return builder;
+        }
+        return builder.defaultAdvisors(governor);
+    }
+
+    private AiCallGovernor governor(String provider, int burst, int requestsPerMinute, int maxConcurrent) {
+        AiCallGovernor.Settings settings = new AiCallGovernor.Settings(
+                governorInteractiveReserve, governorLeaseDuration, governorPollInterval, Map.of(
+                        AiPriority.INTERACTIVE, new AiCallGovernor.QueueSettings(interactiveQueueCapacity, interactiveQueueMaxWait),
+                        AiPriority.BACKGROUND, new AiCallGovernor.QueueSettings(backgroundQueueCapacity, backgroundQueueMaxWait)));
+        return new AiCallGovernor(provider, redisTemplate,
+                new AiCallGovernor.Limits(burst, requestsPerMinute / 60.0, maxConcurrent), settings, meterRegistry);
+    }
+
+    @Bean
+    public AiCallGovernor geminiCallGovernor() {
+        return governor("gemini", geminiBurst, geminiRequestsPerMinute, geminiMaxConcurrent);
     }
 
-    private ChatClient geminiBuild(Resource prompt, double temperature, int maxTokens) {
+    @Bean
+    public AiCallGovernor groqCallGovernor() {
+        return governor("groq", groqBurst, groqRequestsPerMinute, groqMaxConcurrent);
+    }
+
+    private ChatClient geminiBuild(Resource prompt, double temperature, int maxTokens, String client, Duration cacheTtl) {
         try {
-            return geminiBuilder.clone()
+            return cached(governed(geminiBuilder.clone(), geminiCallGovernor()), client + "-gemini", cacheTtl)
                     .defaultSystem(prompt.getContentAsString(StandardCharsets.UTF_8))
                     .defaultOptions(GoogleGenAiChatOptions.builder()
                             .model(googleLiteModel)
@@ -57,9 +204,9 @@ public class GenAiConfig {
         }
     }
 
-    private ChatClient groqBuild(Resource prompt, double temperature, int maxTokens) {
+    private ChatClient groqBuild(Resource prompt, double temperature, int maxTokens, String client, Duration cacheTtl) {
         try {
-            return groqBuilder.clone()
+            return cached(governed(groqBuilder.clone(), groqCallGovernor()), client + "-groq", cacheTtl)
                     .defaultSystem(prompt.getContentAsString(StandardCharsets.UTF_8))
                     .defaultOptions(OpenAiChatOptions.builder()
                             .model(groqLiteModel)
@@ -72,50 +219,87 @@ public class GenAiConfig {
         }
     }
 
+    private ChatProviderRouter router(String route, ChatClient gemini, ChatClient groq) {
+        ChatProviderRouter.Settings settings = new ChatProviderRouter.Settings(
+                routingWindow, routingMinSamples, routingErrorRateThreshold, routingOpenDuration,
+                hedgeEnabled, hedgePercentile, hedgeMinDelay, hedgeInitialDelay);
+        return new ChatProviderRouter(route, List.of(
+                new ChatProviderRouter.Provider("gemini", gemini),
+                new ChatProviderRouter.Provider("groq", groq)), settings, meterRegistry);
+    }
+
     @Bean
     public ChatClient resumeAnalysisGeminiChatClient(@Qualifier("resumeAnalysisPrompt") Resource prompt) {
-        return geminiBuild(prompt, 0.2, 1024);
+        return geminiBuild(prompt, 0.2, 1024, "resume-analysis", resumeAnalysisCacheTtl);
     }
 
     @Bean
     public ChatClient resumeAnalysisGroqChatClient(@Qualifier("resumeAnalysisPrompt") Resource prompt) {
-        return groqBuild(prompt, 0.2, 1024);
+        return groqBuild(prompt, 0.2, 1024, "resume-analysis", resumeAnalysisCacheTtl);
     }
 
     @Bean
     public ChatClient resumeParserGeminiChatClient(@Qualifier("resumeParserPrompt") Resource prompt) {
-        return geminiBuild(prompt, 0.0, 3072);
+        return geminiBuild(prompt, 0.0, 3072, "resume-parser", resumeParserCacheTtl);
     }
 
     @Bean
     public ChatClient resumeParserGroqChatClient(@Qualifier("resumeParserPrompt") Resource prompt) {
-        return groqBuild(prompt, 0.0, 3072);
+        return groqBuild(prompt, 0.0, 3072, "resume-parser", resumeParserCacheTtl);
     }
 
     @Bean
     public ChatClient applicationSummaryGeminiChatClient(@Qualifier("applicationSummaryPrompt") Resource prompt) {
-        return geminiBuild(prompt, 0.1, 3072);
+        return geminiBuild(prompt, 0.1, 3072, "application-summary", applicationSummaryCacheTtl);
     }
 
     @Bean
     public ChatClient applicationSummaryGroqChatClient(@Qualifier("applicationSummaryPrompt") Resource prompt) {
-        return groqBuild(prompt, 0.1, 3072);
+        return groqBuild(prompt, 0.1, 3072, "application-summary", applicationSummaryCacheTtl);
     }
 
     @Bean
     public ChatClient jobImportGeminiChatClient(@Qualifier("jobImportPrompt") Resource prompt) {
-        return geminiBuild(prompt, 0.0, 2048);
+        return geminiBuild(prompt, 0.0, 2048, "job-import", jobImportCacheTtl);
     }
 
     @Bean
     public ChatClient jobImportGroqChatClient(@Qualifier("jobImportPrompt") Resource prompt) {
-        return groqBuild(prompt, 0.0, 2048);
+        return groqBuild(prompt, 0.0, 2048, "job-import", jobImportCacheTtl);
+    }
+
+    @Bean
+    public ChatProviderRouter resumeAnalysisRouter(
+            @Qualifier("resumeAnalysisGeminiChatClient") ChatClient gemini,
+            @Qualifier("resumeAnalysisGroqChatClient") ChatClient groq) {
+        return router("resume-analysis", gemini, groq);
+    }
+
+    @Bean
+    public ChatProviderRouter resumeParserRouter(
+            @Qualifier("resumeParserGeminiChatClient") ChatClient gemini,
+            @Qualifier("resumeParserGroqChatClient") ChatClient groq) {
+        return router("resume-parser", gemini, groq);
+    }
+
+    @Bean
+    public ChatProviderRouter applicationSummaryRouter(
+            @Qualifier("applicationSummaryGeminiChatClient") ChatClient gemini,
+            @Qualifier("applicationSummaryGroqChatClient") ChatClient groq) {
+        return router("application-summary", gemini, groq);
+    }
+
+    @Bean
+    public ChatProviderRouter jobImportRouter(
+            @Qualifier("jobImportGeminiChatClient") ChatClient gemini,
+            @Qualifier("jobImportGroqChatClient") ChatClient groq) {
+        return router("job-import", gemini, groq);
     }
 
     @Bean
     public ChatClient recruiterRagGeminiChatClient(@Qualifier("recruiterRag") Resource prompt) {
         try {
-            return geminiBuilder.clone()
+            return governed(geminiBuilder.clone(), geminiCallGovernor())
                     .defaultSystem(prompt.getContentAsString(StandardCharsets.UTF_8))
                     .defaultOptions(GoogleGenAiChatOptions.builder()
                             .model(googleFullModel)
@@ -132,7 +316,7 @@ public class GenAiConfig {
     @Bean
     public ChatClient recruiterRagGroqChatClient(@Qualifier("recruiterRag") Resource prompt) {
         try {
-            return groqBuilder.clone()
+            return governed(groqBuilder.clone(), groqCallGovernor())
                     .defaultSystem(prompt.getContentAsString(StandardCharsets.UTF_8))
                     .defaultOptions(OpenAiChatOptions.builder()
                             .model(groqFullModel)
@@ -145,10 +329,16 @@ public class GenAiConfig {
         }
     }
 
+    @Bean(destroyMethod = "close")
+    public WriteBehindChatMemoryRepository writeBehindChatMemoryRepository(JdbcChatMemoryRepository jdbcChatMemoryRepository) {
+        return new WriteBehindChatMemoryRepository(jdbcChatMemoryRepository, redisTemplate,
+                memoryHotTtl, memoryFlushBatchSize, memoryFlushInterval);
+    }
+
     @Bean
-    public ChatMemory chatMemory(JdbcChatMemoryRepository jdbcChatMemoryRepository) {
+    public ChatMemory chatMemory(WriteBehindChatMemoryRepository writeBehindChatMemoryRepository) {
         return MessageWindowChatMemory.builder()
-                .chatMemoryRepository(jdbcChatMemoryRepository)
+                .chatMemoryRepository(writeBehindChatMemoryRepository)
                 .maxMessages(10)
                 .build();
     }
@@ -1,9 +1,12 @@
 package com.upply.config;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
 
 @Configuration
 public class KafkaConfig {
@@ -13,6 +16,19 @@ public class KafkaConfig {
     public static final String UserSkillsEmbeddingTopic = "user-skills-embedding";
     public static final String JOB_POSTING_TOPIC = "job-posting-topic";
 
+    /**
+     * Same settings as the default listener factory, delivering each poll as one list.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+        factory.setBatchListener(true);
+        return factory;
+    }
+
     @Bean
     public NewTopic applicationMatchTopic() {
         return TopicBuilder.name(APPLICATION_MATCH_CALC_TOPIC)
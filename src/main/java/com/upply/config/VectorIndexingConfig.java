@@ -0,0 +1,29 @@
+package com.upply.config;
+
+import com.upply.vector.VectorStoreBatchWriter;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class VectorIndexingConfig {
+
+    @Value("${app.vector.indexing.max-batch-size}")
+    private int maxBatchSize;
+    @Value("${app.vector.indexing.max-delay}")
+    private Duration maxDelay;
+
+    @Bean(destroyMethod = "close")
+    public VectorStoreBatchWriter jobsIndexWriter(@Qualifier("jobsVectorStore") VectorStore jobsVectorStore) {
+        return new VectorStoreBatchWriter(jobsVectorStore, "jobs", maxBatchSize, maxDelay);
+    }
+
+    @Bean(destroyMethod = "close")
+    public VectorStoreBatchWriter userSkillsIndexWriter(@Qualifier("userSkillsVectorStore") VectorStore userSkillsVectorStore) {
+        return new VectorStoreBatchWriter(userSkillsVectorStore, "user-skills", maxBatchSize, maxDelay);
+    }
+}
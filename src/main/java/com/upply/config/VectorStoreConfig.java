@@ -3,15 +3,31 @@ package com.upply.config;
 import com.azure.core.credential.AzureKeyCredential;
 import com.azure.search.documents.indexes.SearchIndexClient;
 import com.azure.search.documents.indexes.SearchIndexClientBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.upply.common.IndexName;
 import com.upply.profile.resume.AzureStorageService;
+import com.upply.vector.AzureVectorLookup;
+import com.upply.vector.VectorLookup;
+import com.upply.vector.hnsw.HnswIndex;
+import com.upply.vector.hnsw.HnswIndexReplicator;
+import com.upply.vector.hnsw.HnswVectorStore;
+import com.upply.vector.hybrid.AzureHybridRetriever;
+import com.upply.vector.hybrid.HybridRetriever;
+import com.upply.vector.index.JobsIndexSchema;
+import com.upply.vector.index.ResumeIndexSchema;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.ai.vectorstore.azure.AzureVectorStore;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 import java.util.List;
 
@@ -24,6 +40,13 @@ public class VectorStoreConfig {
     @Value("${azure.search.key}")
     private String searchKey;
 
+    private static final List<AzureVectorStore.MetadataField> RESUME_METADATA_FIELDS = List.of(
+            AzureVectorStore.MetadataField.text("applicationId"),
+            AzureVectorStore.MetadataField.text("jobId"),
+            AzureVectorStore.MetadataField.text("chunkType"),
+            AzureVectorStore.MetadataField.text("userId")
+    );
+
     @Bean
     public SearchIndexClient searchIndexClient(){
         return new SearchIndexClientBuilder()
@@ -32,6 +55,7 @@ public class VectorStoreConfig {
                 .buildClient();
     }
     @Bean
+    @ConditionalOnProperty(name = "app.vector.jobs-local-index.enabled", havingValue = "false", matchIfMissing = true)
     public VectorStore jobsVectorStore(SearchIndexClient searchIndexClient,
                                    EmbeddingModel embeddingModel) {
         return AzureVectorStore.builder(searchIndexClient, embeddingModel)
@@ -48,18 +72,52 @@ public class VectorStoreConfig {
                 ))
                 .build();
     }
+
+    @Bean("jobsVectorStore")
+    @ConditionalOnProperty(name = "app.vector.jobs-local-index.enabled", havingValue = "true")
+    public HnswVectorStore localJobsVectorStore(EmbeddingModel embeddingModel,
+                                                JobsIndexSchema jobsIndexSchema,
+                                                @Value("${app.vector.jobs-local-index.m}") int m,
+                                                @Value("${app.vector.jobs-local-index.ef-construction}") int efConstruction,
+                                                @Value("${app.vector.jobs-local-index.ef-search}") int efSearch) {
+        HnswIndex index = new HnswIndex(jobsIndexSchema.vectorDimensions(), m, efConstruction);
+        return new HnswVectorStore(embeddingModel, index, efSearch);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.vector.jobs-local-index.enabled", havingValue = "true")
+    public RedisMessageListenerContainer jobsIndexListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                    HnswVectorStore localJobsVectorStore,
+                                                                    StringRedisTemplate redisTemplate,
+                                                                    ObjectMapper objectMapper,
+                                                                    @Value("${app.vector.jobs-local-index.sync-channel}") String channel) {
+        HnswIndexReplicator replicator = new HnswIndexReplicator(localJobsVectorStore, redisTemplate, objectMapper, channel);
+        localJobsVectorStore.setChangeListener(replicator);
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(replicator, new ChannelTopic(channel));
+        return container;
+    }
+
     @Bean
     public VectorStore resumeVectorStore(SearchIndexClient searchIndexClient,
                                          EmbeddingModel embeddingModel){
         return AzureVectorStore.builder(searchIndexClient,embeddingModel)
                 .indexName(IndexName.RESUME_INDEX)
                 .initializeSchema(false)
-                .filterMetadataFields(List.of(
-                        AzureVectorStore.MetadataField.text("applicationId"),
-                        AzureVectorStore.MetadataField.text("jobId"),
-                        AzureVectorStore.MetadataField.text("chunkType"),
-                        AzureVectorStore.MetadataField.text("userId")
-                )).build();
+                .filterMetadataFields(RESUME_METADATA_FIELDS)
+                .build();
+    }
+
+    @Bean
+    public HybridRetriever resumeHybridRetriever(SearchIndexClient searchIndexClient,
+                                                 EmbeddingModel embeddingModel,
+                                                 ResumeIndexSchema resumeIndexSchema,
+                                                 ObjectMapper objectMapper,
+                                                 @Value("${app.recruiter-chat.retrieval.semantic-ranking}") boolean semanticRanking) {
+        return new AzureHybridRetriever(searchIndexClient.getSearchClient(IndexName.RESUME_INDEX), embeddingModel,
+                RESUME_METADATA_FIELDS, resumeIndexSchema, objectMapper, semanticRanking);
     }
 
     @Bean
@@ -73,4 +131,18 @@ public class VectorStoreConfig {
                 )).build();
     }
 
+    @Bean
+    public VectorLookup jobsVectorLookup(@Qualifier("jobsVectorStore") VectorStore jobsVectorStore,
+                                         SearchIndexClient searchIndexClient) {
+        if (jobsVectorStore instanceof VectorLookup localIndex) {
+            return localIndex;
+        }
+        return new AzureVectorLookup(searchIndexClient.getSearchClient(IndexName.JOBS_INDEX));
+    }
+
+    @Bean
+    public VectorLookup userSkillsVectorLookup(SearchIndexClient searchIndexClient) {
+        return new AzureVectorLookup(searchIndexClient.getSearchClient(IndexName.USER_SKILLS_INDEX));
+    }
+
 }
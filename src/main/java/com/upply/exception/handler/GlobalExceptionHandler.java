@@ -3,6 +3,7 @@ package com.upply.exception.handler;
 import com.upply.exception.custom.BusinessLogicException;
 import com.upply.exception.custom.OperationNotPermittedException;
 import com.upply.exception.custom.ResourceNotFoundException;
+import com.upply.exception.custom.ServiceBusyException;
 import jakarta.mail.MessagingException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
@@ -60,6 +61,14 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.FORBIDDEN, ex.getMessage(), request);
     }
 
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ExceptionResponse> handleServiceBusyException(
+            ServiceBusyException ex, HttpServletRequest request) {
+
+        log.warn("Service busy: {} | {} {}", ex.getMessage(), request.getMethod(), request.getRequestURI());
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request);
+    }
+
     // ── Validation Errors ───────────────────────────────────────────────
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
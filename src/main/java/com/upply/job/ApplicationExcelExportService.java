@@ -1,17 +1,16 @@
 package com.upply.job;
 
-import com.upply.application.Application;
+import com.upply.application.dto.ApplicationExportRow;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.common.usermodel.HyperlinkType;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.Iterator;
 
 @Service
 @Slf4j
@@ -19,6 +18,9 @@ public class ApplicationExcelExportService {
     @Value("${app.recruter-application-url}")
     public  String APPLICATION_URL;
 
+    @Value("${app.export.row-access-window}")
+    private int rowAccessWindow;
+
     private static final String[] HEADERS = {
             "Applicant Name",
             "Email",
@@ -32,13 +34,27 @@ public class ApplicationExcelExportService {
             "Applied At"
     };
 
+    // in characters; autoSizeColumn would need every row in memory
+    private static final int[] COLUMN_WIDTHS = {25, 30, 30, 60, 30, 60, 45, 14, 18, 20};
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    public byte[] generateExcel(List<Application> applications) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook();
-             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+    /**
+     * Streams the rows into an .xlsx written to {@code outputStream}. Only the last
+     * {@code app.export.row-access-window} rows are kept in memory; older rows are flushed
+     * to a compressed temp file that is deleted once the workbook is written.
+     *
+     * @return the number of application rows written
+     */
+    public int writeExcel(Iterator<ApplicationExportRow> rows, OutputStream outputStream) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowAccessWindow);
+        workbook.setCompressTempFiles(true);
+        try (workbook) {
 
             Sheet sheet = workbook.createSheet("Applications");
+            for (int i = 0; i < COLUMN_WIDTHS.length; i++) {
+                sheet.setColumnWidth(i, COLUMN_WIDTHS[i] * 256);
+            }
 
             CellStyle headerStyle = workbook.createCellStyle();
             Font headerFont = workbook.createFont();
@@ -60,48 +76,37 @@ public class ApplicationExcelExportService {
             linkFont.setColor(IndexedColors.BLUE.getIndex());
             linkStyle.setFont(linkFont);
 
-            CreationHelper creationHelper = workbook.getCreationHelper();
             int rowIndex = 1;
-            for (Application app : applications) {
+            while (rows.hasNext()) {
+                ApplicationExportRow app = rows.next();
                 Row row = sheet.createRow(rowIndex++);
 
-                row.createCell(0).setCellValue(app.getApplicant() != null ? app.getApplicant().getFullName() : "");
-                row.createCell(1).setCellValue(app.getApplicant() != null ? app.getApplicant().getEmail() : "");
-                row.createCell(2).setCellValue(app.getApplicant() != null && app.getApplicant().getUniversity() != null
-                        ? app.getApplicant().getUniversity() : "");
+                row.createCell(0).setCellValue(app.applicantName());
+                row.createCell(1).setCellValue(app.applicantEmail() != null ? app.applicantEmail() : "");
+                row.createCell(2).setCellValue(app.applicantUniversity() != null ? app.applicantUniversity() : "");
 
-                row.createCell(3).setCellValue(app.getSummary() != null ? app.getSummary() : "");
-                row.createCell(4).setCellValue(app.getJob() != null ? app.getJob().getTitle() : "");
-                row.createCell(5).setCellValue(app.getCoverLetter() != null ? app.getCoverLetter() : "");
+                row.createCell(3).setCellValue(app.summary() != null ? app.summary() : "");
+                row.createCell(4).setCellValue(app.jobTitle() != null ? app.jobTitle() : "");
+                row.createCell(5).setCellValue(app.coverLetter() != null ? app.coverLetter() : "");
 
-                String resumeUrl = APPLICATION_URL + app.getId() + "/resume/view";
+                // a HYPERLINK formula is flushed with its row; sheet hyperlinks are held until the end
+                String resumeUrl = APPLICATION_URL + app.id() + "/resume/view";
                 Cell linkCell = row.createCell(6);
-                linkCell.setCellValue(resumeUrl);
-                Hyperlink hyperlink = creationHelper.createHyperlink(HyperlinkType.URL);
-                hyperlink.setAddress(resumeUrl);
-                linkCell.setHyperlink(hyperlink);
+                linkCell.setCellFormula("HYPERLINK(\"" + resumeUrl + "\",\"" + resumeUrl + "\")");
                 linkCell.setCellStyle(linkStyle);
 
-                row.createCell(7).setCellValue(app.getStatus() != null ? app.getStatus().name() : "");
+                row.createCell(7).setCellValue(app.status() != null ? app.status().name() : "");
 
-                Cell ratioCell = row.createCell(8);
-                Double ratio = app.getMatchingRatio();
-                if(ratio==null) {
-                    ratioCell.setBlank();
-                }else{
-                    ratioCell.setCellValue(Math.round(ratio*100.0)/100.0);
-                }
+                row.createCell(8).setCellValue(Math.round(app.matchingRatio() * 100.0) / 100.0);
 
-                row.createCell(9).setCellValue(app.getApplyTime() != null
-                        ? app.getApplyTime().format(DATE_FORMATTER) : "");
-            }
-
-            for (int i = 0; i < HEADERS.length; i++) {
-                sheet.autoSizeColumn(i);
+                row.createCell(9).setCellValue(app.applyTime() != null
+                        ? app.applyTime().format(DATE_FORMATTER) : "");
             }
 
             workbook.write(outputStream);
-            return outputStream.toByteArray();
+            return rowIndex - 1;
+        } finally {
+            workbook.dispose();
         }
     }
 }
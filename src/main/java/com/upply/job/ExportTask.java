@@ -2,7 +2,6 @@ package com.upply.job;
 
 import lombok.Getter;
 import lombok.Setter;
-import org.springframework.beans.factory.annotation.Value;
 
 import java.time.Instant;
 
@@ -17,7 +16,8 @@ public class ExportTask {
     private final String taskId;
     private final Long jobId;
     private volatile Status status;
-    private volatile byte[] data;
+    private int chunkCount;
+    private long size;
     private String errorMessage;
     private final Instant createdAt;
     private final Instant expireAt;
@@ -29,4 +29,12 @@ public class ExportTask {
         this.createdAt = Instant.now();
         this.expireAt = Instant.now().plusSeconds(taskExportTime);
     }
+
+    ExportTask(String taskId, Long jobId, Status status, Instant createdAt, Instant expireAt) {
+        this.taskId = taskId;
+        this.jobId = jobId;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.expireAt = expireAt;
+    }
 }
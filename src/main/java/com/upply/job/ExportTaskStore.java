@@ -0,0 +1,199 @@
+package com.upply.job;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Redis layout for export tasks, shared by every instance:
+ * <ul>
+ *     <li>{@code export-task:{taskId}} - hash with the task state</li>
+ *     <li>{@code export-task:chunk:{taskId}:{n}} - the n-th chunk of the generated file</li>
+ * </ul>
+ * All keys expire at the task's {@code expireAt}, so finished exports need no cleanup.
+ */
+@Component
+public class ExportTaskStore {
+
+    private static final String TASK_KEY = "export-task:";
+    private static final String CHUNK_KEY = "export-task:chunk:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisTemplate<String, byte[]> chunkTemplate;
+    private final int chunkSize;
+
+    @Autowired
+    public ExportTaskStore(RedisConnectionFactory connectionFactory,
+                           @Value("${app.export.chunk-size}") DataSize chunkSize) {
+        this(new StringRedisTemplate(connectionFactory), chunkTemplate(connectionFactory), chunkSize);
+    }
+
+    ExportTaskStore(StringRedisTemplate redisTemplate, RedisTemplate<String, byte[]> chunkTemplate, DataSize chunkSize) {
+        this.redisTemplate = redisTemplate;
+        this.chunkTemplate = chunkTemplate;
+        this.chunkSize = Math.toIntExact(chunkSize.toBytes());
+    }
+
+    private static RedisTemplate<String, byte[]> chunkTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    public void save(ExportTask task) {
+        Duration ttl = timeToLive(task);
+        if (ttl == null) {
+            return;
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        fields.put("jobId", String.valueOf(task.getJobId()));
+        fields.put("status", task.getStatus().name());
+        fields.put("chunkCount", String.valueOf(task.getChunkCount()));
+        fields.put("size", String.valueOf(task.getSize()));
+        fields.put("createdAt", String.valueOf(task.getCreatedAt().toEpochMilli()));
+        fields.put("expireAt", String.valueOf(task.getExpireAt().toEpochMilli()));
+        if (task.getErrorMessage() != null) {
+            fields.put("errorMessage", task.getErrorMessage());
+        }
+
+        redisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public List<Object> execute(RedisOperations operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.multi();
+                ops.opsForHash().putAll(TASK_KEY + task.getTaskId(), fields);
+                ops.expire(TASK_KEY + task.getTaskId(), ttl);
+                return ops.exec();
+            }
+        });
+    }
+
+    public Optional<ExportTask> find(String taskId) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(TASK_KEY + taskId);
+        if (fields == null || fields.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ExportTask task = new ExportTask(
+                taskId,
+                Long.valueOf((String) fields.get("jobId")),
+                ExportTask.Status.valueOf((String) fields.get("status")),
+                Instant.ofEpochMilli(Long.parseLong((String) fields.get("createdAt"))),
+                Instant.ofEpochMilli(Long.parseLong((String) fields.get("expireAt"))));
+        task.setChunkCount(Integer.parseInt((String) fields.get("chunkCount")));
+        task.setSize(Long.parseLong((String) fields.get("size")));
+        task.setErrorMessage((String) fields.get("errorMessage"));
+        return Optional.of(task);
+    }
+
+    /**
+     * Copies the file into Redis one chunk at a time and records the chunk count and size
+     * on the task. The task itself is not saved.
+     */
+    public void storeFile(ExportTask task, Path file) throws IOException {
+        Duration ttl = timeToLive(task);
+        if (ttl == null) {
+            throw new IOException("Export task " + task.getTaskId() + " expired before its file was stored");
+        }
+
+        int chunks = 0;
+        long size = 0;
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            byte[] chunk;
+            while ((chunk = inputStream.readNBytes(chunkSize)).length > 0) {
+                chunkTemplate.opsForValue().set(chunkKey(task.getTaskId(), chunks), chunk, ttl);
+                chunks++;
+                size += chunk.length;
+            }
+        }
+        task.setChunkCount(chunks);
+        task.setSize(size);
+    }
+
+    /**
+     * Streams the stored file back, fetching one chunk at a time.
+     */
+    public InputStream openFile(ExportTask task) {
+        return new ChunkInputStream(task.getTaskId(), task.getChunkCount());
+    }
+
+    private static String chunkKey(String taskId, int index) {
+        return CHUNK_KEY + taskId + ":" + index;
+    }
+
+    private static Duration timeToLive(ExportTask task) {
+        Duration ttl = Duration.between(Instant.now(), task.getExpireAt());
+        return ttl.isNegative() || ttl.isZero() ? null : ttl;
+    }
+
+    private class ChunkInputStream extends InputStream {
+
+        private final String taskId;
+        private final int chunkCount;
+        private int nextChunk;
+        private byte[] current = new byte[0];
+        private int position;
+
+        private ChunkInputStream(String taskId, int chunkCount) {
+            this.taskId = taskId;
+            this.chunkCount = chunkCount;
+        }
+
+        private boolean fill() throws IOException {
+            while (position == current.length) {
+                if (nextChunk == chunkCount) {
+                    return false;
+                }
+                byte[] chunk = chunkTemplate.opsForValue().get(chunkKey(taskId, nextChunk));
+                if (chunk == null) {
+                    throw new IOException("Chunk " + nextChunk + " of export task " + taskId + " has expired");
+                }
+                nextChunk++;
+                current = chunk;
+                position = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return fill() ? current[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            Objects.checkFromIndexSize(offset, length, buffer.length);
+            if (length == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(length, current.length - position);
+            System.arraycopy(current, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+    }
+}
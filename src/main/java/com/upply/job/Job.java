@@ -20,7 +20,12 @@ import java.util.Set;
 @AllArgsConstructor
 @Entity
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "jobs")
+@Table(name = "jobs",
+        indexes = {
+                @Index(name = "idx_jobs_status_created_date", columnList = "status, created_date DESC, id DESC"),
+                @Index(name = "idx_jobs_org_status_created_date", columnList = "organization_id, status, created_date DESC, id DESC")
+        }
+)
 public class Job {
 
     @Id
@@ -2,6 +2,7 @@ package com.upply.job;
 
 import com.upply.application.dto.ApplicationResponse;
 import com.upply.application.enums.ApplicationStatus;
+import com.upply.common.CursorResponse;
 import com.upply.common.PageResponse;
 import com.upply.job.dto.*;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,6 +10,8 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
@@ -16,6 +19,8 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import java.util.List;
 
 @RestController
@@ -79,6 +84,28 @@ public class JobController {
         return ResponseEntity.ok(jobService.getAllOpenJobs(pageNumber, size, connectedUser));
     }
 
+    @GetMapping("/cursor")
+    @Operation(
+            summary = "List open jobs (cursor)",
+            description = "Retrieves open jobs newest first, one page at a time. Pass the returned nextCursor to get the following page. Intended for infinite scroll; no total count is computed."
+    )
+    public ResponseEntity<CursorResponse<JobListResponse>> getAllOpenJobsByCursor(
+            @Parameter(
+                    description = "Continuation token from the previous page's nextCursor; omit for the first page",
+                    required = false
+            )
+            @RequestParam(name = "cursor", required = false) @Size(max = 200, message = "Cursor is too long") String cursor,
+            @Parameter(
+                    description = "Page size",
+                    required = false,
+                    example = "10"
+            )
+            @RequestParam(name = "size", defaultValue = "10", required = false) @Min(value = 1, message = "Page size must be at least 1")
+            @Max(value = 50, message = "Page size must not exceed 50") int size
+    ) {
+        return ResponseEntity.ok(jobService.getAllOpenJobsByCursor(cursor, size));
+    }
+
     @GetMapping("/search")
     @Operation(
             summary = "Search jobs",
@@ -100,7 +127,7 @@ public class JobController {
             @Max(value = 50, message = "Page size must not exceed 50") int size,
             @Parameter(
                     description = "Filter criteria. Supported fields: " +
-                            "keyword (free-text search on title/description), " +
+                            "keyword (full-text search on title/description, ranked by relevance), " +
                             "type (e.g. FULL_TIME, PART_TIME, INTERNSHIP), " +
                             "seniority (e.g. JUNIOR, MID, SENIOR, LEAD), " +
                             "model (e.g. REMOTE, ONSITE, HYBRID), " +
@@ -110,15 +137,56 @@ public class JobController {
         return ResponseEntity.ok(jobService.searchJobs(pageNumber, size, filter));
     }
 
+    @GetMapping("/search/cursor")
+    @Operation(
+            summary = "Search jobs (cursor)",
+            description = "Searches open jobs with the same filters as /jobs/search, returning them newest first one page at a time. Pass the returned nextCursor to get the following page; no total count is computed."
+    )
+    public ResponseEntity<CursorResponse<JobListResponse>> searchJobsByCursor(
+            @Parameter(
+                    description = "Continuation token from the previous page's nextCursor; omit for the first page",
+                    required = false
+            )
+            @RequestParam(name = "cursor", required = false) @Size(max = 200, message = "Cursor is too long") String cursor,
+            @Parameter(
+                    description = "Page size",
+                    required = false,
+                    example = "10"
+            )
+            @RequestParam(name = "size", defaultValue = "10", required = false) @Min(value = 1, message = "Page size must be at least 1")
+            @Max(value = 50, message = "Page size must not exceed 50") int size,
+            @Parameter(description = "Filter criteria, as for /jobs/search")
+            @Valid @ModelAttribute JobFilter filter) {
+        return ResponseEntity.ok(jobService.searchJobsByCursor(cursor, size, filter));
+    }
+
     @GetMapping("/matched")
     @Operation(
             summary = "Get matched jobs for current user",
             description = "Returns jobs that match the user's profile using AI-powered similarity search. Jobs are ranked by match score."
     )
-    public ResponseEntity<List<MatchedJobListResponse>> getMatchedJobs(Authentication connectedUser) {
+    public ResponseEntity<MatchedJobsResponse> getMatchedJobs(Authentication connectedUser) {
         return ResponseEntity.ok(jobService.getMatchedJobs(connectedUser));
     }
 
+    @GetMapping("/match-scores")
+    @Operation(
+            summary = "Get match scores for jobs",
+            description = "Returns the current user's match score for each of the given jobs. Jobs that are not indexed for matching are omitted."
+    )
+    public ResponseEntity<List<JobMatchScoreResponse>> getMatchScores(
+            @Parameter(
+                    description = "IDs of the jobs to score",
+                    required = true,
+                    example = "1,2,3"
+            )
+            @RequestParam @NotEmpty(message = "At least one job id is required")
+            @Size(max = 100, message = "No more than 100 jobs can be scored at once") List<Long> jobIds,
+            Authentication connectedUser
+    ) {
+        return ResponseEntity.ok(jobService.getMatchScores(jobIds, connectedUser));
+    }
+
     @PatchMapping("/{id}")
     @Operation(
             summary = "Update job",
@@ -184,6 +252,34 @@ public class JobController {
         return ResponseEntity.ok(jobService.getJobApplications(id, pageNumber, size));
     }
 
+    @GetMapping("/{id}/applications/cursor")
+    @Operation(
+            summary = "List job applications (cursor)",
+            description = "Retrieves applications submitted to a specific job, most recently updated first, one page at a time. Pass the returned nextCursor to get the following page; no total count is computed."
+    )
+    public ResponseEntity<CursorResponse<ApplicationResponse>> getJobApplicationsByCursor(
+            @Parameter(
+                    description = "Continuation token from the previous page's nextCursor; omit for the first page",
+                    required = false
+            )
+            @RequestParam(name = "cursor", required = false) @Size(max = 200, message = "Cursor is too long") String cursor,
+            @Parameter(
+                    description = "Page size",
+                    required = false,
+                    example = "10"
+            )
+            @RequestParam(name = "size", defaultValue = "10", required = false) @Min(value = 1, message = "Page size must be at least 1")
+            @Max(value = 50, message = "Page size must not exceed 50") int size,
+            @Parameter(
+                    description = "The ID of the job",
+                    required = true,
+                    example = "1"
+            )
+            @PathVariable Long id
+    ) {
+        return ResponseEntity.ok(jobService.getJobApplicationsByCursor(id, cursor, size));
+    }
+
     @GetMapping("/{id}/applications/{status}")
     @Operation(
         summary = "List job applications by status (paginated)",
@@ -256,14 +352,15 @@ public class JobController {
             summary = "Download exported Excel file",
             description = "Downloads the completed Excel export file. Only available after the export task status is COMPLETED."
     )
-    public ResponseEntity<byte[]> downloadExportedFile(
+    public ResponseEntity<Resource> downloadExportedFile(
             @Parameter(description = "The ID of the job", required = true, example = "1")
             @PathVariable Long id,
             @Parameter(description = "The export task ID", required = true)
             @PathVariable String taskId,
             Authentication connectedUser
     ) {
-        byte[] data = jobService.getExportedFileData(id,taskId,connectedUser);
+        ExportTask task = jobService.getExportedFile(id, taskId, connectedUser);
+        Resource file = new InputStreamResource(jobService.openExportedFile(task));
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.parseMediaType(
@@ -273,10 +370,11 @@ public class JobController {
                         .filename("job_" + jobService.getJobTitle(id)+ "_applications.xlsx")
                         .build()
         );
+        headers.setContentLength(task.getSize());
 
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(data);
+                .body(file);
     }
 }
 
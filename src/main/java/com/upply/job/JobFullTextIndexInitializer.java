@@ -0,0 +1,45 @@
+package com.upply.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the FULLTEXT index used by keyword search. {@code ddl-auto} cannot express
+ * FULLTEXT indexes, so it is added here once the schema has been updated.
+ */
+@Slf4j
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+public class JobFullTextIndexInitializer {
+
+    static final String INDEX_NAME = "ft_jobs_title_description";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndex() {
+        Integer existing = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = 'jobs' AND index_name = ?
+                """, Integer.class, INDEX_NAME);
+        if (existing != null && existing > 0) {
+            log.info("Full-text index '{}' already exists, skipping creation", INDEX_NAME);
+            return;
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            jdbcTemplate.execute("ALTER TABLE jobs ADD FULLTEXT INDEX " + INDEX_NAME + " (title, description)");
+            log.info("Full-text index '{}' created in {} ms", INDEX_NAME, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Failed to create full-text index '{}'", INDEX_NAME, e);
+            throw new RuntimeException("Failed to initialize full-text index: " + INDEX_NAME, e);
+        }
+    }
+}
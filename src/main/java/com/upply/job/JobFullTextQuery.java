@@ -0,0 +1,85 @@
+package com.upply.job;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns a free-text keyword into a MySQL boolean-mode full-text query.
+ *
+ * <p>Terms are lowercased, lightly stemmed and prefix-matched ({@code engineering} becomes
+ * {@code +engineer*}), and all of them are required. Terms the InnoDB full-text parser
+ * would drop (shorter than {@code innodb_ft_min_token_size} or stopwords) cannot use the
+ * index; short terms such as {@code r}, {@code go} or {@code ai}, and terms with symbols the
+ * parser strips ({@code c#}, {@code c++}), are kept as {@link #shortTerms()} and matched with
+ * {@code LIKE} on the rows the index already narrowed down.
+ */
+public record JobFullTextQuery(String booleanQuery, List<String> shortTerms) {
+
+    // innodb_ft_min_token_size default
+    private static final int MIN_INDEXED_LENGTH = 3;
+    private static final int MAX_TERMS = 10;
+    // words, with the trailing symbols of names like c# or c++; other symbols are operators
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+[+#]*");
+
+    // InnoDB default stopword list (INFORMATION_SCHEMA.INNODB_FT_DEFAULT_STOPWORD)
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "about", "an", "are", "as", "at", "be", "by", "com", "de", "en", "for", "from",
+            "how", "i", "in", "is", "it", "la", "of", "on", "or", "that", "the", "this", "to",
+            "was", "what", "when", "where", "who", "will", "with", "und", "www");
+
+    public static JobFullTextQuery parse(String keyword) {
+        StringJoiner booleanQuery = new StringJoiner(" ");
+        List<String> shortTerms = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+
+        Matcher tokens = TOKEN.matcher(keyword.toLowerCase(Locale.ROOT));
+        while (tokens.find() && seen.size() < MAX_TERMS) {
+            String token = tokens.group();
+            if (STOPWORDS.contains(token) || !seen.add(token)) {
+                continue;
+            }
+            if (token.length() < MIN_INDEXED_LENGTH || !Character.isLetterOrDigit(token.charAt(token.length() - 1))) {
+                shortTerms.add(token);
+            } else {
+                booleanQuery.add("+" + stem(token) + "*");
+            }
+        }
+        return new JobFullTextQuery(booleanQuery.toString(), shortTerms);
+    }
+
+    public boolean hasIndexedTerms() {
+        return !booleanQuery.isEmpty();
+    }
+
+    /**
+     * {@code LIKE} patterns for a short term, any of which must match. A single character is
+     * only matched as a word of its own (followed by a space or punctuation), as most texts
+     * contain it inside some word.
+     */
+    public static List<String> likePatterns(String term) {
+        if (term.length() > 1) {
+            return List.of("%" + term + "%");
+        }
+        List<String> patterns = new ArrayList<>(List.of(term, "% " + term, term + " %", "% " + term + " %"));
+        for (String punctuation : List.of(",", ".", "/", ")")) {
+            patterns.add(term + punctuation + "%");
+            patterns.add("% " + term + punctuation + "%");
+        }
+        return patterns;
+    }
+
+    // strips common inflections; the trailing wildcard matches the other forms back
+    static String stem(String term) {
+        if (term.length() > 6 && term.endsWith("ing")) {
+            return term.substring(0, term.length() - 3);
+        }
+        if (term.length() > 4 && term.endsWith("ed")) {
+            return term.substring(0, term.length() - 2);
+        }
+        if (term.length() > 3 && term.endsWith("s") && !term.endsWith("ss")) {
+            return term.substring(0, term.length() - 1);
+        }
+        return term;
+    }
+}
@@ -0,0 +1,19 @@
+package com.upply.job;
+
+import com.upply.job.dto.JobListView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Specification queries that project straight to {@link JobListView}.
+ */
+public interface JobListViewRepository {
+
+    Page<JobListView> findListViews(Specification<Job> spec, Pageable pageable);
+
+    List<JobListView> findListViews(Specification<Job> spec, Sort sort, int limit);
+}
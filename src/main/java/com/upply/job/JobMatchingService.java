@@ -2,36 +2,53 @@ package com.upply.job;
 
 import com.upply.user.User;
 import com.upply.user.UserRepository;
+import com.upply.vector.VectorLookup;
+import com.upply.vector.VectorMath;
+import com.upply.vector.VectorStoreBatchWriter;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class JobMatchingService {
+    private static final double JOB_MATCH_THRESHOLD = 0.6;
+
     private final VectorStore jobsVectorStore;
     private final VectorStore userSkillsVectorStore;
+    private final VectorStoreBatchWriter jobsIndexWriter;
+    private final VectorLookup jobsVectorLookup;
+    private final VectorLookup userSkillsVectorLookup;
+    private final EmbeddingModel embeddingModel;
     private final JobRepository jobRepository;
     private final UserRepository userRepository;
 
     public JobMatchingService(
             @Qualifier("jobsVectorStore") VectorStore jobsVectorStore,
             @Qualifier("userSkillsVectorStore") VectorStore userSkillsVectorStore,
+            @Qualifier("jobsIndexWriter") VectorStoreBatchWriter jobsIndexWriter,
+            @Qualifier("jobsVectorLookup") VectorLookup jobsVectorLookup,
+            @Qualifier("userSkillsVectorLookup") VectorLookup userSkillsVectorLookup,
+            EmbeddingModel embeddingModel,
             JobRepository jobRepository,
             UserRepository userRepository
     ) {
         this.jobsVectorStore = jobsVectorStore;
         this.userSkillsVectorStore = userSkillsVectorStore;
+        this.jobsIndexWriter = jobsIndexWriter;
+        this.jobsVectorLookup = jobsVectorLookup;
+        this.userSkillsVectorLookup = userSkillsVectorLookup;
+        this.embeddingModel = embeddingModel;
         this.jobRepository = jobRepository;
         this.userRepository = userRepository;
     }
@@ -65,26 +82,26 @@ public class JobMatchingService {
         return profile.toString();
     }
 
+    public Document toJobDocument(Job job) {
+        return new Document(
+                String.valueOf(job.getId()),
+                buildJobContent(job),
+                Map.of(
+                        "jobId", String.valueOf(job.getId()),
+                        "title", job.getTitle(),
+                        "type", job.getType() != null ? job.getType().name() : "",
+                        "seniority", job.getSeniority() != null ? job.getSeniority().name() : "",
+                        "model", job.getModel() != null ? job.getModel().name() : "",
+                        "location", job.getLocation() != null ? job.getLocation() : "",
+                        "status", job.getStatus() != null ? job.getStatus().name() : ""
+                )
+        );
+    }
+
     public void storeJobEmbedding(Job job) {
 
         try {
-            String jobContent = buildJobContent(job);
-
-            Document document = new Document(
-                    String.valueOf(job.getId()),
-                    jobContent,
-                    Map.of(
-                            "jobId", String.valueOf(job.getId()),
-                            "title", job.getTitle(),
-                            "type", job.getType() != null ? job.getType().name() : "",
-                            "seniority", job.getSeniority() != null ? job.getSeniority().name() : "",
-                            "model", job.getModel() != null ? job.getModel().name() : "",
-                            "location", job.getLocation() != null ? job.getLocation() : "",
-                            "status", job.getStatus() != null ? job.getStatus().name() : ""
-                    )
-            );
-
-            jobsVectorStore.add(List.of(document));
+            jobsIndexWriter.add(toJobDocument(job)).join();
             log.info("Stored embedding for job ID: {}", job.getId());
         } catch (Exception e) {
             log.error("Error storing embedding for job ID: {}", job.getId(), e);
@@ -93,10 +110,23 @@ public class JobMatchingService {
 
     }
 
+    // Queues the embedding without waiting, so bursts of jobs share embedding calls and upserts
+    public CompletableFuture<Void> storeJobEmbeddingAsync(Job job) {
+        Long jobId = job.getId();
+        return jobsIndexWriter.add(toJobDocument(job))
+                .whenComplete((ok, e) -> {
+                    if (e != null) {
+                        log.error("Error storing embedding for job ID: {}", jobId, e);
+                    } else {
+                        log.info("Stored embedding for job ID: {}", jobId);
+                    }
+                });
+    }
+
     public void deleteJobEmbedding(Long jobId) {
 
         try {
-            jobsVectorStore.delete(List.of(String.valueOf(jobId)));
+            jobsIndexWriter.delete(String.valueOf(jobId)).join();
             log.info("Deleted embedding for job ID: {}", jobId);
         } catch (Exception e) {
             log.error("Error deleting embedding for job ID: {}", jobId, e);
@@ -122,7 +152,7 @@ public class JobMatchingService {
                     .query(userProfile) // The text to search for
                     .topK(topK) // Number of results
                     .filterExpression("status == 'OPEN'")
-                    .similarityThreshold(0.6) // Minimum similarity score (0.0 to 1.0)
+                    .similarityThreshold(JOB_MATCH_THRESHOLD) // Minimum similarity score (0.0 to 1.0)
                     .build();
 
             List<Document> similarDocuments = jobsVectorStore.similaritySearch(searchRequest);
@@ -168,27 +198,73 @@ public class JobMatchingService {
 
     public double calculateMatchScore(User user, Job job) {
         try {
-            String userProfile = buildUserProfile(user);
-
-            SearchRequest searchRequest = SearchRequest.builder()
-                    .query(userProfile)
-                    .topK(1)
-                    .filterExpression("jobId == '" + job.getId() + "'")
-                    .similarityThreshold(0.0)
-                    .build();
-
-            List<Document> results = jobsVectorStore.similaritySearch(searchRequest);
-            return results.stream()
-                    .mapToDouble(doc -> doc.getScore() == null ? 0.0 : (Math.round((doc.getScore() * 100.0)) / 100.0))
-                    .findFirst()
-                    .orElse(0.0);
-
+            return calculateMatchScores(user, List.of(job.getId())).getOrDefault(job.getId(), 0.0);
         } catch (Exception e) {
             log.error("Error calculating match score for user {} and job {}", user.getId(), job.getId(), e);
             return 0.0;
         }
     }
 
+    // Scores one user against many jobs from the stored vectors; jobs without a stored vector are left out
+    public Map<Long, Double> calculateMatchScores(User user, Collection<Long> jobIds) {
+        if (jobIds.isEmpty()) {
+            return Map.of();
+        }
+        String userId = String.valueOf(user.getId());
+        float[] userVector = userSkillsVectorLookup.findVectors(List.of(userId)).get(userId);
+        if (userVector == null) {
+            userVector = embeddingModel.embed(buildUserProfile(user));
+        }
+
+        return scoreAgainst(userVector, jobsVectorLookup.findVectors(jobIds.stream().map(String::valueOf).toList()));
+    }
+
+    // Scores one job against many users from the stored vectors; users without a stored vector are left out
+    public Map<Long, Double> calculateMatchScores(Job job, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        String jobId = String.valueOf(job.getId());
+        float[] jobVector = jobsVectorLookup.findVectors(List.of(jobId)).get(jobId);
+        if (jobVector == null) {
+            jobVector = embeddingModel.embed(buildJobContent(job));
+        }
+
+        return scoreAgainst(jobVector, userSkillsVectorLookup.findVectors(userIds.stream().map(String::valueOf).toList()));
+    }
+
+    private Map<Long, Double> scoreAgainst(float[] query, Map<String, float[]> candidates) {
+        List<String> ids = new ArrayList<>(candidates.keySet());
+        float[][] vectors = ids.stream().map(candidates::get).toArray(float[][]::new);
+        float[] cosines = VectorMath.cosines(query, VectorMath.norm(query), vectors);
+
+        // same scale as the vector store scores (Azure AI Search cosine: 1 / (2 - cos))
+        Map<Long, Double> scores = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            double score = 1.0 / (2.0 - cosines[i]);
+            scores.put(Long.valueOf(ids.get(i)), Math.round(score * 100.0) / 100.0);
+        }
+        return scores;
+    }
+
+    // Users for whom this job clears the same threshold findSimilarJobs applies, keyed by user id
+    public Map<Long, Double> findMatchingUserScores(Job job, int topK) {
+        String jobContent = buildJobContent(job);
+
+        SearchRequest searchRequest = SearchRequest.builder()
+                .query(jobContent)
+                .topK(topK)
+                .similarityThreshold(JOB_MATCH_THRESHOLD)
+                .build();
+
+        return userSkillsVectorStore.similaritySearch(searchRequest).stream()
+                .collect(Collectors.toMap(
+                        doc -> Long.valueOf(doc.getId()),
+                        doc -> doc.getScore() == null ? 0.0 : doc.getScore(),
+                        (a, b) -> a
+                ));
+    }
+
     public List<User> findMatchingUsers(Job job, int topK) {
         try {
             String jobContent = buildJobContent(job);
@@ -1,5 +1,6 @@
 package com.upply.job;
 
+import com.upply.ai.ChatProviderRouter;
 import com.upply.common.NormalizeSkillName;
 import com.upply.exception.custom.BusinessLogicException;
 import com.upply.job.dto.ParsedJobResponse;
@@ -9,7 +10,6 @@ import com.upply.job.enums.JobType;
 import com.upply.profile.skill.Skill;
 import com.upply.profile.skill.SkillRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
@@ -21,40 +21,28 @@ import java.util.Set;
 @Slf4j
 public class JobParserService {
 
-    private final ChatClient geminiChatClient;
-    private final ChatClient groqChatClient;
+    private final ChatProviderRouter router;
     private final SkillRepository skillRepository;
 
     public JobParserService(
-            @Qualifier("jobImportGeminiChatClient") ChatClient geminiChatClient,
-            @Qualifier("jobImportGroqChatClient")   ChatClient groqChatClient,
+            @Qualifier("jobImportRouter") ChatProviderRouter router,
             SkillRepository skillRepository) {
-        this.geminiChatClient = geminiChatClient;
-        this.groqChatClient   = groqChatClient;
-        this.skillRepository  = skillRepository;
+        this.router          = router;
+        this.skillRepository = skillRepository;
     }
 
     public ParsedJobResponse parse(String rawText) {
         String prompt = buildPrompt(rawText);
         try {
-            log.debug("Attempting job parse with Gemini");
-            return geminiChatClient.prompt()
+            return router.call(client -> client.prompt()
                     .user(prompt)
                     .call()
-                    .entity(ParsedJobResponse.class);
-        } catch (Exception geminiEx) {
-            log.warn("Gemini job parse failed, falling back to Groq: {}", geminiEx.getMessage());
-            try {
-                return groqChatClient.prompt()
-                        .user(prompt)
-                        .call()
-                        .entity(ParsedJobResponse.class);
-            } catch (Exception groqEx) {
-                log.error("Groq job parse also failed: {}", groqEx.getMessage());
-                throw new BusinessLogicException(
-                        "Failed to parse job description — both AI providers unavailable: "
-                        + groqEx.getMessage());
-            }
+                    .entity(ParsedJobResponse.class));
+        } catch (Exception e) {
+            log.error("Job parse failed on every AI provider: {}", e.getMessage());
+            throw new BusinessLogicException(
+                    "Failed to parse job description — both AI providers unavailable: "
+                    + e.getMessage());
         }
     }
 
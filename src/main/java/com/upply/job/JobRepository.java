@@ -1,21 +1,45 @@
 package com.upply.job;
 
+import com.upply.job.dto.JobListView;
 import com.upply.job.enums.JobStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
 @Repository
-public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job> {
+public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job>, JobListViewRepository {
 
-    Page<Job> findByStatus(JobStatus status, Pageable pageable);
+    @Query(value = """
+        SELECT new com.upply.job.dto.JobListView(j.id, j.title, j.organizationName, j.type, j.seniority, j.model, j.status, j.source, j.location, j.createdDate)
+        FROM Job j
+        WHERE j.status = :status
+    """, countQuery = "SELECT COUNT(j) FROM Job j WHERE j.status = :status")
+    Page<JobListView> findByStatus(@Param("status") JobStatus status, Pageable pageable);
+
+    @Query("""
+        SELECT new com.upply.job.dto.JobListView(j.id, j.title, j.organizationName, j.type, j.seniority, j.model, j.status, j.source, j.location, j.createdDate)
+        FROM Job j
+        WHERE j.status = :status
+          AND (:createdBefore IS NULL OR j.createdDate < :createdBefore
+               OR (j.createdDate = :createdBefore AND j.id < :idBefore))
+        ORDER BY j.createdDate DESC, j.id DESC
+    """)
+    List<JobListView> findByStatusBefore(@Param("status") JobStatus status,
+                                 @Param("createdBefore") Instant createdBefore,
+                                 @Param("idBefore") Long idBefore,
+                                 Pageable pageable);
+
+    Slice<Job> findByStatusIn(Collection<JobStatus> statuses, Pageable pageable);
 
     @Query("""
         SELECT js.name
@@ -2,9 +2,12 @@ package com.upply.job;
 
 import com.upply.application.Application;
 import com.upply.application.ApplicationRepository;
+import com.upply.application.dto.ApplicationExportRow;
 import com.upply.application.dto.ApplicationMapper;
 import com.upply.application.dto.ApplicationResponse;
 import com.upply.application.enums.ApplicationStatus;
+import com.upply.common.Cursor;
+import com.upply.common.CursorResponse;
 import com.upply.common.NotificationEventType;
 import com.upply.common.PageResponse;
 import com.upply.config.KafkaConfig;
@@ -32,16 +35,22 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
-
-import java.time.Instant;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 import static com.upply.config.KafkaConfig.NOTIFICATION_EVENTS;
 
@@ -56,13 +65,14 @@ public class JobService {
     private final SkillRepository skillRepository;
     private final ApplicationRepository applicationRepository;
     private final JobMatchingService jobMatchingService;
+    private final MatchedJobsService matchedJobsService;
     private final ApplicationExcelExportService applicationExcelExportService;
     private final ExportTaskMapper exportTaskMapper;
     private final KafkaTemplate<String, NotificationEvent> notificationKafkaTemplate;
     private final JobParserService jobParserService;
-    //TODO: use key-value database like redis!!
-    private final Map<String, ExportTask> exportTasks = new ConcurrentHashMap<>();
+    private final ExportTaskStore exportTaskStore;
     private final KafkaTemplate<String, PostJobEvent> postJobEventKafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
     @Value("${app.export.task-expire-seconds}")
     private int TASK_EXPIRE_TIME;
 
@@ -150,7 +160,7 @@ public class JobService {
 
         Pageable pageable = PageRequest.of(pageNumber, size, Sort.by("createdDate").descending());
 
-        Page<Job> jobs = jobRepository.findByStatus(JobStatus.OPEN, pageable);
+        Page<JobListView> jobs = jobRepository.findByStatus(JobStatus.OPEN, pageable);
 
         List<JobListResponse> jobResponses = jobs.stream()
                 .map(jobMapper::toJobListResponse)
@@ -166,12 +176,29 @@ public class JobService {
                 jobs.isLast());
     }
 
+    public CursorResponse<JobListResponse> getAllOpenJobsByCursor(String cursor, int size) {
+
+        Cursor position = Cursor.decode(cursor);
+
+        List<JobListView> jobs = jobRepository.findByStatusBefore(
+                JobStatus.OPEN,
+                position == null ? null : position.timestamp(),
+                position == null ? null : position.id(),
+                PageRequest.ofSize(size + 1));
+
+        return CursorResponse.of(jobs, size, JobService::cursorOf, jobMapper::toJobListResponse);
+    }
+
     public PageResponse<JobListResponse> searchJobs(int pageNumber, int size, JobFilter filter) {
 
-        Pageable pageable = PageRequest.of(pageNumber, size, Sort.by("createdDate").descending());
+        // keyword searches are ordered by relevance inside the specification
+        boolean keywordSearch = filter.getKeyword() != null && !filter.getKeyword().isBlank();
+        Pageable pageable = keywordSearch
+                ? PageRequest.of(pageNumber, size)
+                : PageRequest.of(pageNumber, size, Sort.by("createdDate").descending());
         Specification<Job> spec = JobSpecification.withFilters(filter);
 
-        Page<Job> jobs = jobRepository.findAll(spec, pageable);
+        Page<JobListView> jobs = jobRepository.findListViews(spec, pageable);
 
         List<JobListResponse> jobResponses = jobs.stream()
                 .map(jobMapper::toJobListResponse)
@@ -187,17 +214,53 @@ public class JobService {
                 jobs.isLast());
     }
 
-    public List<MatchedJobListResponse> getMatchedJobs(Authentication connectedUser) {
+    // cursor pages are always newest first; relevance ranking needs offset pages
+    public CursorResponse<JobListResponse> searchJobsByCursor(String cursor, int size, JobFilter filter) {
+
+        Specification<Job> spec = JobSpecification.withFilters(filter)
+                .and(JobSpecification.createdBefore(Cursor.decode(cursor)));
+
+        List<JobListView> jobs = jobRepository.findListViews(spec,
+                Sort.by(Sort.Order.desc("createdDate"), Sort.Order.desc("id")),
+                size + 1);
+
+        return CursorResponse.of(jobs, size, JobService::cursorOf, jobMapper::toJobListResponse);
+    }
+
+    private static Cursor cursorOf(JobListView job) {
+        return new Cursor(job.createdDate(), job.id());
+    }
+
+    public MatchedJobsResponse getMatchedJobs(Authentication connectedUser) {
 
         User user = (User) connectedUser.getPrincipal();
 
-        List<JobMatchingService.JobWithScore> matchedJobsWithScores = jobMatchingService.findSimilarJobs(user, 50);
+        MatchedJobsService.MatchedJobs matchedJobs = matchedJobsService.getMatchedJobs(user);
 
-        return matchedJobsWithScores.stream()
+        List<MatchedJobListResponse> jobs = matchedJobs.jobs().stream()
                 .map(jobWithScore -> jobMapper.toMatchedJobListResponse(
                         jobWithScore.getJob(),
                         jobWithScore.getScore()))
                 .toList();
+
+        return new MatchedJobsResponse(jobs, matchedJobs.computedAt());
+    }
+
+    public List<JobMatchScoreResponse> getMatchScores(List<Long> jobIds, Authentication connectedUser) {
+
+        User user = (User) connectedUser.getPrincipal();
+
+        Map<Long, Double> scores = jobMatchingService.calculateMatchScores(user, new LinkedHashSet<>(jobIds));
+
+        return jobIds.stream()
+                .distinct()
+                .filter(scores::containsKey)
+                .map(jobId -> JobMatchScoreResponse.builder()
+                        .jobId(jobId)
+                        .matchScore(scores.get(jobId))
+                        .matchPercentage((int) Math.round(scores.get(jobId) * 100))
+                        .build())
+                .toList();
     }
 
     @Transactional
@@ -249,6 +312,7 @@ public class JobService {
 
         // Update job embedding
         jobMatchingService.storeJobEmbedding(savedJob);
+        matchedJobsService.onJobUpdatedAsync(savedJob.getId());
 
         return jobMapper.toJobResponse(savedJob);
     }
@@ -276,6 +340,7 @@ public class JobService {
 
         // Delete embedding from vector store
         jobMatchingService.deleteJobEmbedding(savedJob.getId());
+        matchedJobsService.onJobRemovedAsync(savedJob.getId());
 
         return jobMapper.toJobResponse(savedJob);
     }
@@ -307,6 +372,7 @@ public class JobService {
 
         // Update embedding with PAUSED status (for filtering)
         jobMatchingService.storeJobEmbedding(savedJob);
+        matchedJobsService.onJobRemovedAsync(savedJob.getId());
 
         return jobMapper.toJobResponse(savedJob);
     }
@@ -338,6 +404,7 @@ public class JobService {
 
         // Update embedding with OPEN status (for filtering)
         jobMatchingService.storeJobEmbedding(savedJob);
+        matchedJobsService.onJobOpenedAsync(savedJob.getId());
 
         NotificationEvent notificationEvent = new NotificationEvent(
                 UUID.randomUUID().toString(),
@@ -392,6 +459,21 @@ public class JobService {
                 applications.isLast());
     }
 
+    public CursorResponse<ApplicationResponse> getJobApplicationsByCursor(Long jobId, String cursor, int size) {
+
+        Cursor position = Cursor.decode(cursor);
+
+        List<Application> applications = applicationRepository.getJobApplicationsBefore(
+                jobId,
+                position == null ? null : position.localTimestamp(),
+                position == null ? null : position.id(),
+                PageRequest.ofSize(size + 1));
+
+        return CursorResponse.of(applications, size,
+                application -> Cursor.of(application.getLastUpdate(), application.getId()),
+                applicationMapper::toApplicationResponse);
+    }
+
     public PageResponse<ApplicationResponse> getJobApplicationsByStatus(
             Long jobId, ApplicationStatus status, int pageNumber, int size) {
         Pageable pageable = (Pageable) PageRequest.of(pageNumber, size, Sort.by("lastUpdate").descending());
@@ -422,42 +504,62 @@ public class JobService {
             throw new OperationNotPermittedException("You are not permitted to pause this job");
         }
 
-        List<Application> applications =
-                applicationRepository.findAllByJobIdForRecruiter(jobId)
-                        .stream()
-                        .sorted(Comparator.comparing(
-                                Application::getMatchingRatio,
-                                Comparator.nullsLast(Double::compareTo)
-                        ).reversed())
-                        .toList();
-
-
         String taskId = UUID.randomUUID().toString();
         ExportTask task = new ExportTask(taskId, jobId, TASK_EXPIRE_TIME);
-        exportTasks.put(taskId, task);
+        exportTaskStore.save(task);
 
-        Thread.ofVirtual().name("export-job-" + jobId).start(() -> processExport(task, applications));
+        Thread.ofVirtual().name("export-job-" + jobId).start(() -> processExport(task));
 
         return exportTaskMapper.toExportTaskResponse(task);
     }
 
-    private void processExport(ExportTask task, List<Application> applications) {
+    // rows are streamed from the database into a temp file, which is then copied to the shared task store in chunks
+    private void processExport(ExportTask task) {
+        Path file = null;
         try {
-            byte[] data = applicationExcelExportService.generateExcel(applications);
-            task.setData(data);
+            file = Files.createTempFile("applications-export-" + task.getJobId() + "-", ".xlsx");
+            Path target = file;
+            int rows = transactionTemplate.execute(status -> {
+                try (Stream<ApplicationExportRow> exportRows = applicationRepository.streamExportRows(task.getJobId());
+                     OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(target))) {
+                    return applicationExcelExportService.writeExcel(exportRows.iterator(), outputStream);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            exportTaskStore.storeFile(task, file);
             task.setStatus(ExportTask.Status.COMPLETED);
+            exportTaskStore.save(task);
+            log.info("Exported {} applications for job {} in {} chunks", rows, task.getJobId(), task.getChunkCount());
         } catch (Exception e) {
+            log.error("Export task {} for job {} failed", task.getTaskId(), task.getJobId(), e);
             task.setStatus(ExportTask.Status.FAILED);
             task.setErrorMessage(e.getMessage());
+            try {
+                exportTaskStore.save(task);
+            } catch (Exception saveError) {
+                log.error("Could not record the failure of export task {}, it stays PROCESSING until it expires",
+                        task.getTaskId(), saveError);
+            }
+        } finally {
+            deleteExportFile(file);
         }
     }
 
-    public ExportTask getExportTask(String taskId) {
-        ExportTask task = exportTasks.get(taskId);
-        if (task == null) {
-            throw new ResourceNotFoundException("Export task with ID " + taskId + " not found");
+    private void deleteExportFile(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete export file {}", file, e);
         }
-        return task;
+    }
+
+    public ExportTask getExportTask(String taskId) {
+        return exportTaskStore.find(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Export task with ID " + taskId + " not found"));
     }
 
     public ExportTaskResponse getExportTaskStatus(Long jobId, String taskId, Authentication connectedUser) {
@@ -484,7 +586,7 @@ public class JobService {
         return job.getTitle();
     }
 
-    public byte[] getExportedFileData(Long jobId, String taskId, Authentication connectedUser) {
+    public ExportTask getExportedFile(Long jobId, String taskId, Authentication connectedUser) {
         Job job = jobRepository.findById(jobId)
                 .orElseThrow(() -> new ResourceNotFoundException("Job with ID " + jobId + " not found"));
         User user = ((User) connectedUser.getPrincipal());
@@ -498,13 +600,10 @@ public class JobService {
             throw new BusinessLogicException("Export task is not completed yet");
         }
 
-        return task.getData();
+        return task;
     }
 
-    @Scheduled(fixedDelayString = "${app.export.cleanup-interval-ms}")
-    public void cleanExpiredTasks() {
-        exportTasks.entrySet().removeIf(
-                entry -> entry.getValue().getExpireAt().isBefore(Instant.now())
-        );
+    public InputStream openExportedFile(ExportTask task) {
+        return exportTaskStore.openFile(task);
     }
 }
@@ -1,14 +1,23 @@
 package com.upply.job;
 
+import com.upply.common.Cursor;
 import com.upply.job.dto.JobFilter;
 import com.upply.job.enums.JobModel;
 import com.upply.job.enums.JobSeniority;
 import com.upply.job.enums.JobStatus;
 import com.upply.job.enums.JobType;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class JobSpecification {
 
+    // registered by FullTextFunctionContributor
+    public static final String MATCH_AGAINST = "match_against";
+
     public static Specification<Job> withFilters(JobFilter filter) {
         return hasStatus(JobStatus.OPEN)
                 .and(hasKeyword(filter.getKeyword()))
@@ -23,6 +32,10 @@ public class JobSpecification {
                 status == null ? null : cb.equal(root.get("status"), status);
     }
 
+    /**
+     * Full-text match on title and description, ranked by relevance (newest first on ties)
+     * unless the caller's pageable carries its own sort.
+     */
     public static Specification<Job> hasKeyword(String keyword) {
         return (root, query, cb) -> {
 
@@ -30,15 +43,46 @@ public class JobSpecification {
                 return null;
             }
 
-            String pattern = "%" + keyword.toLowerCase() + "%";
+            JobFullTextQuery fullTextQuery = JobFullTextQuery.parse(keyword);
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (fullTextQuery.hasIndexedTerms()) {
+                Expression<Double> relevance = cb.function(MATCH_AGAINST, Double.class,
+                        root.get("title"), root.get("description"), cb.literal(fullTextQuery.booleanQuery()));
+                predicates.add(cb.greaterThan(relevance, 0.0));
+                if (!Long.class.equals(query.getResultType())) {
+                    query.orderBy(cb.desc(relevance), cb.desc(root.get("createdDate")));
+                }
+            } else if (!Long.class.equals(query.getResultType())) {
+                query.orderBy(cb.desc(root.get("createdDate")));
+            }
+
+            for (String term : fullTextQuery.shortTerms()) {
+                List<Predicate> matches = new ArrayList<>();
+                for (String pattern : JobFullTextQuery.likePatterns(term)) {
+                    matches.add(cb.like(cb.lower(root.get("title")), pattern));
+                    matches.add(cb.like(cb.lower(root.get("description")), pattern));
+                }
+                predicates.add(cb.or(matches.toArray(Predicate[]::new)));
+            }
 
-            return cb.or(
-                    cb.like(cb.lower(root.get("title")), pattern),
-                    cb.like(cb.lower(root.get("description")), pattern)
-            );
+            return predicates.isEmpty() ? null : cb.and(predicates.toArray(Predicate[]::new));
         };
     }
 
+    /**
+     * Keyset condition for cursor pages ordered by {@code createdDate DESC, id DESC}.
+     */
+    public static Specification<Job> createdBefore(Cursor cursor) {
+        return (root, query, cb) -> cursor == null ? null : cb.or(
+                cb.lessThan(root.get("createdDate"), cursor.timestamp()),
+                cb.and(
+                        cb.equal(root.get("createdDate"), cursor.timestamp()),
+                        cb.lessThan(root.get("id"), cursor.id())
+                )
+        );
+    }
+
     public static Specification<Job> hasLocation(String location) {
         return (root, query, cb) ->
                 location == null || location.isBlank() ? null : cb.like(cb.lower(root.get("location")), "%" + location.toLowerCase() + "%");
@@ -0,0 +1,51 @@
+package com.upply.job;
+
+import com.upply.job.enums.JobStatus;
+import com.upply.vector.hnsw.HnswVectorStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Rebuilds the in-process jobs index from the jobs table on startup. Closed jobs are
+ * never indexed; paused ones are, so resuming a job only flips its status metadata.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.vector.jobs-local-index.enabled", havingValue = "true")
+public class JobsIndexLoader {
+
+    private static final int PAGE_SIZE = 200;
+
+    private final JobRepository jobRepository;
+    private final JobMatchingService jobMatchingService;
+    private final HnswVectorStore localJobsVectorStore;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        PageRequest pageRequest = PageRequest.of(0, PAGE_SIZE, Sort.by("id"));
+        Slice<Job> slice;
+        do {
+            slice = jobRepository.findByStatusIn(List.of(JobStatus.OPEN, JobStatus.PAUSED), pageRequest);
+            List<Document> documents = slice.getContent().stream()
+                    .map(jobMatchingService::toJobDocument)
+                    .toList();
+            localJobsVectorStore.load(documents);
+            pageRequest = pageRequest.next();
+        } while (slice.hasNext());
+
+        log.info("Rebuilt local jobs index with {} jobs in {} ms",
+                localJobsVectorStore.size(), System.currentTimeMillis() - start);
+    }
+}
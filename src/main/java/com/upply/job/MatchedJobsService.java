@@ -0,0 +1,192 @@
+package com.upply.job;
+
+import com.upply.job.enums.JobStatus;
+import com.upply.user.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serves matched jobs from a per-user materialized result instead of running an
+ * embedding and ANN search on every request. A user's result is dropped when their
+ * skills change and recomputed on the next read; job lifecycle changes patch the
+ * affected users in place.
+ *
+ * <p>The {@code on*Async} methods run patches on a single worker, in commit order, after the
+ * caller's transaction commits. The job is reloaded there, so a patch acts on its latest
+ * status. Once {@code patch-queue-capacity} patches are waiting, new ones are dropped and the
+ * affected results catch up when they expire.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MatchedJobsService {
+
+    private final MatchedJobsStore matchedJobsStore;
+    private final JobMatchingService jobMatchingService;
+    private final JobRepository jobRepository;
+
+    @Value("${app.matched-jobs.patch-candidates}")
+    private int patchCandidates;
+
+    @Value("${app.matched-jobs.patch-queue-capacity}")
+    private int patchQueueCapacity;
+
+    private ThreadPoolExecutor patchExecutor;
+
+    public record MatchedJobs(List<JobMatchingService.JobWithScore> jobs, Instant computedAt) {
+    }
+
+    public MatchedJobs getMatchedJobs(User user) {
+        Optional<MatchedJobsStore.Snapshot> snapshot = Optional.empty();
+        try {
+            snapshot = matchedJobsStore.find(user.getId());
+        } catch (Exception e) {
+            log.warn("Failed to read matched jobs for user {}, recomputing", user.getId(), e);
+        }
+
+        if (snapshot.isPresent()) {
+            return fromSnapshot(snapshot.get());
+        }
+        return recompute(user);
+    }
+
+    private MatchedJobs fromSnapshot(MatchedJobsStore.Snapshot snapshot) {
+        Map<Long, Job> jobMap = jobRepository.findAllById(snapshot.scores().keySet())
+                .stream()
+                .collect(Collectors.toMap(Job::getId, Function.identity()));
+
+        // the set is patched on status changes, this only guards against a missed patch
+        List<JobMatchingService.JobWithScore> jobs = snapshot.scores().entrySet().stream()
+                .map(entry -> {
+                    Job job = jobMap.get(entry.getKey());
+                    return job != null && job.getStatus() == JobStatus.OPEN
+                            ? new JobMatchingService.JobWithScore(job, entry.getValue())
+                            : null;
+                })
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new MatchedJobs(jobs, snapshot.computedAt());
+    }
+
+    private MatchedJobs recompute(User user) {
+        Instant computedAt = Instant.now();
+        List<JobMatchingService.JobWithScore> jobs = jobMatchingService.findSimilarJobs(user, matchedJobsStore.size());
+
+        Map<Long, Double> scores = new LinkedHashMap<>();
+        jobs.forEach(jobWithScore -> scores.put(jobWithScore.getJob().getId(), jobWithScore.getScore()));
+        try {
+            matchedJobsStore.save(user.getId(), scores, computedAt);
+        } catch (Exception e) {
+            log.warn("Failed to store matched jobs for user {}", user.getId(), e);
+        }
+        return new MatchedJobs(jobs, computedAt);
+    }
+
+    @PostConstruct
+    void startPatcher() {
+        patchExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(patchQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "matched-jobs-patch");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stopPatcher() throws InterruptedException {
+        patchExecutor.shutdown();
+        if (!patchExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Dropped {} pending matched jobs patches on shutdown", patchExecutor.shutdownNow().size());
+        }
+    }
+
+    public void onJobOpenedAsync(Long jobId) {
+        submit("open", jobId, () -> jobRepository.findById(jobId)
+                .filter(job -> job.getStatus() == JobStatus.OPEN)
+                .ifPresent(this::onJobOpened));
+    }
+
+    public void onJobUpdatedAsync(Long jobId) {
+        submit("update", jobId, () -> jobRepository.findById(jobId)
+                .ifPresentOrElse(this::onJobUpdated, () -> onJobRemoved(jobId)));
+    }
+
+    public void onJobRemovedAsync(Long jobId) {
+        submit("remove", jobId, () -> onJobRemoved(jobId));
+    }
+
+    private void submit(String change, Long jobId, Runnable patch) {
+        Runnable enqueue = () -> {
+            try {
+                patchExecutor.execute(() -> {
+                    try {
+                        patch.run();
+                    } catch (Exception e) {
+                        log.error("Failed to patch matched jobs for {} of job {}", change, jobId, e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                log.warn("Matched jobs patch queue is full, dropping {} of job {}", change, jobId);
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue.run();
+                }
+            });
+        } else {
+            enqueue.run();
+        }
+    }
+
+    public void onUserSkillsChanged(Long userId) {
+        try {
+            matchedJobsStore.invalidate(userId);
+        } catch (Exception e) {
+            log.error("Failed to invalidate matched jobs for user {}", userId, e);
+        }
+    }
+
+    public void onJobOpened(Job job) {
+        try {
+            Map<Long, Double> userScores = jobMatchingService.findMatchingUserScores(job, patchCandidates);
+            matchedJobsStore.addJob(job.getId(), userScores);
+            log.debug("Patched matched jobs of {} candidate users with job {}", userScores.size(), job.getId());
+        } catch (Exception e) {
+            log.error("Failed to add job {} to matched jobs", job.getId(), e);
+        }
+    }
+
+    public void onJobRemoved(Long jobId) {
+        try {
+            matchedJobsStore.removeJob(jobId);
+        } catch (Exception e) {
+            log.error("Failed to remove job {} from matched jobs", jobId, e);
+        }
+    }
+
+    public void onJobUpdated(Job job) {
+        onJobRemoved(job.getId());
+        if (job.getStatus() == JobStatus.OPEN) {
+            onJobOpened(job);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.upply.job;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Redis layout for materialized matched jobs:
+ * <ul>
+ *     <li>{@code matched-jobs:user:{userId}} - sorted set of jobId by match score</li>
+ *     <li>{@code matched-jobs:computed-at:{userId}} - when the set was last computed in full</li>
+ *     <li>{@code matched-jobs:job:{jobId}} - users whose set contains the job, for removals</li>
+ * </ul>
+ * All keys expire after the configured max staleness, which forces a full recompute.
+ */
+@Component
+public class MatchedJobsStore {
+
+    private static final String USER_KEY = "matched-jobs:user:";
+    private static final String COMPUTED_AT_KEY = "matched-jobs:computed-at:";
+    private static final String JOB_KEY = "matched-jobs:job:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final int size;
+    private final Duration maxStaleness;
+
+    public MatchedJobsStore(RedisConnectionFactory connectionFactory,
+                            @Value("${app.matched-jobs.size}") int size,
+                            @Value("${app.matched-jobs.max-staleness}") Duration maxStaleness) {
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.size = size;
+        this.maxStaleness = maxStaleness;
+    }
+
+    public record Snapshot(LinkedHashMap<Long, Double> scores, Instant computedAt) {
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Optional<Snapshot> find(Long userId) {
+        String computedAt = redisTemplate.opsForValue().get(COMPUTED_AT_KEY + userId);
+        if (computedAt == null) {
+            return Optional.empty();
+        }
+
+        Set<ZSetOperations.TypedTuple<String>> tuples =
+                redisTemplate.opsForZSet().reverseRangeWithScores(USER_KEY + userId, 0, size - 1);
+
+        LinkedHashMap<Long, Double> scores = new LinkedHashMap<>();
+        if (tuples != null) {
+            for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+                scores.put(Long.valueOf(tuple.getValue()), tuple.getScore());
+            }
+        }
+        return Optional.of(new Snapshot(scores, Instant.ofEpochMilli(Long.parseLong(computedAt))));
+    }
+
+    public void save(Long userId, Map<Long, Double> scores, Instant computedAt) {
+        redisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public List<Object> execute(RedisOperations operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.multi();
+                ops.delete(USER_KEY + userId);
+                scores.forEach((jobId, score) -> {
+                    ops.opsForZSet().add(USER_KEY + userId, String.valueOf(jobId), score);
+                    ops.opsForSet().add(JOB_KEY + jobId, String.valueOf(userId));
+                    ops.expire(JOB_KEY + jobId, maxStaleness);
+                });
+                ops.expire(USER_KEY + userId, maxStaleness);
+                ops.opsForValue().set(COMPUTED_AT_KEY + userId, String.valueOf(computedAt.toEpochMilli()), maxStaleness);
+                return ops.exec();
+            }
+        });
+    }
+
+    public void invalidate(Long userId) {
+        redisTemplate.delete(List.of(USER_KEY + userId, COMPUTED_AT_KEY + userId));
+    }
+
+    /**
+     * Inserts the job into the materialized sets of the given users, keeping each set at
+     * most {@code size} entries. Users without a materialized set are skipped; they will
+     * pick the job up on their next full recompute.
+     */
+    public void addJob(Long jobId, Map<Long, Double> userScores) {
+        for (Map.Entry<Long, Double> entry : userScores.entrySet()) {
+            Long userId = entry.getKey();
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(COMPUTED_AT_KEY + userId))) {
+                continue;
+            }
+            redisTemplate.opsForZSet().add(USER_KEY + userId, String.valueOf(jobId), entry.getValue());
+            redisTemplate.opsForZSet().removeRange(USER_KEY + userId, 0, -(size + 1));
+            redisTemplate.opsForSet().add(JOB_KEY + jobId, String.valueOf(userId));
+        }
+        redisTemplate.expire(JOB_KEY + jobId, maxStaleness);
+    }
+
+    public void removeJob(Long jobId) {
+        Set<String> userIds = redisTemplate.opsForSet().members(JOB_KEY + jobId);
+        if (userIds != null) {
+            for (String userId : userIds) {
+                redisTemplate.opsForZSet().remove(USER_KEY + userId, String.valueOf(jobId));
+            }
+        }
+        redisTemplate.delete(JOB_KEY + jobId);
+    }
+}
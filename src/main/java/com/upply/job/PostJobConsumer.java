@@ -34,6 +34,7 @@ public class PostJobConsumer {
     private final JobService jobService;
     private final JobParserService jobParserService;
     private final JobMatchingService jobMatchingService;
+    private final MatchedJobsService matchedJobsService;
     private final UserRepository userRepository;
     private final JobRepository jobRepository;
     private final KafkaTemplate<String, NotificationEvent> notificationKafkaTemplate;
@@ -94,14 +95,9 @@ public class PostJobConsumer {
         Job savedJob = jobRepository.save(job);
         log.info("Saved job with id: {} for userId: {}", savedJob.getId(), event.getUserId());
 
-        try {
-            jobMatchingService.storeJobEmbedding(savedJob);
-            log.info("Successfully stored embedding for jobId: {}", savedJob.getId());
-            notifyMatchingUsers(savedJob);
-        } catch (Exception e) {
-            log.error("Failed to store embedding for jobId: {}, error: {}", savedJob.getId(), e.getMessage());
-            throw new BusinessLogicException("Failed to store embedding, job not saved: " + e.getMessage());
-        }
+        jobMatchingService.storeJobEmbeddingAsync(savedJob);
+        matchedJobsService.onJobOpenedAsync(savedJob.getId());
+        notifyMatchingUsers(savedJob);
     }
 
     @Value("${app.job-url}")
@@ -114,8 +110,8 @@ public class PostJobConsumer {
         log.debug("Retrieved job: id={}, postedByUserId={}", 
                 job.getId(), job.getPostedBy().getId());
 
-        jobMatchingService.storeJobEmbedding(job);
-        log.info("Successfully stored embedding for jobId: {}", job.getId());
+        jobMatchingService.storeJobEmbeddingAsync(job);
+        matchedJobsService.onJobOpenedAsync(job.getId());
 
         notifyJobPostedSuccessfully(job);
         notifyMatchingUsers(job);
@@ -0,0 +1,23 @@
+package com.upply.job.dto;
+
+import com.upply.job.enums.*;
+
+import java.time.Instant;
+
+/**
+ * Columns needed for job list responses, selected directly so list pages neither load
+ * the description nor the eager {@code postedBy}/{@code organization} associations.
+ */
+public record JobListView(
+        Long id,
+        String title,
+        String organizationName,
+        JobType type,
+        JobSeniority seniority,
+        JobModel model,
+        JobStatus status,
+        JobSource source,
+        String location,
+        Instant createdDate
+) {
+}
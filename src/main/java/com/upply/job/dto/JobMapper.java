@@ -81,6 +81,24 @@ public class JobMapper {
                 .build();
     }
 
+    public JobListResponse toJobListResponse(JobListView job) {
+
+        return JobListResponse.builder()
+                .id(job.id())
+                .title(job.title())
+                .organizationName(job.organizationName())
+
+                .type(job.type() != null ? job.type().toApiValue() : null)
+                .seniority(job.seniority() != null ? job.seniority().toApiValue() : null)
+                .model(job.model() != null ? job.model().toApiValue() : null)
+                .status(job.status() != null ? job.status().toApiValue() : null)
+                .jobSource(job.source() != null ? job.source().toApiValue() : null)
+
+                .location(job.location())
+                .createdDate(job.createdDate())
+                .build();
+    }
+
     public MatchedJobListResponse toMatchedJobListResponse(Job job, Double matchScore) {
 
         return MatchedJobListResponse.builder()
@@ -0,0 +1,15 @@
+package com.upply.job.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobMatchScoreResponse {
+
+    private Long jobId;
+    private Double matchScore;
+    private Integer matchPercentage;
+}
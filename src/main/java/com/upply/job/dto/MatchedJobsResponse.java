@@ -0,0 +1,19 @@
+package com.upply.job.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchedJobsResponse {
+
+    private List<MatchedJobListResponse> jobs;
+
+    // when the matches were last computed in full; status changes are applied since
+    private Instant computedAt;
+}
@@ -1,5 +1,6 @@
 package com.upply.organization;
 
+import com.upply.common.CursorResponse;
 import com.upply.common.PageResponse;
 import com.upply.job.dto.JobListResponse;
 import com.upply.job.enums.JobStatus;
@@ -14,6 +15,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -71,6 +73,24 @@ public class OrganizationController {
         return ResponseEntity.ok(organizationService.getOrganizationOpenJobs(id, pageNumber, size));
     }
 
+    @GetMapping("/{id}/jobs/cursor")
+    @Operation(
+            summary = "List open jobs for an organization (cursor)",
+            description = "Retrieves open jobs of the specified organization newest first, one page at a time. Pass the returned nextCursor to get the following page; no total count is computed."
+    )
+    public ResponseEntity<CursorResponse<JobListResponse>> getOrganizationOpenJobsByCursor(
+            @Parameter(description = "The ID of the organization", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Continuation token from the previous page's nextCursor; omit for the first page", required = false)
+            @RequestParam(name = "cursor", required = false)
+            @Size(max = 200, message = "Cursor is too long") String cursor,
+            @Parameter(description = "Page size", required = false, example = "10")
+            @RequestParam(name = "size", defaultValue = "10", required = false)
+            @Min(value = 1, message = "Page size must be at least 1")
+            @Max(value = 50, message = "Page size must not exceed 50") int size) {
+        return ResponseEntity.ok(organizationService.getOrganizationOpenJobsByCursor(id, cursor, size));
+    }
+
     @GetMapping("/{id}/jobs/{status}")
     @Operation(
             summary = "List jobs for an organization by status (paginated)",
@@ -1,6 +1,6 @@
 package com.upply.organization;
 
-import com.upply.job.Job;
+import com.upply.job.dto.JobListView;
 import com.upply.job.enums.JobStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,8 +18,26 @@ public interface OrganizationRepository extends JpaRepository<Organization, Long
 
     Optional<Organization> findByDomain(String domain);
 
-    @Query("SELECT j FROM Job j WHERE j.organization.id = :orgId AND j.status = :status")
-    Page<Job> findJobsByOrganizationIdAndStatus(@Param("orgId") Long orgId, @Param("status") JobStatus status, Pageable pageable);
+    @Query(value = """
+        SELECT new com.upply.job.dto.JobListView(j.id, j.title, j.organizationName, j.type, j.seniority, j.model, j.status, j.source, j.location, j.createdDate)
+        FROM Job j
+        WHERE j.organization.id = :orgId AND j.status = :status
+    """, countQuery = "SELECT COUNT(j) FROM Job j WHERE j.organization.id = :orgId AND j.status = :status")
+    Page<JobListView> findJobsByOrganizationIdAndStatus(@Param("orgId") Long orgId, @Param("status") JobStatus status, Pageable pageable);
+
+    @Query("""
+        SELECT new com.upply.job.dto.JobListView(j.id, j.title, j.organizationName, j.type, j.seniority, j.model, j.status, j.source, j.location, j.createdDate)
+        FROM Job j
+        WHERE j.organization.id = :orgId AND j.status = :status
+          AND (:createdBefore IS NULL OR j.createdDate < :createdBefore
+               OR (j.createdDate = :createdBefore AND j.id < :idBefore))
+        ORDER BY j.createdDate DESC, j.id DESC
+    """)
+    List<JobListView> findJobsByOrganizationIdAndStatusBefore(@Param("orgId") Long orgId,
+                                                     @Param("status") JobStatus status,
+                                                     @Param("createdBefore") Instant createdBefore,
+                                                     @Param("idBefore") Long idBefore,
+                                                     Pageable pageable);
 
     @Query("SELECT COUNT(r) > 0 FROM Organization o JOIN o.recruiters r WHERE o.id = :orgId AND r.id = :userId")
     boolean existsRecruiterInOrganization(@Param("orgId") Long orgId, @Param("userId") Long userId);
@@ -1,5 +1,7 @@
 package com.upply.organization;
 
+import com.upply.common.Cursor;
+import com.upply.common.CursorResponse;
 import com.upply.common.EmailDomainValidator;
 import com.upply.common.PageResponse;
 import com.upply.email.EmailService;
@@ -7,6 +9,7 @@ import com.upply.email.EmailTemplate;
 import com.upply.exception.custom.BusinessLogicException;
 import com.upply.exception.custom.OperationNotPermittedException;
 import com.upply.exception.custom.ResourceNotFoundException;
+import com.upply.job.dto.JobListView;
 import com.upply.job.dto.JobListResponse;
 import com.upply.job.dto.JobMapper;
 import com.upply.job.enums.JobStatus;
@@ -111,6 +114,26 @@ public class OrganizationService {
                 jobs.isLast());
     }
 
+    public CursorResponse<JobListResponse> getOrganizationOpenJobsByCursor(Long orgId, String cursor, int size) {
+
+        if (!organizationRepository.existsById(orgId)) {
+            throw new ResourceNotFoundException("Organization with ID " + orgId + " not found");
+        }
+
+        Cursor position = Cursor.decode(cursor);
+
+        List<JobListView> jobs = organizationRepository.findJobsByOrganizationIdAndStatusBefore(
+                orgId,
+                JobStatus.OPEN,
+                position == null ? null : position.timestamp(),
+                position == null ? null : position.id(),
+                PageRequest.ofSize(size + 1));
+
+        return CursorResponse.of(jobs, size,
+                job -> new Cursor(job.createdDate(), job.id()),
+                jobMapper::toJobListResponse);
+    }
+
     public PageResponse<JobListResponse> getOrganizationJobsByStatus(Long orgId, JobStatus status, int pageNumber, int size) {
 
         if (!organizationRepository.existsById(orgId)) {
@@ -4,18 +4,39 @@ import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.blob.options.BlobInputStreamOptions;
+import com.azure.storage.blob.options.BlobParallelUploadOptions;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.UUID;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class AzureStorageService {
 
+    private final BlobDiskCache blobDiskCache;
+
+    @Value("${app.storage.cache.enabled}")
+    private boolean cacheEnabled;
+
+    // largest chunk of a file held in memory while it is streamed to or from the store
+    @Value("${app.storage.transfer-block-size}")
+    private DataSize transferBlockSize;
+
     @Value("${azure.storage.connection-String}")
     private String connectionString;
 
@@ -42,17 +63,23 @@ public class AzureStorageService {
     }
 
     /**
-     * Upload file to azure blob storage
+     * Upload file to azure blob storage, streamed in blocks of {@code transfer-block-size}
      * @param userId User id used as dir name
-     * @param fileData File content as an array of bytes
+     * @param data File content, read to the end but not closed
+     * @param length File size in bytes
      * @return blob name of an uploaded file
      */
-    public String uploadFile(Long userId, byte[] fileData){
+    public String uploadFile(Long userId, InputStream data, long length){
         try{
             String blobName = fileBlobName(userId);
 
             BlobClient blobClient = containerClient.getBlobClient(blobName);
-            blobClient.upload(BinaryData.fromBytes(fileData),true);
+            long blockSize = transferBlockSize.toBytes();
+            blobClient.uploadWithResponse(new BlobParallelUploadOptions(BinaryData.fromStream(data, length))
+                    .setParallelTransferOptions(new ParallelTransferOptions()
+                            .setBlockSizeLong(blockSize)
+                            .setMaxSingleUploadSizeLong(blockSize)
+                            .setMaxConcurrency(1)), null, null);
             log.info("File Uploaded: {}", blobName);
             return blobName;
         }catch (Exception e) {
@@ -62,12 +89,15 @@ public class AzureStorageService {
     }
 
     /**
-     * Download file to azure blob storage
+     * Download file from azure blob storage, served from the local disk cache when a current copy is there
      * @param blobName file UUID name
      * @return File data as bytes
      */
     public byte[] downloadFile(String blobName){
         try {
+            if (cacheEnabled) {
+                return blobDiskCache.read(blobName, blobSource);
+            }
             BlobClient blobClient = containerClient.getBlobClient(blobName);
             if(!blobClient.exists()){
                 log.error("file doesn't exit: {}" + blobName);
@@ -81,6 +111,117 @@ public class AzureStorageService {
         }
     }
 
+    /**
+     * Open file for streaming: the cached copy when there is one, else a stream from azure blob storage.
+     * Both know their length, so they can be served with HTTP Range requests.
+     * The cached copy is opened right away and kept until the current web request completes, so eviction
+     * cannot delete it while the response is written; outside a web request the blob is streamed from azure.
+     * @param blobName file UUID name
+     * @return File as a resource that opens a new stream on each read
+     */
+    public Resource openFile(String blobName){
+        try {
+            RequestAttributes request = RequestContextHolder.getRequestAttributes();
+            if (cacheEnabled && request != null) {
+                BlobDiskCache.CachedFile cached = blobDiskCache.open(blobName, blobSource);
+                if (cached != null) {
+                    request.registerDestructionCallback("cachedBlob-" + UUID.randomUUID(), cached::close,
+                            RequestAttributes.SCOPE_REQUEST);
+                    return new CachedFileResource(cached, blobName);
+                }
+            }
+            BlobClient blobClient = containerClient.getBlobClient(blobName);
+            return new BlobResource(blobClient, blobClient.getProperties(), Math.toIntExact(transferBlockSize.toBytes()));
+        } catch (Exception e) {
+            log.error("Error opening file for blobName: {}", blobName);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Drop the local cached copy of a file
+     * @param blobName file UUID name
+     */
+    public void evictCachedFile(String blobName) {
+        blobDiskCache.evict(blobName);
+    }
+
+    private final BlobDiskCache.Source blobSource = new BlobDiskCache.Source() {
+        @Override
+        public String etag(String blobName) {
+            return containerClient.getBlobClient(blobName).getProperties().getETag();
+        }
+
+        @Override
+        public String download(String blobName, Path target) {
+            return containerClient.getBlobClient(blobName).downloadToFile(target.toString(), true).getETag();
+        }
+    };
+
+    private static class CachedFileResource extends AbstractResource {
+
+        private final BlobDiskCache.CachedFile file;
+        private final String blobName;
+
+        CachedFileResource(BlobDiskCache.CachedFile file, String blobName) {
+            this.file = file;
+            this.blobName = blobName;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return file.newInputStream();
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public long contentLength() {
+            return file.size();
+        }
+
+        @Override
+        public String getDescription() {
+            return "Cached blob [" + blobName + "]";
+        }
+    }
+
+    private static class BlobResource extends AbstractResource {
+
+        private final BlobClient blobClient;
+        private final BlobProperties properties;
+        private final int blockSize;
+
+        BlobResource(BlobClient blobClient, BlobProperties properties, int blockSize) {
+            this.blobClient = blobClient;
+            this.properties = properties;
+            this.blockSize = blockSize;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return blobClient.openInputStream(new BlobInputStreamOptions().setBlockSize(blockSize));
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public long contentLength() {
+            return properties.getBlobSize();
+        }
+
+        @Override
+        public String getDescription() {
+            return "Blob [" + blobClient.getBlobName() + "]";
+        }
+    }
+
     private String fileBlobName(Long userId){
         String fileUUID = UUID.randomUUID().toString();
         String userIdString = String.valueOf(userId);
@@ -0,0 +1,467 @@
+package com.upply.profile.resume;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through LRU cache of blobs on local disk, bounded by {@code max-size} bytes. Entries
+ * younger than {@code revalidate-after} are served without touching the store; older ones are
+ * checked against the blob's current ETag and downloaded again only when it changed. Files are
+ * read through a memory map, or opened with {@link #open} to be streamed.
+ *
+ * <p>Entries are pinned while they are read: a file evicted, replaced or invalidated meanwhile
+ * stays on disk until its last reader is done, and is deleted then.
+ *
+ * <p>The cache is per instance and starts empty: leftover files from a previous run are
+ * removed on startup.
+ */
+@Slf4j
+@Component
+public class BlobDiskCache {
+
+    /**
+     * Where cache misses are read from.
+     */
+    public interface Source {
+        /**
+         * @return the current ETag of the blob
+         */
+        String etag(String blobName);
+
+        /**
+         * Downloads the blob into {@code target}, replacing it.
+         *
+         * @return the ETag of the downloaded content
+         */
+        String download(String blobName, Path target);
+    }
+
+    private static final class Entry {
+        private final Path file;
+        private final long size;
+        private final String etag;
+        private volatile long validatedAt;
+        // guarded by the cache
+        private int readers;
+        private boolean detached;
+
+        private Entry(Path file, long size, String etag, int readers) {
+            this.file = file;
+            this.size = size;
+            this.etag = etag;
+            this.validatedAt = System.nanoTime();
+            this.readers = readers;
+        }
+    }
+
+    /**
+     * A cached blob opened for reading. Its file is kept on disk until this is closed, even if
+     * the entry is evicted meanwhile.
+     */
+    public final class CachedFile implements AutoCloseable {
+
+        private final Entry entry;
+        private final FileChannel channel;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private CachedFile(Entry entry, FileChannel channel) {
+            this.entry = entry;
+            this.channel = channel;
+            retain(entry);
+        }
+
+        public long size() {
+            return entry.size;
+        }
+
+        /**
+         * @return a stream over the whole file; each stream has its own position, and closing it
+         * leaves the file open for the next one
+         */
+        public InputStream newInputStream() {
+            return new InputStream() {
+                private long position;
+
+                @Override
+                public int read() throws IOException {
+                    byte[] one = new byte[1];
+                    return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int read = channel.read(ByteBuffer.wrap(buffer, offset, length), position);
+                    if (read > 0) {
+                        position += read;
+                    }
+                    return read;
+                }
+
+                @Override
+                public long skip(long n) {
+                    long skipped = Math.clamp(n, 0, entry.size - position);
+                    position += skipped;
+                    return skipped;
+                }
+
+                @Override
+                public int available() {
+                    return (int) Math.min(Integer.MAX_VALUE, entry.size - position);
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    log.debug("Failed to close cached blob file {}", entry.file, e);
+                }
+                release(entry);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface FileReader<T> {
+        /**
+         * @param entry the pinned entry of the file, or null for a blob too large to cache,
+         *              whose file is deleted once read
+         */
+        T read(Path file, long size, Entry entry) throws IOException;
+    }
+
+    private final Path directory;
+    private final long maxBytes;
+    private final long revalidateAfterNanos;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private final Map<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final Counter hits;
+    private final Counter revalidatedHits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Autowired
+    public BlobDiskCache(@Value("${app.storage.cache.dir}") String directory,
+                         @Value("${app.storage.cache.max-size}") DataSize maxSize,
+                         @Value("${app.storage.cache.revalidate-after}") Duration revalidateAfter,
+                         MeterRegistry meterRegistry) {
+        this(Path.of(directory), maxSize, revalidateAfter, meterRegistry);
+    }
+
+    BlobDiskCache(Path directory, DataSize maxSize, Duration revalidateAfter, MeterRegistry meterRegistry) {
+        this.directory = directory;
+        this.maxBytes = maxSize.toBytes();
+        this.revalidateAfterNanos = revalidateAfter.toNanos();
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(
+                Files.createDirectories(directory), "{*.blob,download-*.tmp}")) {
+            for (Path leftover : leftovers) {
+                Files.deleteIfExists(leftover);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to prepare blob cache directory " + directory, e);
+        }
+
+        this.hits = meterRegistry.counter("blob.cache.requests", "result", "hit");
+        this.revalidatedHits = meterRegistry.counter("blob.cache.requests", "result", "revalidated");
+        this.misses = meterRegistry.counter("blob.cache.requests", "result", "miss");
+        this.evictions = meterRegistry.counter("blob.cache.evictions");
+        meterRegistry.gauge("blob.cache.size.bytes", this, cache -> cache.sizeInBytes());
+        meterRegistry.gauge("blob.cache.hit.ratio", this, BlobDiskCache::hitRatio);
+    }
+
+    /**
+     * @return the blob content, from disk when a current copy is cached
+     */
+    public byte[] read(String blobName, Source source) {
+        return get(blobName, source, (file, size, entry) -> readMapped(file, size));
+    }
+
+    /**
+     * @return the cached blob opened for reading, or null when the blob is larger than the whole
+     * cache. It must be closed to let its file be deleted once evicted.
+     */
+    public CachedFile open(String blobName, Source source) {
+        return get(blobName, source, (file, size, entry) -> entry == null
+                ? null
+                : new CachedFile(entry, FileChannel.open(file, StandardOpenOption.READ)));
+    }
+
+    private <T> T get(String blobName, Source source, FileReader<T> reader) {
+        Entry entry = lookup(blobName);
+        if (entry != null) {
+            boolean hit = false;
+            T result = null;
+            // released on every path, a failed ETag check included, or the file is never deleted
+            try {
+                boolean revalidated = false;
+                boolean changed = false;
+                if (System.nanoTime() - entry.validatedAt >= revalidateAfterNanos) {
+                    if (Objects.equals(source.etag(blobName), entry.etag)) {
+                        entry.validatedAt = System.nanoTime();
+                        revalidated = true;
+                    } else {
+                        remove(blobName, entry);
+                        changed = true;
+                    }
+                }
+                if (!changed) {
+                    result = reader.read(entry.file, entry.size, entry);
+                    (revalidated ? revalidatedHits : hits).increment();
+                    hitCount.incrementAndGet();
+                    hit = true;
+                }
+            } catch (IOException e) {
+                // the file went missing under the cache
+                remove(blobName, entry);
+            } finally {
+                release(entry);
+            }
+            if (hit) {
+                return result;
+            }
+        }
+
+        misses.increment();
+        missCount.incrementAndGet();
+        return load(blobName, source, reader);
+    }
+
+    /**
+     * Drops the cached copy of the blob, if any.
+     */
+    public void evict(String blobName) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(blobName);
+        }
+        if (entry != null) {
+            remove(blobName, entry);
+        }
+    }
+
+    private <T> T load(String blobName, Source source, FileReader<T> reader) {
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        CompletableFuture<Entry> leader = inFlight.putIfAbsent(blobName, future);
+        if (leader != null) {
+            Entry entry = await(leader);
+            if (entry != null && pin(entry)) {
+                try {
+                    return reader.read(entry.file, entry.size, entry);
+                } catch (IOException e) {
+                    log.debug("Blob {} could not be read from the cache, downloading it again", blobName);
+                } finally {
+                    release(entry);
+                }
+            }
+            return download(blobName, source, reader);
+        }
+
+        Path download = null;
+        Entry entry = null;
+        try {
+            download = Files.createTempFile(directory, "download-", ".tmp");
+            String etag = source.download(blobName, download);
+            long size = Files.size(download);
+            if (size > maxBytes) {
+                future.complete(null);
+                return reader.read(download, size, null);
+            }
+
+            Path file = directory.resolve(fileName(blobName));
+            Files.move(download, file, StandardCopyOption.ATOMIC_MOVE);
+            download = null;
+            // pinned for this read before anyone can evict it
+            entry = new Entry(file, size, etag, 1);
+            put(blobName, entry);
+            future.complete(entry);
+            return reader.read(file, size, entry);
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+            throw new UncheckedIOException("Failed to cache blob " + blobName, e);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(blobName, future);
+            deleteQuietly(download);
+            if (entry != null) {
+                release(entry);
+            }
+        }
+    }
+
+    private <T> T download(String blobName, Source source, FileReader<T> reader) {
+        Path download = null;
+        try {
+            download = Files.createTempFile(directory, "download-", ".tmp");
+            source.download(blobName, download);
+            return reader.read(download, Files.size(download), null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to download blob " + blobName, e);
+        } finally {
+            deleteQuietly(download);
+        }
+    }
+
+    private static Entry await(CompletableFuture<Entry> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new UncheckedIOException((IOException) e.getCause());
+        }
+    }
+
+    /**
+     * @return the entry of the blob, pinned until {@link #release}
+     */
+    private synchronized Entry lookup(String blobName) {
+        Entry entry = entries.get(blobName);
+        if (entry != null) {
+            entry.readers++;
+        }
+        return entry;
+    }
+
+    private synchronized boolean pin(Entry entry) {
+        if (entry.detached) {
+            return false;
+        }
+        entry.readers++;
+        return true;
+    }
+
+    // for an entry already pinned by the caller
+    private synchronized void retain(Entry entry) {
+        entry.readers++;
+    }
+
+    private void release(Entry entry) {
+        boolean delete;
+        synchronized (this) {
+            entry.readers--;
+            delete = entry.detached && entry.readers == 0;
+        }
+        if (delete) {
+            deleteQuietly(entry.file);
+        }
+    }
+
+    // called with the lock held, for an entry just taken out of the map
+    private boolean detach(Entry entry) {
+        entry.detached = true;
+        totalBytes -= entry.size;
+        return entry.readers == 0;
+    }
+
+    private void put(String blobName, Entry entry) {
+        List<Entry> unread = new ArrayList<>();
+        synchronized (this) {
+            Entry previous = entries.put(blobName, entry);
+            if (previous != null && detach(previous)) {
+                unread.add(previous);
+            }
+            totalBytes += entry.size;
+
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Entry candidate = eldest.next().getValue();
+                if (candidate == entry) {
+                    continue;
+                }
+                eldest.remove();
+                if (detach(candidate)) {
+                    unread.add(candidate);
+                }
+                evictions.increment();
+            }
+        }
+        unread.forEach(old -> deleteQuietly(old.file));
+    }
+
+    private void remove(String blobName, Entry entry) {
+        synchronized (this) {
+            if (!entries.remove(blobName, entry) || !detach(entry)) {
+                return;
+            }
+        }
+        deleteQuietly(entry.file);
+    }
+
+    private static byte[] readMapped(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            byte[] data = new byte[Math.toIntExact(size)];
+            buffer.get(data);
+            return data;
+        }
+    }
+
+    // blob names contain '/', and a changed blob gets a new file so readers of the old one are unaffected
+    private static String fileName(String blobName) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(blobName.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest) + "-" + UUID.randomUUID() + ".blob";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete cached blob file {}", file, e);
+        }
+    }
+
+    synchronized long sizeInBytes() {
+        return totalBytes;
+    }
+
+    private double hitRatio() {
+        long hit = hitCount.get();
+        long total = hit + missCount.get();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+}
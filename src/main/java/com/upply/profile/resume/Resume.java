@@ -30,6 +30,8 @@ public class Resume {
     private Long id;
     private String blobName;
     private String fileName;
+    @Column(length = 64)
+    private String contentHash;
     @CreatedDate
     private Instant createdAt;
     Boolean isDeleted = false;
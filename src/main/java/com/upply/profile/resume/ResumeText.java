@@ -0,0 +1,39 @@
+package com.upply.profile.resume;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+
+/**
+ * Plain text extracted from an uploaded resume file, keyed by the SHA-256 of the file so
+ * the same file uploaded twice is only parsed once. Also holds the structured parse of
+ * that text as JSON, tagged with the schema version it was produced under.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "resume_texts")
+public class ResumeText {
+
+    @Id
+    @Column(length = 64)
+    private String contentHash;
+
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String text;
+
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String parsedResume;
+
+    private Integer parsedResumeVersion;
+
+    @CreatedDate
+    private Instant createdAt;
+}
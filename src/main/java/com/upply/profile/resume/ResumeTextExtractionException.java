@@ -0,0 +1,11 @@
+package com.upply.profile.resume;
+
+/**
+ * Text extraction of a resume failed for a reason that may not happen again (I/O error,
+ * timeout, interrupt), as opposed to a document without extractable text.
+ */
+public class ResumeTextExtractionException extends RuntimeException {
+    public ResumeTextExtractionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,230 @@
+package com.upply.profile.resume;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.io.RandomAccessStreamCache.StreamCacheCreateFunction;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Extracts the text of a PDF with bounded memory and CPU:
+ * <ul>
+ *     <li>the file is spooled to a scratch file and PDFBox buffers at most
+ *     {@code max-main-memory} before spilling to temp files</li>
+ *     <li>only the first {@code max-pages} pages are read and the text is cut at {@code max-chars}</li>
+ *     <li>text is stripped on a fixed pool of platform threads with a bounded queue; when it is
+ *     full the caller strips the pages itself. Documents longer than {@code pages-per-task}
+ *     are split into page ranges stripped in parallel, each from its own {@link PDDocument}
+ *     since a document is not thread-safe</li>
+ * </ul>
+ * Encrypted files and files PDFBox cannot parse have no text; any other failure throws a
+ * {@link ResumeTextExtractionException}, so callers can tell it from an empty document and
+ * try again later.
+ */
+@Slf4j
+@Component
+public class ResumeTextExtractor implements AutoCloseable {
+
+    private final int maxPages;
+    private final int maxChars;
+    private final int pagesPerTask;
+    private final long maxMainMemoryBytes;
+    private final Duration timeout;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer successTimer;
+    private final Timer emptyTimer;
+    private final Timer unreadableTimer;
+    private final Timer failureTimer;
+    private final DistributionSummary pagesSummary;
+
+    @Autowired
+    public ResumeTextExtractor(@Value("${app.resume.extraction.max-pages}") int maxPages,
+                               @Value("${app.resume.extraction.max-chars}") int maxChars,
+                               @Value("${app.resume.extraction.pages-per-task}") int pagesPerTask,
+                               @Value("${app.resume.extraction.threads}") int threads,
+                               @Value("${app.resume.extraction.queue-capacity}") int queueCapacity,
+                               @Value("${app.resume.extraction.max-main-memory}") DataSize maxMainMemory,
+                               @Value("${app.resume.extraction.timeout}") Duration timeout,
+                               MeterRegistry meterRegistry) {
+        this.maxPages = maxPages;
+        this.maxChars = maxChars;
+        this.pagesPerTask = pagesPerTask;
+        this.maxMainMemoryBytes = maxMainMemory.toBytes();
+        this.timeout = timeout;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "resume-text-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        this.successTimer = meterRegistry.timer("resume.text.extraction", "outcome", "success");
+        this.emptyTimer = meterRegistry.timer("resume.text.extraction", "outcome", "empty");
+        this.unreadableTimer = meterRegistry.timer("resume.text.extraction", "outcome", "unreadable");
+        this.failureTimer = meterRegistry.timer("resume.text.extraction", "outcome", "failure");
+        this.pagesSummary = meterRegistry.summary("resume.text.extraction.pages");
+        meterRegistry.gauge("resume.text.extraction.queue", executor, pool -> pool.getQueue().size());
+    }
+
+    /**
+     * @return the stripped text of the PDF, or an empty string when it is encrypted or unreadable
+     * @throws ResumeTextExtractionException when extraction failed on I/O, timed out or was interrupted
+     */
+    public String extract(byte[] pdfFile) {
+        long start = System.nanoTime();
+        Path scratch = null;
+        try {
+            scratch = Files.createTempFile("resume-", ".pdf");
+            Files.write(scratch, pdfFile);
+            return record(start, extract(scratch, start));
+        } catch (Exception e) {
+            throw failed(start, e);
+        } finally {
+            deleteQuietly(scratch);
+        }
+    }
+
+    /**
+     * Same as {@link #extract(byte[])} for a stream, which is spooled to the scratch file
+     * without being held in memory.
+     */
+    public String extract(InputStream pdfFile) {
+        long start = System.nanoTime();
+        Path scratch = null;
+        try (pdfFile) {
+            scratch = Files.createTempFile("resume-", ".pdf");
+            Files.copy(pdfFile, scratch, StandardCopyOption.REPLACE_EXISTING);
+            return record(start, extract(scratch, start));
+        } catch (Exception e) {
+            throw failed(start, e);
+        } finally {
+            deleteQuietly(scratch);
+        }
+    }
+
+    /**
+     * @return the text, or null when PDFBox cannot parse the file
+     */
+    private String extract(Path scratch, long start) throws Exception {
+        int pages;
+        try (PDDocument document = load(scratch)) {
+            if (document.isEncrypted()) {
+                return "";
+            }
+            pages = Math.min(document.getNumberOfPages(), maxPages);
+        } catch (IOException e) {
+            if (e instanceof ClosedChannelException || e instanceof FileSystemException
+                    || Thread.currentThread().isInterrupted()) {
+                throw e;
+            }
+            // a parse error, also thrown for files protected by a user password
+            unreadableTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.info("PDF is not readable, storing no text: {}", e.getMessage());
+            return null;
+        }
+        pagesSummary.record(pages);
+        if (pages == 0) {
+            return "";
+        }
+
+        List<Future<String>> ranges = new ArrayList<>();
+        try {
+            for (int first = 1; first <= pages; first += pagesPerTask) {
+                int from = first;
+                int to = Math.min(first + pagesPerTask - 1, pages);
+                ranges.add(executor.submit(() -> stripPages(scratch, from, to)));
+            }
+
+            long deadline = System.nanoTime() + timeout.toNanos();
+            StringBuilder text = new StringBuilder();
+            for (Future<String> range : ranges) {
+                text.append(range.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+                if (text.length() >= maxChars) {
+                    break;
+                }
+            }
+            return truncate(text.toString().strip());
+        } finally {
+            ranges.forEach(range -> range.cancel(true));
+        }
+    }
+
+    private String stripPages(Path scratch, int from, int to) throws IOException {
+        try (PDDocument document = load(scratch)) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(from);
+            stripper.setEndPage(to);
+            return stripper.getText(document);
+        }
+    }
+
+    private PDDocument load(Path scratch) throws IOException {
+        StreamCacheCreateFunction streamCache = MemoryUsageSetting.setupMixed(maxMainMemoryBytes).streamCache;
+        return Loader.loadPDF(new RandomAccessReadBufferedFile(scratch), streamCache);
+    }
+
+    private String truncate(String text) {
+        return text.length() <= maxChars ? text : text.substring(0, maxChars);
+    }
+
+    private String record(long start, String text) {
+        if (text == null) {
+            return "";
+        }
+        (text.isEmpty() ? emptyTimer : successTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return text;
+    }
+
+    private ResumeTextExtractionException failed(long start, Exception e) {
+        failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+        return new ResumeTextExtractionException("PDF extraction failed", cause);
+    }
+
+    private static void deleteQuietly(Path scratch) {
+        if (scratch == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(scratch);
+        } catch (IOException e) {
+            log.warn("Failed to delete scratch file {}", scratch, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,6 @@
+package com.upply.profile.resume;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ResumeTextRepository extends JpaRepository<ResumeText, String> {
+}
@@ -0,0 +1,160 @@
+package com.upply.profile.resume;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Extracts resume text once, when the file is uploaded, so readers never download and
+ * parse the PDF again. Only texts that were actually extracted are stored: when extraction
+ * fails the resume keeps its content hash without a stored text and is extracted again on
+ * the next read.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ResumeTextService {
+
+    private final ResumeTextRepository resumeTextRepository;
+    private final ResumeRepository resumeRepository;
+    private final ResumeTextExtractor resumeTextExtractor;
+    private final AzureStorageService azureStorageService;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Stores the text of the file unless a file with the same content was stored before.
+     *
+     * @return the content hash to set on the {@link Resume}
+     */
+    public String save(byte[] fileData) {
+        String contentHash = sha256(fileData);
+        storeQuietly(contentHash, () -> resumeTextExtractor.extract(fileData));
+        return contentHash;
+    }
+
+    /**
+     * Same as {@link #save(byte[])} for a file that can be opened more than once, such as an
+     * upload spooled to disk. The file is hashed and extracted from streams.
+     *
+     * @return the content hash to set on the {@link Resume}
+     */
+    public String save(InputStreamSource file) throws IOException {
+        String contentHash;
+        try (InputStream data = file.getInputStream()) {
+            contentHash = sha256(data);
+        }
+        storeQuietly(contentHash, () -> {
+            try {
+                return resumeTextExtractor.extract(file.getInputStream());
+            } catch (IOException e) {
+                throw new ResumeTextExtractionException("Could not reopen resume file", e);
+            }
+        });
+        return contentHash;
+    }
+
+    /**
+     * @return the stored text of the resume, empty when none could be extracted
+     */
+    public String getText(Resume resume) {
+        try {
+            return getResumeText(resume).getText();
+        } catch (ResumeTextExtractionException e) {
+            log.warn("Text of resume {} is not available this time", resume.getId(), e);
+            return "";
+        }
+    }
+
+    /**
+     * @throws ResumeTextExtractionException when the text is not stored yet and extracting it failed
+     */
+    public ResumeText getResumeText(Resume resume) {
+        if (resume.getContentHash() != null) {
+            Optional<ResumeText> stored = resumeTextRepository.findById(resume.getContentHash());
+            if (stored.isPresent()) {
+                return stored.get();
+            }
+        }
+
+        // resumes uploaded before texts were stored, or whose extraction failed, are extracted
+        // on read and backfilled
+        log.info("Backfilling text for resume {}", resume.getId());
+        byte[] fileData = azureStorageService.downloadFile(resume.getBlobName());
+        ResumeText resumeText = store(sha256(fileData), () -> resumeTextExtractor.extract(fileData));
+        if (!resumeText.getContentHash().equals(resume.getContentHash())) {
+            resume.setContentHash(resumeText.getContentHash());
+            resumeRepository.save(resume);
+        }
+        return resumeText;
+    }
+
+    public void saveParsedResume(ResumeText resumeText, String parsedResume, int version) {
+        resumeText.setParsedResume(parsedResume);
+        resumeText.setParsedResumeVersion(version);
+        resumeTextRepository.save(resumeText);
+    }
+
+    private void storeQuietly(String contentHash, Supplier<String> extraction) {
+        try {
+            store(contentHash, extraction);
+        } catch (ResumeTextExtractionException e) {
+            log.warn("Text of resume file {} could not be extracted, retrying on first read", contentHash, e);
+        }
+    }
+
+    private ResumeText store(String contentHash, Supplier<String> extraction) {
+        Optional<ResumeText> stored = resumeTextRepository.findById(contentHash);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+        ResumeText resumeText = ResumeText.builder()
+                .contentHash(contentHash)
+                .text(extraction.get())
+                .build();
+
+        // committed on its own, so a concurrent upload of the same file fails here and not
+        // the caller's transaction
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            return newTransaction.execute(status -> resumeTextRepository.save(resumeText));
+        } catch (DataIntegrityViolationException e) {
+            return resumeTextRepository.findById(contentHash).orElseThrow(() -> e);
+        }
+    }
+
+    static String sha256(byte[] data) {
+        return HexFormat.of().formatHex(sha256Digest().digest(data));
+    }
+
+    static String sha256(InputStream data) throws IOException {
+        MessageDigest digest = sha256Digest();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = data.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
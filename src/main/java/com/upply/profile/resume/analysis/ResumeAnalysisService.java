@@ -1,26 +1,22 @@
 package com.upply.profile.resume.analysis;
 
+import com.upply.ai.ChatProviderRouter;
 import com.upply.exception.custom.ResourceNotFoundException;
 import com.upply.job.Job;
 import com.upply.job.JobRepository;
 import com.upply.job.enums.JobSource;
 import com.upply.job.enums.JobType;
-import com.upply.profile.resume.AzureStorageService;
 import com.upply.profile.resume.ResumeRepository;
+import com.upply.profile.resume.ResumeTextService;
 import com.upply.profile.resume.dto.ResumeAnalysisResponse;
 import com.upply.profile.resume.enums.ResumeSection;
 import com.upply.profile.resume.enums.ResumeSectionGroups;
 import com.upply.profile.skill.Skill;
 import com.upply.user.UserRepository;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -29,26 +25,23 @@ import static org.springframework.util.StringUtils.truncate;
 @Service
 @Transactional
 public class ResumeAnalysisService {
-    private final ChatClient groqChatClient;
-    private final ChatClient geminiChatClient;
+    private final ChatProviderRouter router;
     private final UserRepository userRepository;
     private final ResumeRepository resumeRepository;
     private final JobRepository jobRepository;
-    private final AzureStorageService azureStorageService;
+    private final ResumeTextService resumeTextService;
 
     public ResumeAnalysisService(
-            @Qualifier("resumeAnalysisGroqChatClient") ChatClient groqchatClient,
-            @Qualifier("resumeAnalysisGeminiChatClient") ChatClient geminiChatClient,
+            @Qualifier("resumeAnalysisRouter") ChatProviderRouter router,
             UserRepository userRepository,
             ResumeRepository resumeRepository,
             JobRepository jobRepository,
-            AzureStorageService azureStorageService) {
-        this.groqChatClient = groqchatClient;
-        this.geminiChatClient = geminiChatClient;
+            ResumeTextService resumeTextService) {
+        this.router = router;
         this.userRepository = userRepository;
         this.resumeRepository = resumeRepository;
         this.jobRepository = jobRepository;
-        this.azureStorageService = azureStorageService;
+        this.resumeTextService = resumeTextService;
     }
 
     /**
@@ -59,24 +52,16 @@ public class ResumeAnalysisService {
         Job job = jobRepository.findById(jobId)
                 .orElseThrow(() -> new ResourceNotFoundException("Job with ID " + jobId + " not found"));
         UserProfileContext ctx = buildUserContext(resumeId);
-        try {
-            return geminiChatClient.prompt()
-                    .user(buildJobPrompt(ctx, job))
-                    .call()
-                    .entity(ResumeAnalysisResponse.class);
-        } catch (Exception e) {
-            return groqChatClient.prompt()
-                    .user(buildJobPrompt(ctx, job))
-                    .call()
-                    .entity(ResumeAnalysisResponse.class);
-        }
+        String prompt = buildJobPrompt(ctx, job);
+        return router.call(client -> client.prompt()
+                .user(prompt)
+                .call()
+                .entity(ResumeAnalysisResponse.class));
     }
 
     private UserProfileContext buildUserContext(Long resumeId) {
         String resumeText = resumeRepository.getResumeById(resumeId)
-                .map(resume -> extractTextFromPdf(
-                        azureStorageService.downloadFile(resume.getBlobName())
-                ))
+                .map(resume -> resumeTextOrFallback(resumeTextService.getText(resume)))
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "No Resume Found"
                 ));
@@ -141,19 +126,11 @@ public class ResumeAnalysisService {
         );
     }
 
-    private String extractTextFromPdf(byte[] pdfFile) {
-        try (PDDocument document = Loader.loadPDF(pdfFile)) {
-            if (document.isEncrypted()) {
-                return "Resume is encrypted and can't be processed - Start analysis based on profile data only";
-            }
-            PDFTextStripper stripper = new PDFTextStripper();
-            String text = stripper.getText(document).strip();
-
-            return text.isEmpty() ? "Resume text could not be extracted- Start analysis based on profile data only" : text;
-        } catch (IOException e) {
-            // I don't want fail whole request
-            return "Resume text unavailable, Start analysis based on profile data only.";
-        }
+    private String resumeTextOrFallback(String resumeText) {
+        // I don't want fail whole request
+        return resumeText == null || resumeText.isBlank()
+                ? "Resume text could not be extracted- Start analysis based on profile data only"
+                : resumeText;
     }
 
     private String sectionNames(Set<ResumeSection> sections) {
@@ -0,0 +1,47 @@
+package com.upply.profile.resume.chunks;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+
+/**
+ * Per-job counter in Redis, {@code resume-index:version:{jobId}}, bumped whenever resume
+ * chunks of one of the job's applications are indexed. Caches of searches over the resume
+ * index keep the version they were filled at and are stale once it moved.
+ */
+@Slf4j
+@Component
+public class ResumeIndexVersions {
+
+    private static final String VERSION_KEY = "resume-index:version:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public ResumeIndexVersions(RedisConnectionFactory connectionFactory) {
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    /**
+     * @return the current version of the job's resume chunks, empty when Redis cannot be read
+     */
+    public OptionalLong current(Long jobId) {
+        try {
+            String version = redisTemplate.opsForValue().get(VERSION_KEY + jobId);
+            return OptionalLong.of(version == null ? 0 : Long.parseLong(version));
+        } catch (Exception e) {
+            log.warn("Could not read resume index version of job {}", jobId, e);
+            return OptionalLong.empty();
+        }
+    }
+
+    public void bump(Long jobId) {
+        try {
+            redisTemplate.opsForValue().increment(VERSION_KEY + jobId);
+        } catch (Exception e) {
+            log.warn("Could not bump resume index version of job {}", jobId, e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.upply.profile.resume.chunks;
 
+import com.upply.ai.AiPriority;
+import com.upply.profile.resume.Resume;
 import com.upply.profile.resume.dto.ParsedResumeResponse;
 import com.upply.profile.resume.parse.ResumeParserService;
 import lombok.extern.slf4j.Slf4j;
@@ -18,17 +20,21 @@ import java.util.Map;
 public class ResumeVectorService {
     private final VectorStore vectorStore;
     private final ResumeParserService resumeParserService;
+    private final ResumeIndexVersions resumeIndexVersions;
 
     public ResumeVectorService(@Qualifier("resumeVectorStore") VectorStore vectorStore,
-                               ResumeParserService resumeParserService) {
+                               ResumeParserService resumeParserService,
+                               ResumeIndexVersions resumeIndexVersions) {
         this.vectorStore = vectorStore;
         this.resumeParserService = resumeParserService;
+        this.resumeIndexVersions = resumeIndexVersions;
     }
 
-    public void storeResumeEmbedding(Long applicationId, Long applicationApplicantId, Long applicationJobId, Long resumeId, String resumeTxt) {
+    public void storeResumeEmbedding(Long applicationId, Long applicationApplicantId, Long applicationJobId, Resume resume) {
+        Long resumeId = resume.getId();
 
         try {
-            ParsedResumeResponse parsed = resumeParserService.callAi(resumeTxt);
+            ParsedResumeResponse parsed = resumeParserService.parse(resume, AiPriority.BACKGROUND);
 
             List<Chunk> chunks = buildResumeChunks(parsed);
 
@@ -53,6 +59,7 @@ public class ResumeVectorService {
             }
 
             vectorStore.add(documents);
+            resumeIndexVersions.bump(applicationJobId);
 
             log.info("Stored {} chunks for application ID: {}", documents.size(), applicationId);
 
@@ -1,5 +1,9 @@
 package com.upply.profile.resume.parse;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upply.ai.AiPriority;
+import com.upply.ai.ChatProviderRouter;
 import com.upply.common.NormalizeSkillName;
 import com.upply.config.KafkaConfig;
 import com.upply.exception.custom.ResourceNotFoundException;
@@ -11,9 +15,10 @@ import com.upply.profile.project.Project;
 import com.upply.profile.project.ProjectRepository;
 import com.upply.profile.project.dto.ProjectMapper;
 import com.upply.profile.project.dto.ProjectRequest;
-import com.upply.profile.resume.AzureStorageService;
 import com.upply.profile.resume.Resume;
 import com.upply.profile.resume.ResumeRepository;
+import com.upply.profile.resume.ResumeText;
+import com.upply.profile.resume.ResumeTextService;
 import com.upply.profile.resume.dto.ParseConfirmRequest;
 import com.upply.profile.resume.dto.ParsedResumeResponse;
 import com.upply.profile.skill.Skill;
@@ -27,27 +32,27 @@ import com.upply.user.UserRepository;
 import com.upply.user.dto.SkillEvent;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionSynchronizationAdapter;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.io.IOException;
 import java.util.*;
 
 @Service
 @Slf4j
 public class ResumeParserService {
-    private final ChatClient geminiChatClient;
-    private final ChatClient groqChatClient;
+    /**
+     * Version of the stored parse results; bump it whenever {@link ParsedResumeResponse}
+     * or the parse prompt changes so older results are parsed again.
+     */
+    static final int PARSED_RESUME_VERSION = 1;
+
+    private final ChatProviderRouter router;
     private final UserRepository userRepository;
     private final ResumeRepository resumeRepository;
-    private final AzureStorageService azureStorageService;
+    private final ResumeTextService resumeTextService;
     private final SkillRepository skillRepository;
     private final ExperienceRepository experienceRepository;
     private final ProjectRepository projectRepository;
@@ -57,14 +62,14 @@ public class ResumeParserService {
     private final ProjectMapper projectMapper;
     private final SocialLinkMapper socialLinkMapper;
     private final KafkaTemplate<String, SkillEvent> skillEventKafkaTemplate;
+    private final ObjectMapper objectMapper;
 
 
     public ResumeParserService(
-            @Qualifier("resumeParserGroqChatClient") ChatClient groqChatClient,
-            @Qualifier("resumeParserGeminiChatClient") ChatClient geminiChatClient,
+            @Qualifier("resumeParserRouter") ChatProviderRouter router,
             UserRepository userRepository,
             ResumeRepository resumeRepository,
-            AzureStorageService azureStorageService,
+            ResumeTextService resumeTextService,
             SkillRepository skillRepository,
             ExperienceRepository experienceRepository,
             ProjectRepository projectRepository,
@@ -72,12 +77,12 @@ public class ResumeParserService {
             ExperienceMapper experienceMapper,
             ProjectMapper projectMapper,
             SocialLinkMapper socialLinkMapper,
-            KafkaTemplate<String, SkillEvent> skillEventKafkaTemplate) {
-        this.groqChatClient = groqChatClient;
-        this.geminiChatClient = geminiChatClient;
+            KafkaTemplate<String, SkillEvent> skillEventKafkaTemplate,
+            ObjectMapper objectMapper) {
+        this.router = router;
         this.userRepository = userRepository;
         this.resumeRepository = resumeRepository;
-        this.azureStorageService = azureStorageService;
+        this.resumeTextService = resumeTextService;
         this.skillRepository = skillRepository;
         this.experienceRepository = experienceRepository;
         this.projectRepository = projectRepository;
@@ -86,18 +91,18 @@ public class ResumeParserService {
         this.projectMapper = projectMapper;
         this.socialLinkMapper = socialLinkMapper;
         this.skillEventKafkaTemplate = skillEventKafkaTemplate;
+        this.objectMapper = objectMapper;
     }
 
     public ParsedResumeResponse preview(Long resumeId) {
-        return callAi(extractText(resumeId));
+        return parse(findResume(resumeId));
     }
 
     @Transactional
     public void confirm(Long resumeId, ParseConfirmRequest request) {
         User user = userRepository.getCurrentUser()
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        //TODO Don't hit the model again use preview response
-        ParsedResumeResponse parsed = callAi(extractText(resumeId));
+        ParsedResumeResponse parsed = parse(findResume(resumeId));
 
         if (request.applyPersonal()) applyPersonal(user, parsed);
         if (request.applyExperiences()) applyExperiences(user, parsed.experiences());
@@ -110,7 +115,35 @@ public class ResumeParserService {
     }
 
 
-    public ParsedResumeResponse callAi(String rawText) {
+    /**
+     * Returns the structured parse of the resume, calling the model only the first time a
+     * given file content is parsed under the current {@link #PARSED_RESUME_VERSION}.
+     */
+    public ParsedResumeResponse parse(Resume resume) {
+        return parse(resume, AiPriority.INTERACTIVE);
+    }
+
+    public ParsedResumeResponse parse(Resume resume, AiPriority priority) {
+        ResumeText resumeText = resumeTextService.getResumeText(resume);
+        if (resumeText.getParsedResume() != null
+                && Objects.equals(resumeText.getParsedResumeVersion(), PARSED_RESUME_VERSION)) {
+            try {
+                return objectMapper.readValue(resumeText.getParsedResume(), ParsedResumeResponse.class);
+            } catch (JsonProcessingException e) {
+                log.warn("Stored parse of resume {} is unreadable, parsing again", resume.getId(), e);
+            }
+        }
+
+        ParsedResumeResponse parsed = callAi(resumeText.getText(), priority);
+        try {
+            resumeTextService.saveParsedResume(resumeText, objectMapper.writeValueAsString(parsed), PARSED_RESUME_VERSION);
+        } catch (Exception e) {
+            log.warn("Failed to store parse of resume {}", resume.getId(), e);
+        }
+        return parsed;
+    }
+
+    public ParsedResumeResponse callAi(String rawText, AiPriority priority) {
         String prompt = """
                 Extract all structured data from this resume and return JSON.
                 
@@ -119,18 +152,11 @@ public class ResumeParserService {
                 %s
                 \"\"\"
                 """.formatted(truncate(rawText, 12000));
-        try {
-            log.debug("Attempting resume parse with Gemini");
-            return geminiChatClient.prompt()
-                    .user(prompt)
-                    .call()
-                    .entity(ParsedResumeResponse.class);
-        } catch (Exception e) {
-            return groqChatClient.prompt()
-                    .user(prompt)
-                    .call()
-                    .entity(ParsedResumeResponse.class);
-        }
+        return router.call(client -> client.prompt()
+                .user(prompt)
+                .advisors(a -> a.param(AiPriority.CONTEXT_KEY, priority))
+                .call()
+                .entity(ParsedResumeResponse.class));
     }
 
 
@@ -214,21 +240,10 @@ public class ResumeParserService {
     }
 
 
-    private String extractText(Long resumeId) {
-        Resume resume = resumeRepository.getResumeById(resumeId)
+    private Resume findResume(Long resumeId) {
+        return resumeRepository.getResumeById(resumeId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Resume with ID " + resumeId + " not found"));
-
-        byte[] bytes = azureStorageService.downloadFile(resume.getBlobName());
-
-        try (PDDocument doc = Loader.loadPDF(bytes)) {
-            if (doc.isEncrypted()) return "";
-            String text = new PDFTextStripper().getText(doc).strip();
-            return text.isEmpty() ? "" : text;
-        } catch (IOException e) {
-            log.warn("PDF extraction failed for resume {}", resumeId, e);
-            return "";
-        }
     }
 
     private String truncate(String text, int max) {
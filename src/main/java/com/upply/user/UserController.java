@@ -18,6 +18,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -356,9 +357,9 @@ public class UserController {
     @GetMapping("/resume/view/{resumeId}")
     @Operation(
             summary = "View user resume",
-            description = "Returns the resume PDF file for inline viewing in the browser by resume ID."
+            description = "Streams the resume PDF file for inline viewing in the browser by resume ID. Supports HTTP Range requests."
     )
-    public ResponseEntity<byte[]> viewUserResume(
+    public ResponseEntity<Resource> viewUserResume(
             @Parameter(
                     description = "The ID of the resume to view",
                     required = true,
@@ -379,9 +380,9 @@ public class UserController {
     @GetMapping("/resume/download/{resumeId}")
     @Operation(
             summary = "Download user resume",
-            description = "Downloads the resume PDF file as an attachment by resume ID."
+            description = "Streams the resume PDF file as an attachment by resume ID. Supports HTTP Range requests."
     )
-    public ResponseEntity<byte[]> downloadUSerResume(
+    public ResponseEntity<Resource> downloadUSerResume(
             @Parameter(
                     description = "The ID of the resume to download",
                     required = true,
@@ -18,6 +18,7 @@ import com.upply.profile.project.dto.ProjectResponse;
 import com.upply.profile.resume.AzureStorageService;
 import com.upply.profile.resume.Resume;
 import com.upply.profile.resume.ResumeRepository;
+import com.upply.profile.resume.ResumeTextService;
 import com.upply.profile.resume.dto.ResumeMapper;
 import com.upply.profile.resume.dto.ResumeResponse;
 import com.upply.profile.skill.*;
@@ -37,6 +38,7 @@ import com.upply.user.dto.UserResponse;
 import com.upply.exception.custom.ResourceNotFoundException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -45,6 +47,7 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -67,6 +70,7 @@ public class UserService {
     private final JobMapper jobMapper;
     private final AzureStorageService azureStorageService;
     private final ResumeRepository resumeRepository;
+    private final ResumeTextService resumeTextService;
     private final ResumeMapper resumeMapper;
     private final KafkaTemplate<String, SkillEvent> skillEventKafkaTemplate;
     private final OrganizationMapper organizationMapper;
@@ -315,23 +319,27 @@ public class UserService {
         validateFile(resumeFile);
         User user = userRepository.getCurrentUser()
                 .orElseThrow(() -> new ResourceNotFoundException("User Not Found"));
-        String blobName = azureStorageService.uploadFile(user.getId(), resumeFile.getBytes());
+        String blobName;
+        try (InputStream fileData = resumeFile.getInputStream()) {
+            blobName = azureStorageService.uploadFile(user.getId(), fileData, resumeFile.getSize());
+        }
         String fileName = resumeFile.getOriginalFilename();
 
         Resume resume = new Resume();
 
         resume.setBlobName(blobName);
         resume.setFileName(fileName);
+        resume.setContentHash(resumeTextService.save(resumeFile));
         resume.setUser(user);
 
         resumeRepository.save(resume);
         return resumeMapper.toResumeResponse(resume);
     }
 
-    public byte[] getResumeFileById(Long resumeId) {
+    public Resource getResumeFileById(Long resumeId) {
         Resume resume = resumeRepository.getResumeById(resumeId)
                 .orElseThrow(() -> new ResourceNotFoundException("There is no resume with this id"));
-        return azureStorageService.downloadFile(resume.getBlobName());
+        return azureStorageService.openFile(resume.getBlobName());
     }
 
     public List<ResumeResponse> getAllUserResumes() {
@@ -357,6 +365,7 @@ public class UserService {
 
         resume.setIsDeleted(true);
         resumeRepository.save(resume);
+        azureStorageService.evictCachedFile(resume.getBlobName());
     }
 
     public String getFileName(Long resumeId) {
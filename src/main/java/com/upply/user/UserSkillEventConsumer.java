@@ -1,11 +1,12 @@
 package com.upply.user;
 
 import com.upply.config.KafkaConfig;
+import com.upply.job.MatchedJobsService;
 import com.upply.profile.skill.SkillRepository;
 import com.upply.user.dto.SkillEvent;
+import com.upply.vector.VectorStoreBatchWriter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
-import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
@@ -19,19 +20,22 @@ public class UserSkillEventConsumer {
     private final UserService userService;
     private UserRepository userRepository;
     private final SkillRepository skillRepository;
-    private final VectorStore skillVectorStore;
+    private final VectorStoreBatchWriter userSkillsIndexWriter;
+    private final MatchedJobsService matchedJobsService;
 
-    public UserSkillEventConsumer(UserService userService, UserRepository userRepository, SkillRepository skillRepository,@Qualifier("userSkillsVectorStore") VectorStore skillVectorStore) {
+    public UserSkillEventConsumer(UserService userService, UserRepository userRepository, SkillRepository skillRepository,@Qualifier("userSkillsIndexWriter") VectorStoreBatchWriter userSkillsIndexWriter, MatchedJobsService matchedJobsService) {
         this.userService = userService;
         this.userRepository = userRepository;
         this.skillRepository = skillRepository;
-        this.skillVectorStore = skillVectorStore;
+        this.userSkillsIndexWriter = userSkillsIndexWriter;
+        this.matchedJobsService = matchedJobsService;
     }
 
     @KafkaListener(topics = KafkaConfig.UserSkillsEmbeddingTopic,
     groupId = "user-skill-event-consumer")
     public void consumeSkillEvent(SkillEvent event) {
         log.info("Received Skill Event: {}", event);
+        matchedJobsService.onUserSkillsChanged(event.getUserId());
         userRepository.findById(event.getUserId())
                 .ifPresentOrElse(
                         user -> storeUserSkillsEmbedding(user.getId(), buildUserContext(user)),
@@ -55,6 +59,10 @@ public class UserSkillEventConsumer {
                         "userId", userId.toString()
                 )
         );
-        skillVectorStore.add(List.of(document));
+        userSkillsIndexWriter.add(document)
+                .exceptionally(e -> {
+                    log.error("Failed to store skills embedding for user {}", userId, e);
+                    return null;
+                });
     }
 }
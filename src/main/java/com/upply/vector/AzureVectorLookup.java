@@ -0,0 +1,56 @@
+package com.upply.vector;
+
+import com.azure.core.util.Context;
+import com.azure.search.documents.SearchClient;
+import com.azure.search.documents.SearchDocument;
+import com.azure.search.documents.models.SearchOptions;
+import com.azure.search.documents.models.SearchResult;
+
+import java.util.*;
+
+/**
+ * Reads stored embeddings straight from an Azure AI Search index written by
+ * {@code AzureVectorStore} (fields {@code id} and {@code embedding}), one filtered query
+ * per chunk of ids.
+ */
+public class AzureVectorLookup implements VectorLookup {
+
+    private static final int MAX_IDS_PER_QUERY = 500;
+
+    private final SearchClient searchClient;
+
+    public AzureVectorLookup(SearchClient searchClient) {
+        this.searchClient = searchClient;
+    }
+
+    @Override
+    public Map<String, float[]> findVectors(Collection<String> ids) {
+        List<String> distinct = ids.stream().distinct().toList();
+        Map<String, float[]> vectors = new HashMap<>();
+
+        for (int from = 0; from < distinct.size(); from += MAX_IDS_PER_QUERY) {
+            List<String> chunk = distinct.subList(from, Math.min(from + MAX_IDS_PER_QUERY, distinct.size()));
+            SearchOptions options = new SearchOptions()
+                    .setFilter("search.in(id, '" + String.join("|", chunk).replace("'", "''") + "', '|')")
+                    .setSelect("id", "embedding")
+                    .setTop(chunk.size());
+
+            for (SearchResult result : searchClient.search("*", options, Context.NONE)) {
+                SearchDocument document = result.getDocument(SearchDocument.class);
+                Object embedding = document.get("embedding");
+                if (embedding instanceof List<?> values) {
+                    vectors.put(String.valueOf(document.get("id")), toArray(values));
+                }
+            }
+        }
+        return vectors;
+    }
+
+    private static float[] toArray(List<?> values) {
+        float[] vector = new float[values.size()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = ((Number) values.get(i)).floatValue();
+        }
+        return vector;
+    }
+}
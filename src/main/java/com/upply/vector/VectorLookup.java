@@ -0,0 +1,13 @@
+package com.upply.vector;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Bulk read of the vectors already stored for a set of document ids. Ids with no stored
+ * vector are absent from the result.
+ */
+public interface VectorLookup {
+
+    Map<String, float[]> findVectors(Collection<String> ids);
+}
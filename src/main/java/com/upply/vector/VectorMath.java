@@ -0,0 +1,84 @@
+package com.upply.vector;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dense float vector kernels. By default an unrolled scalar loop, which the JIT
+ * auto-vectorizes reasonably well. The incubating Vector API kernel is opt-in: it is only
+ * compiled with the {@code vector-api} Maven profile and used when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}.
+ */
+@Slf4j
+public final class VectorMath {
+
+    interface Kernel {
+        float dot(float[] a, float[] b);
+    }
+
+    private static final Kernel KERNEL = loadKernel();
+
+    private VectorMath() {
+    }
+
+    public static float dot(float[] a, float[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Vector lengths differ: " + a.length + " vs " + b.length);
+        }
+        return KERNEL.dot(a, b);
+    }
+
+    public static float norm(float[] a) {
+        return (float) Math.sqrt(KERNEL.dot(a, a));
+    }
+
+    /**
+     * Cosine similarity of {@code query} against each candidate; {@code queryNorm} is passed
+     * in so it is computed once per batch. Zero vectors score 0.
+     */
+    public static float[] cosines(float[] query, float queryNorm, float[][] candidates) {
+        float[] result = new float[candidates.length];
+        for (int i = 0; i < candidates.length; i++) {
+            float[] candidate = candidates[i];
+            float denominator = queryNorm * norm(candidate);
+            result[i] = denominator == 0f ? 0f : dot(query, candidate) / denominator;
+        }
+        return result;
+    }
+
+    public static boolean isVectorApiEnabled() {
+        return !(KERNEL instanceof ScalarKernel);
+    }
+
+    private static Kernel loadKernel() {
+        try {
+            Kernel kernel = (Kernel) Class.forName("com.upply.vector.VectorApiKernel")
+                    .getDeclaredConstructor()
+                    .newInstance();
+            kernel.dot(new float[1], new float[1]);
+            log.info("Using the Vector API for vector math");
+            return kernel;
+        } catch (Throwable e) {
+            log.info("Vector API not available, using scalar vector math");
+            return new ScalarKernel();
+        }
+    }
+
+    static final class ScalarKernel implements Kernel {
+        @Override
+        public float dot(float[] a, float[] b) {
+            float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+            int i = 0;
+            int bound = a.length & ~3;
+            for (; i < bound; i += 4) {
+                s0 += a[i] * b[i];
+                s1 += a[i + 1] * b[i + 1];
+                s2 += a[i + 2] * b[i + 2];
+                s3 += a[i + 3] * b[i + 3];
+            }
+            for (; i < a.length; i++) {
+                s0 += a[i] * b[i];
+            }
+            return (s0 + s1) + (s2 + s3);
+        }
+    }
+}
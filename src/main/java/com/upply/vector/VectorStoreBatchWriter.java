@@ -0,0 +1,185 @@
+package com.upply.vector;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Funnels writes to a {@link VectorStore} through a single worker that groups them into
+ * micro-batches of up to {@code maxBatchSize} operations or {@code maxDelay}, whichever
+ * comes first. Each batch costs one {@link VectorStore#add} (one embedding call, one
+ * upsert) and one {@link VectorStore#delete}.
+ *
+ * <p>Writes are applied in submission order: within a batch only the last operation per
+ * document id is kept. If a batched call fails, its documents are retried one by one so
+ * a single bad document only fails its own future.
+ */
+@Slf4j
+public class VectorStoreBatchWriter implements AutoCloseable {
+
+    private final VectorStore vectorStore;
+    private final String name;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<Operation> queue = new LinkedBlockingQueue<>();
+    private final Thread worker;
+    // guards running against enqueue, so nothing is queued once the worker may have drained
+    private final Object lifecycle = new Object();
+    private volatile boolean running = true;
+
+    public VectorStoreBatchWriter(VectorStore vectorStore, String name, int maxBatchSize, Duration maxDelay) {
+        this.vectorStore = vectorStore;
+        this.name = name;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.worker = Thread.ofPlatform()
+                .name(name + "-index-writer")
+                .daemon()
+                .start(this::run);
+    }
+
+    private record Operation(String id, Document document, CompletableFuture<Void> result) {
+        boolean isDelete() {
+            return document == null;
+        }
+    }
+
+    public CompletableFuture<Void> add(Document document) {
+        return enqueue(new Operation(document.getId(), document, new CompletableFuture<>()));
+    }
+
+    public CompletableFuture<Void> delete(String id) {
+        return enqueue(new Operation(id, null, new CompletableFuture<>()));
+    }
+
+    private CompletableFuture<Void> enqueue(Operation operation) {
+        synchronized (lifecycle) {
+            if (running) {
+                queue.add(operation);
+                return operation.result();
+            }
+        }
+        operation.result().completeExceptionally(closedException());
+        return operation.result();
+    }
+
+    /**
+     * Stops accepting writes and waits for the queued ones to be flushed. Writes still pending
+     * after 30 seconds are failed.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        synchronized (lifecycle) {
+            running = false;
+        }
+        if (!worker.join(Duration.ofSeconds(30))) {
+            log.warn("{} index writer did not flush in time, failing pending writes", name);
+            worker.interrupt();
+            worker.join(Duration.ofSeconds(5));
+        }
+    }
+
+    private IllegalStateException closedException() {
+        return new IllegalStateException(name + " index writer is closed");
+    }
+
+    private void run() {
+        List<Operation> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Operation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    Operation next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                IllegalStateException closed = closedException();
+                batch.forEach(op -> op.result().completeExceptionally(closed));
+                break;
+            } catch (Exception e) {
+                log.error("Unexpected failure in {} index writer", name, e);
+                batch.forEach(op -> op.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // only left when interrupted; callers may be joining these
+        synchronized (lifecycle) {
+            running = false;
+        }
+        List<Operation> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        IllegalStateException closed = closedException();
+        abandoned.forEach(op -> op.result().completeExceptionally(closed));
+    }
+
+    private void flush(List<Operation> batch) {
+        Map<String, Operation> latest = new LinkedHashMap<>();
+        Map<String, List<Operation>> superseded = new HashMap<>();
+        for (Operation op : batch) {
+            Operation previous = latest.remove(op.id());
+            if (previous != null) {
+                superseded.computeIfAbsent(op.id(), id -> new ArrayList<>()).add(previous);
+            }
+            latest.put(op.id(), op);
+        }
+
+        List<Operation> deletes = latest.values().stream().filter(Operation::isDelete).toList();
+        List<Operation> adds = latest.values().stream().filter(op -> !op.isDelete()).toList();
+
+        if (!deletes.isEmpty()) {
+            apply(deletes, ops -> vectorStore.delete(ops.stream().map(Operation::id).toList()));
+        }
+        if (!adds.isEmpty()) {
+            apply(adds, ops -> vectorStore.add(ops.stream().map(Operation::document).toList()));
+        }
+        log.debug("Flushed {} index writes ({} adds, {} deletes) to {}", batch.size(), adds.size(), deletes.size(), name);
+
+        // an overwritten write shares the outcome of the one that replaced it
+        superseded.forEach((id, ops) -> latest.get(id).result().whenComplete((ok, error) -> ops.forEach(op -> {
+            if (error != null) op.result().completeExceptionally(error);
+            else op.result().complete(null);
+        })));
+    }
+
+    private void apply(List<Operation> ops, Consumer<List<Operation>> write) {
+        try {
+            write.accept(ops);
+            ops.forEach(op -> op.result().complete(null));
+            return;
+        } catch (Exception e) {
+            if (ops.size() == 1) {
+                ops.get(0).result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Batched write of {} documents to {} failed, retrying individually", ops.size(), name, e);
+        }
+
+        for (Operation op : ops) {
+            try {
+                write.accept(List.of(op));
+                op.result().complete(null);
+            } catch (Exception e) {
+                log.error("Failed to write document {} to {}", op.id(), name, e);
+                op.result().completeExceptionally(e);
+            }
+        }
+    }
+}
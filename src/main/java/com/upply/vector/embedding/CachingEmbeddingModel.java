@@ -0,0 +1,221 @@
+package com.upply.vector.embedding;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * {@link EmbeddingModel} decorator that caches vectors by a SHA-256 of the normalised input
+ * text, first in a bounded in-process LRU and then in Redis. Only texts missing from both
+ * tiers reach the delegate, de-duplicated and in a single call.
+ *
+ * <p>Normalisation (NFC, trim, collapsed whitespace, lower case) is safe for the uncased
+ * bge tokenizer, and misses are embedded from the normalised text so every text sharing a
+ * key yields exactly the cached vector.
+ */
+@Slf4j
+public class CachingEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final String keyPrefix;
+    private final Duration redisTtl;
+    private final LruCache localCache;
+
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+
+    public CachingEmbeddingModel(EmbeddingModel delegate,
+                                 RedisTemplate<String, byte[]> redisTemplate,
+                                 MeterRegistry meterRegistry,
+                                 String namespace,
+                                 int localMaxEntries,
+                                 Duration redisTtl) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = "embedding:" + namespace + ":";
+        this.redisTtl = redisTtl;
+        this.localCache = new LruCache(localMaxEntries);
+
+        this.localHits = meterRegistry.counter("embedding.cache.hits", "tier", "local");
+        this.redisHits = meterRegistry.counter("embedding.cache.hits", "tier", "redis");
+        this.misses = meterRegistry.counter("embedding.cache.misses");
+        meterRegistry.gauge("embedding.cache.local.size", localCache, LruCache::size);
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        List<float[]> vectors = embedAll(request.getInstructions());
+        List<Embedding> embeddings = new ArrayList<>(vectors.size());
+        for (int i = 0; i < vectors.size(); i++) {
+            embeddings.add(new Embedding(vectors.get(i), i));
+        }
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(String text) {
+        return embedAll(List.of(text)).get(0);
+    }
+
+    @Override
+    public List<float[]> embed(List<String> texts) {
+        return embedAll(texts);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return embed(getEmbeddingContent(document));
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+
+    private List<float[]> embedAll(List<String> texts) {
+        int n = texts.size();
+        float[][] results = new float[n][];
+        String[] keys = new String[n];
+        Map<String, String> pending = new LinkedHashMap<>();
+        Map<String, float[]> resolved = new HashMap<>();
+
+        for (int i = 0; i < n; i++) {
+            String normalized = normalize(texts.get(i));
+            keys[i] = keyPrefix + sha256(normalized);
+            results[i] = localCache.get(keys[i]);
+            if (results[i] != null) {
+                localHits.increment();
+            } else {
+                pending.putIfAbsent(keys[i], normalized);
+            }
+        }
+
+        if (!pending.isEmpty() && redisTemplate != null) {
+            readFromRedis(pending, resolved);
+        }
+
+        if (!pending.isEmpty()) {
+            List<String> missingKeys = new ArrayList<>(pending.keySet());
+            List<float[]> computed = delegate.embed(new ArrayList<>(pending.values()));
+            misses.increment(missingKeys.size());
+            for (int i = 0; i < missingKeys.size(); i++) {
+                localCache.put(missingKeys.get(i), computed.get(i));
+                resolved.put(missingKeys.get(i), computed.get(i));
+            }
+            writeToRedis(missingKeys, computed);
+        }
+
+        List<float[]> vectors = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            float[] vector = results[i] != null ? results[i] : resolved.get(keys[i]);
+            vectors.add(vector.clone());
+        }
+        return vectors;
+    }
+
+    /**
+     * Moves every entry found in Redis from {@code pending} into {@code resolved} and the local tier.
+     */
+    private void readFromRedis(Map<String, String> pending, Map<String, float[]> resolved) {
+        try {
+            List<String> lookup = new ArrayList<>(pending.keySet());
+            List<byte[]> values = redisTemplate.opsForValue().multiGet(lookup);
+            if (values == null) {
+                return;
+            }
+            for (int i = 0; i < lookup.size(); i++) {
+                byte[] value = values.get(i);
+                if (value != null) {
+                    float[] vector = fromBytes(value);
+                    localCache.put(lookup.get(i), vector);
+                    resolved.put(lookup.get(i), vector);
+                    pending.remove(lookup.get(i));
+                    redisHits.increment();
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Embedding cache lookup in Redis failed, falling back to the model", e);
+        }
+    }
+
+    private void writeToRedis(List<String> keys, List<float[]> vectors) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            for (int i = 0; i < keys.size(); i++) {
+                redisTemplate.opsForValue().set(keys.get(i), toBytes(vectors.get(i)), redisTtl);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to write {} embeddings to Redis", keys.size(), e);
+        }
+    }
+
+    static String normalize(String text) {
+        String normalized = Normalizer.normalize(text == null ? "" : text, Normalizer.Form.NFC);
+        return normalized.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] toBytes(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    private static float[] fromBytes(byte[] bytes) {
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+
+    private static final class LruCache {
+        private final LinkedHashMap<String, float[]> entries;
+
+        LruCache(int maxEntries) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        synchronized float[] get(String key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(String key, float[] vector) {
+            entries.put(key, vector);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
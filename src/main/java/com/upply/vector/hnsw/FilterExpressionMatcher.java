@@ -0,0 +1,90 @@
+package com.upply.vector.hnsw;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Evaluates a Spring AI {@link Filter.Expression} against a document's metadata map,
+ * mirroring what the Azure AI Search OData filter would select.
+ */
+public final class FilterExpressionMatcher {
+
+    private FilterExpressionMatcher() {
+    }
+
+    public static boolean matches(Filter.Operand operand, Map<String, Object> metadata) {
+        if (operand instanceof Filter.Group group) {
+            return matches(group.content(), metadata);
+        }
+        if (!(operand instanceof Filter.Expression expression)) {
+            throw new IllegalArgumentException("Unsupported filter operand: " + operand);
+        }
+
+        return switch (expression.type()) {
+            case AND -> matches(expression.left(), metadata) && matches(expression.right(), metadata);
+            case OR -> matches(expression.left(), metadata) || matches(expression.right(), metadata);
+            case NOT -> !matches(expression.left(), metadata);
+            case ISNULL -> metadata.get(key(expression)) == null;
+            case ISNOTNULL -> metadata.get(key(expression)) != null;
+            case IN -> values(expression).stream().anyMatch(v -> equal(metadata.get(key(expression)), v));
+            case NIN -> values(expression).stream().noneMatch(v -> equal(metadata.get(key(expression)), v));
+            case EQ -> equal(metadata.get(key(expression)), value(expression));
+            case NE -> !equal(metadata.get(key(expression)), value(expression));
+            case GT -> compare(metadata.get(key(expression)), value(expression), c -> c > 0);
+            case GTE -> compare(metadata.get(key(expression)), value(expression), c -> c >= 0);
+            case LT -> compare(metadata.get(key(expression)), value(expression), c -> c < 0);
+            case LTE -> compare(metadata.get(key(expression)), value(expression), c -> c <= 0);
+        };
+    }
+
+    private static String key(Filter.Expression expression) {
+        if (!(expression.left() instanceof Filter.Key key)) {
+            throw new IllegalArgumentException("Expected a metadata key on the left of " + expression);
+        }
+        String name = key.key();
+        if (name.length() > 1 && (name.startsWith("'") || name.startsWith("\""))) {
+            name = name.substring(1, name.length() - 1);
+        }
+        return name;
+    }
+
+    private static Object value(Filter.Expression expression) {
+        if (!(expression.right() instanceof Filter.Value value)) {
+            throw new IllegalArgumentException("Expected a literal value on the right of " + expression);
+        }
+        return value.value();
+    }
+
+    private static Collection<?> values(Filter.Expression expression) {
+        Object value = value(expression);
+        return value instanceof Collection<?> collection ? collection : List.of(value);
+    }
+
+    private static boolean equal(Object actual, Object expected) {
+        if (actual == null || expected == null) {
+            return actual == expected;
+        }
+        return compareTo(actual, expected) == 0;
+    }
+
+    /**
+     * A missing metadata value never orders against a literal.
+     */
+    private static boolean compare(Object actual, Object expected, IntPredicate outcome) {
+        return actual != null && expected != null && outcome.test(compareTo(actual, expected));
+    }
+
+    /**
+     * Numbers compare numerically, everything else by its string form.
+     */
+    private static int compareTo(Object actual, Object expected) {
+        if (actual instanceof Number a && expected instanceof Number b) {
+            return Double.compare(a.doubleValue(), b.doubleValue());
+        }
+        return String.valueOf(actual).compareTo(String.valueOf(expected));
+    }
+}
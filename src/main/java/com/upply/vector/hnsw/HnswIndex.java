@@ -0,0 +1,438 @@
+package com.upply.vector.hnsw;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory HNSW (Hierarchical Navigable Small World) graph over cosine similarity.
+ *
+ * <p>Vectors are normalised on insert and kept in a direct (off-heap) buffer, so the
+ * similarity of two nodes is a plain dot product and the JVM heap only holds the graph
+ * links. Removed keys are tombstoned and skipped in results; once tombstones outnumber
+ * live nodes the graph is rebuilt from the live vectors.
+ *
+ * <p>Writers take an exclusive lock, searches share a read lock.
+ */
+public class HnswIndex {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MIN_TOMBSTONES_BEFORE_COMPACTION = 64;
+
+    private final int dimensions;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private FloatBuffer vectors;
+    private int capacity;
+    private int[] levels;
+    private int[][][] links;
+    private String[] keys;
+    private final BitSet deleted = new BitSet();
+    private final Map<String, Integer> nodeByKey = new HashMap<>();
+
+    private int size;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswIndex(int dimensions, int m, int efConstruction) {
+        this(dimensions, m, efConstruction, new Random());
+    }
+
+    public HnswIndex(int dimensions, int m, int efConstruction, Random random) {
+        if (dimensions <= 0 || m < 2 || efConstruction < m) {
+            throw new IllegalArgumentException(
+                    "Invalid HNSW parameters: dimensions=" + dimensions + ", m=" + m + ", efConstruction=" + efConstruction);
+        }
+        this.dimensions = dimensions;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.random = random;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    public record Match(String key, double similarity) {
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Number of live (non-removed) keys in the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String key) {
+        lock.readLock().lock();
+        try {
+            return nodeByKey.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a copy of the (normalised) vector stored under the key, or {@code null}.
+     */
+    public float[] vector(String key) {
+        lock.readLock().lock();
+        try {
+            Integer node = nodeByKey.get(key);
+            if (node == null) {
+                return null;
+            }
+            float[] vector = new float[dimensions];
+            vectors.get(node * dimensions, vector);
+            return vector;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts the vector under the given key, replacing any previous vector for that key.
+     */
+    public void upsert(String key, float[] vector) {
+        float[] normalized = normalize(vector);
+        lock.writeLock().lock();
+        try {
+            Integer previous = nodeByKey.remove(key);
+            if (previous != null) {
+                deleted.set(previous);
+            }
+            insert(key, normalized);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String key) {
+        lock.writeLock().lock();
+        try {
+            Integer node = nodeByKey.remove(key);
+            if (node == null) {
+                return false;
+            }
+            deleted.set(node);
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate k-nearest-neighbour search. Nodes whose key is rejected by {@code accept}
+     * are still traversed, but never returned, so a selective filter can yield fewer than
+     * {@code k} matches; callers can fall back to {@link #exactSearch} in that case.
+     */
+    public List<Match> search(float[] query, int k, int ef, Predicate<String> accept) {
+        float[] q = normalize(query);
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || k <= 0) {
+                return List.of();
+            }
+            int ep = entryPoint;
+            for (int layer = maxLevel; layer > 0; layer--) {
+                ep = greedyClosest(q, ep, layer);
+            }
+            List<Candidate> candidates = searchLayer(q, ep, Math.max(ef, k), 0);
+
+            List<Match> matches = new ArrayList<>(k);
+            for (Candidate candidate : candidates) {
+                if (matches.size() == k) break;
+                if (deleted.get(candidate.node())) continue;
+                String key = keys[candidate.node()];
+                if (accept.test(key)) {
+                    matches.add(new Match(key, candidate.similarity()));
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Brute-force scan over all live nodes accepted by the predicate.
+     */
+    public List<Match> exactSearch(float[] query, int k, Predicate<String> accept) {
+        float[] q = normalize(query);
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Candidate> best = new PriorityQueue<>(Comparator.comparingDouble(Candidate::similarity));
+            for (Map.Entry<String, Integer> entry : nodeByKey.entrySet()) {
+                if (!accept.test(entry.getKey())) continue;
+                best.add(new Candidate(entry.getValue(), dot(entry.getValue(), q)));
+                if (best.size() > k) best.poll();
+            }
+            List<Match> matches = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                Candidate candidate = best.poll();
+                matches.add(new Match(keys[candidate.node()], candidate.similarity()));
+            }
+            Collections.reverse(matches);
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ── graph construction ──────────────────────────────────────────────
+
+    private void insert(String key, float[] vector) {
+        int node = size;
+        if (node == capacity) {
+            allocate(capacity * 2);
+        }
+        vectors.put(node * dimensions, vector);
+        int level = randomLevel();
+        levels[node] = level;
+        links[node] = new int[level + 1][];
+        for (int layer = 0; layer <= level; layer++) {
+            links[node][layer] = new int[0];
+        }
+        keys[node] = key;
+        nodeByKey.put(key, node);
+        size++;
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        int ep = entryPoint;
+        for (int layer = maxLevel; layer > level; layer--) {
+            ep = greedyClosest(vector, ep, layer);
+        }
+        for (int layer = Math.min(level, maxLevel); layer >= 0; layer--) {
+            List<Candidate> candidates = searchLayer(vector, ep, efConstruction, layer);
+            int[] neighbours = selectNeighbours(candidates, m);
+            links[node][layer] = neighbours;
+            for (int neighbour : neighbours) {
+                connect(neighbour, node, layer);
+            }
+            ep = candidates.get(0).node();
+        }
+
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    private void connect(int from, int to, int layer) {
+        int[] current = links[from][layer];
+        int[] extended = Arrays.copyOf(current, current.length + 1);
+        extended[current.length] = to;
+
+        int maxConnections = layer == 0 ? maxM0 : m;
+        if (extended.length <= maxConnections) {
+            links[from][layer] = extended;
+            return;
+        }
+
+        List<Candidate> candidates = new ArrayList<>(extended.length);
+        for (int neighbour : extended) {
+            candidates.add(new Candidate(neighbour, dot(from, neighbour)));
+        }
+        candidates.sort(Comparator.comparingDouble(Candidate::similarity).reversed());
+        links[from][layer] = selectNeighbours(candidates, maxConnections);
+    }
+
+    /**
+     * Neighbour selection heuristic (Malkov &amp; Yashunin, algorithm 4): keep a candidate only
+     * if it is closer to the base node than to every neighbour already kept, then top up
+     * with the best discarded candidates so sparse regions stay connected.
+     */
+    private int[] selectNeighbours(List<Candidate> candidatesBestFirst, int limit) {
+        List<Candidate> selected = new ArrayList<>(limit);
+        List<Candidate> discarded = new ArrayList<>();
+        for (Candidate candidate : candidatesBestFirst) {
+            if (selected.size() == limit) break;
+            boolean diverse = true;
+            for (Candidate kept : selected) {
+                if (dot(candidate.node(), kept.node()) > candidate.similarity()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            (diverse ? selected : discarded).add(candidate);
+        }
+        for (int i = 0; i < discarded.size() && selected.size() < limit; i++) {
+            selected.add(discarded.get(i));
+        }
+        return selected.stream().mapToInt(Candidate::node).toArray();
+    }
+
+    // ── graph traversal ─────────────────────────────────────────────────
+
+    private int greedyClosest(float[] q, int entry, int layer) {
+        int current = entry;
+        float currentSimilarity = dot(current, q);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int neighbour : neighbours(current, layer)) {
+                float similarity = dot(neighbour, q);
+                if (similarity > currentSimilarity) {
+                    currentSimilarity = similarity;
+                    current = neighbour;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Beam search on one layer; returns up to {@code ef} nodes ordered best first.
+     */
+    private List<Candidate> searchLayer(float[] q, int entry, int ef, int layer) {
+        BitSet visited = new BitSet(size);
+        PriorityQueue<Candidate> toVisit = new PriorityQueue<>(
+                Comparator.comparingDouble(Candidate::similarity).reversed());
+        PriorityQueue<Candidate> results = new PriorityQueue<>(
+                Comparator.comparingDouble(Candidate::similarity));
+
+        Candidate start = new Candidate(entry, dot(entry, q));
+        visited.set(entry);
+        toVisit.add(start);
+        results.add(start);
+
+        while (!toVisit.isEmpty()) {
+            Candidate current = toVisit.poll();
+            if (results.size() >= ef && current.similarity() < results.peek().similarity()) {
+                break;
+            }
+            for (int neighbour : neighbours(current.node(), layer)) {
+                if (visited.get(neighbour)) continue;
+                visited.set(neighbour);
+                float similarity = dot(neighbour, q);
+                if (results.size() < ef || similarity > results.peek().similarity()) {
+                    Candidate candidate = new Candidate(neighbour, similarity);
+                    toVisit.add(candidate);
+                    results.add(candidate);
+                    if (results.size() > ef) results.poll();
+                }
+            }
+        }
+
+        List<Candidate> ordered = new ArrayList<>(results);
+        ordered.sort(Comparator.comparingDouble(Candidate::similarity).reversed());
+        return ordered;
+    }
+
+    private int[] neighbours(int node, int layer) {
+        return layer <= levels[node] ? links[node][layer] : new int[0];
+    }
+
+    // ── storage ─────────────────────────────────────────────────────────
+
+    private void allocate(int newCapacity) {
+        FloatBuffer resized = ByteBuffer.allocateDirect(newCapacity * dimensions * Float.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asFloatBuffer();
+        if (vectors != null) {
+            resized.put(0, vectors, 0, size * dimensions);
+        }
+        vectors = resized;
+        levels = levels == null ? new int[newCapacity] : Arrays.copyOf(levels, newCapacity);
+        links = links == null ? new int[newCapacity][][] : Arrays.copyOf(links, newCapacity);
+        keys = keys == null ? new String[newCapacity] : Arrays.copyOf(keys, newCapacity);
+        capacity = newCapacity;
+    }
+
+    private void compactIfNeeded() {
+        int tombstones = size - nodeByKey.size();
+        if (tombstones < MIN_TOMBSTONES_BEFORE_COMPACTION || tombstones < nodeByKey.size()) {
+            return;
+        }
+
+        Map<String, float[]> live = new LinkedHashMap<>();
+        nodeByKey.forEach((key, node) -> {
+            float[] vector = new float[dimensions];
+            vectors.get(node * dimensions, vector);
+            live.put(key, vector);
+        });
+
+        vectors = null;
+        levels = null;
+        links = null;
+        keys = null;
+        size = 0;
+        entryPoint = -1;
+        maxLevel = -1;
+        deleted.clear();
+        nodeByKey.clear();
+        allocate(Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, live.size())) * 2));
+
+        live.forEach(this::insert);
+    }
+
+    private int randomLevel() {
+        return (int) (-Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+    }
+
+    private float dot(int node, float[] q) {
+        int base = node * dimensions;
+        float sum = 0f;
+        for (int i = 0; i < dimensions; i++) {
+            sum += vectors.get(base + i) * q[i];
+        }
+        return sum;
+    }
+
+    private float dot(int a, int b) {
+        int baseA = a * dimensions;
+        int baseB = b * dimensions;
+        float sum = 0f;
+        for (int i = 0; i < dimensions; i++) {
+            sum += vectors.get(baseA + i) * vectors.get(baseB + i);
+        }
+        return sum;
+    }
+
+    private float[] normalize(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException(
+                    "Expected vector of " + dimensions + " dimensions but got " + vector.length);
+        }
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        norm = Math.sqrt(norm);
+        float[] normalized = new float[dimensions];
+        if (norm == 0) {
+            return normalized;
+        }
+        for (int i = 0; i < dimensions; i++) {
+            normalized[i] = (float) (vector[i] / norm);
+        }
+        return normalized;
+    }
+
+    private record Candidate(int node, float similarity) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.upply.vector.hnsw;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the local HNSW indexes of every instance in step. Changes made through
+ * {@link HnswVectorStore#add}/{@link HnswVectorStore#delete} are published on a Redis
+ * channel as plain text + metadata; the other instances embed and apply them locally.
+ */
+@Slf4j
+public class HnswIndexReplicator implements HnswVectorStore.ChangeListener, MessageListener {
+
+    private final HnswVectorStore vectorStore;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public HnswIndexReplicator(HnswVectorStore vectorStore,
+                               StringRedisTemplate redisTemplate,
+                               ObjectMapper objectMapper,
+                               String channel) {
+        this.vectorStore = vectorStore;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+    }
+
+    record Entry(String id, String text, Map<String, Object> metadata) {
+    }
+
+    record IndexChange(String origin, List<Entry> added, List<String> deleted) {
+    }
+
+    @Override
+    public void onAdded(List<Document> documents) {
+        publish(new IndexChange(instanceId,
+                documents.stream().map(d -> new Entry(d.getId(), d.getText(), d.getMetadata())).toList(),
+                List.of()));
+    }
+
+    @Override
+    public void onDeleted(List<String> ids) {
+        publish(new IndexChange(instanceId, List.of(), ids));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            IndexChange change = objectMapper.readValue(message.getBody(), IndexChange.class);
+            if (instanceId.equals(change.origin())) {
+                return;
+            }
+            if (!change.deleted().isEmpty()) {
+                vectorStore.evict(change.deleted());
+            }
+            if (!change.added().isEmpty()) {
+                vectorStore.load(change.added().stream()
+                        .map(e -> Document.builder().id(e.id()).text(e.text()).metadata(e.metadata()).build())
+                        .toList());
+            }
+        } catch (Exception e) {
+            log.error("Failed to apply index change from channel {}", channel, e);
+        }
+    }
+
+    private void publish(IndexChange change) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(change));
+        } catch (Exception e) {
+            // the local index is already updated; peers converge on their next restart
+            log.error("Failed to publish index change on channel {}", channel, e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.upply.vector.hnsw;
+
+import com.upply.vector.VectorLookup;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * {@link VectorStore} backed by an in-process {@link HnswIndex}.
+ *
+ * <p>Scores are reported on the same scale as Azure AI Search's cosine scoring
+ * ({@code 1 / (2 - cosine)}), so similarity thresholds tuned against the Azure index
+ * keep their meaning when switching to the local store.
+ *
+ * <p>{@link #add}/{@link #delete} notify the registered {@link ChangeListener} so other
+ * instances can replay the change; {@link #load}/{@link #evict} apply a change locally only.
+ */
+@Slf4j
+public class HnswVectorStore implements VectorStore, VectorLookup {
+
+    private final EmbeddingModel embeddingModel;
+    private final HnswIndex index;
+    private final int efSearch;
+    private final Map<String, Document> documents = new ConcurrentHashMap<>();
+    private volatile ChangeListener changeListener = ChangeListener.NONE;
+
+    public HnswVectorStore(EmbeddingModel embeddingModel, HnswIndex index, int efSearch) {
+        this.embeddingModel = embeddingModel;
+        this.index = index;
+        this.efSearch = efSearch;
+    }
+
+    public interface ChangeListener {
+        ChangeListener NONE = new ChangeListener() {
+            @Override
+            public void onAdded(List<Document> documents) {
+            }
+
+            @Override
+            public void onDeleted(List<String> ids) {
+            }
+        };
+
+        void onAdded(List<Document> documents);
+
+        void onDeleted(List<String> ids);
+    }
+
+    public void setChangeListener(ChangeListener changeListener) {
+        this.changeListener = changeListener != null ? changeListener : ChangeListener.NONE;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public void add(List<Document> documents) {
+        load(documents);
+        changeListener.onAdded(documents);
+    }
+
+    @Override
+    public void delete(List<String> idList) {
+        evict(idList);
+        changeListener.onDeleted(idList);
+    }
+
+    @Override
+    public void delete(Filter.Expression filterExpression) {
+        List<String> ids = documents.values().stream()
+                .filter(document -> FilterExpressionMatcher.matches(filterExpression, document.getMetadata()))
+                .map(Document::getId)
+                .toList();
+        if (!ids.isEmpty()) {
+            delete(ids);
+        }
+    }
+
+    /**
+     * Embeds and indexes the documents without notifying the change listener.
+     */
+    public void load(List<Document> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        List<float[]> embeddings = embeddingModel.embed(documents.stream().map(Document::getText).toList());
+        for (int i = 0; i < documents.size(); i++) {
+            Document document = documents.get(i);
+            this.documents.put(document.getId(), Document.builder()
+                    .id(document.getId())
+                    .text(document.getText())
+                    .metadata(new HashMap<>(document.getMetadata()))
+                    .build());
+            index.upsert(document.getId(), embeddings.get(i));
+        }
+    }
+
+    /**
+     * Removes the documents without notifying the change listener.
+     */
+    public void evict(List<String> ids) {
+        for (String id : ids) {
+            index.remove(id);
+            documents.remove(id);
+        }
+    }
+
+    @Override
+    public Map<String, float[]> findVectors(Collection<String> ids) {
+        Map<String, float[]> vectors = new HashMap<>();
+        for (String id : ids) {
+            float[] vector = index.vector(id);
+            if (vector != null) {
+                vectors.put(id, vector);
+            }
+        }
+        return vectors;
+    }
+
+    @Override
+    public List<Document> similaritySearch(SearchRequest request) {
+        float[] query = embeddingModel.embed(request.getQuery());
+        int topK = request.getTopK();
+
+        Predicate<String> accept = id -> documents.containsKey(id);
+        if (request.hasFilterExpression()) {
+            Filter.Expression filter = request.getFilterExpression();
+            accept = id -> {
+                Document document = documents.get(id);
+                return document != null && FilterExpressionMatcher.matches(filter, document.getMetadata());
+            };
+        }
+
+        List<HnswIndex.Match> matches = index.search(query, topK, Math.max(efSearch, topK), accept);
+        if (request.hasFilterExpression() && matches.size() < topK) {
+            // a selective filter (e.g. a single jobId) can starve the graph walk
+            matches = index.exactSearch(query, topK, accept);
+        }
+
+        List<Document> results = new ArrayList<>(matches.size());
+        for (HnswIndex.Match match : matches) {
+            Document document = documents.get(match.key());
+            double score = toScore(match.similarity());
+            if (document == null || score < request.getSimilarityThreshold()) {
+                continue;
+            }
+            results.add(document.mutate().score(score).build());
+        }
+        return results;
+    }
+
+    static double toScore(double cosine) {
+        return 1.0 / (2.0 - cosine);
+    }
+}
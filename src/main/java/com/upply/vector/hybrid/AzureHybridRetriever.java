@@ -0,0 +1,141 @@
+package com.upply.vector.hybrid;
+
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.util.Context;
+import com.azure.search.documents.SearchClient;
+import com.azure.search.documents.SearchDocument;
+import com.azure.search.documents.models.*;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upply.vector.index.IndexSchema;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.azure.AzureAiSearchFilterExpressionConverter;
+import org.springframework.ai.vectorstore.azure.AzureVectorStore;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hybrid query against an index written by {@code AzureVectorStore}: one request carries the
+ * text query over {@code content} and a vector query over {@code embedding}, and Azure AI
+ * Search fuses the two rankings with reciprocal rank fusion. With {@code semanticRanking} the
+ * fused results are reranked with the schema's semantic configuration, and scores come from
+ * the reranker (0 to 4) instead. When the service rejects semantic queries (semantic ranker
+ * not enabled on the tier) but accepts the plain hybrid one, semantic ranking is turned off
+ * for the lifetime of the retriever.
+ */
+@Slf4j
+public class AzureHybridRetriever implements HybridRetriever {
+
+    private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {
+    };
+    private static final double MAX_RERANKER_SCORE = 4.0;
+    // both rankings fused, each contributing at most 1 / (k + 1)
+    private static final double MAX_FUSED_SCORE = 2.0 / (RRF_K + 1);
+
+    private final SearchClient searchClient;
+    private final EmbeddingModel embeddingModel;
+    private final AzureAiSearchFilterExpressionConverter filterConverter;
+    private final ObjectMapper objectMapper;
+    private final String semanticConfig;
+    private final AtomicBoolean semanticRanking;
+
+    public AzureHybridRetriever(SearchClient searchClient,
+                                EmbeddingModel embeddingModel,
+                                List<AzureVectorStore.MetadataField> filterMetadataFields,
+                                IndexSchema schema,
+                                ObjectMapper objectMapper,
+                                boolean semanticRanking) {
+        this.searchClient = searchClient;
+        this.embeddingModel = embeddingModel;
+        this.filterConverter = new AzureAiSearchFilterExpressionConverter(filterMetadataFields);
+        this.objectMapper = objectMapper;
+        this.semanticConfig = schema.semanticConfig();
+        this.semanticRanking = new AtomicBoolean(semanticRanking);
+    }
+
+    @Override
+    public List<Document> retrieve(SearchRequest request) {
+        List<Float> embedding = new ArrayList<>();
+        for (float value : embeddingModel.embed(request.getQuery())) {
+            embedding.add(value);
+        }
+
+        if (!semanticRanking.get()) {
+            return search(request.getQuery(), options(request, embedding, false));
+        }
+        try {
+            return search(request.getQuery(), options(request, embedding, true));
+        } catch (HttpResponseException e) {
+            if (e.getResponse() == null || e.getResponse().getStatusCode() != 400) {
+                throw e;
+            }
+            // a bad filter is rejected by the plain query too and rethrown from there
+            List<Document> documents = search(request.getQuery(), options(request, embedding, false));
+            if (semanticRanking.compareAndSet(true, false)) {
+                log.warn("Semantic ranking rejected by Azure AI Search, using plain hybrid queries: {}", e.getMessage());
+            }
+            return documents;
+        }
+    }
+
+    private SearchOptions options(SearchRequest request, List<Float> embedding, boolean semantic) {
+        SearchOptions options = new SearchOptions()
+                .setSearchFields("content")
+                .setSelect("id", "content", "metadata")
+                .setTop(request.getTopK())
+                .setVectorSearchOptions(new VectorSearchOptions()
+                        .setQueries(new VectorizedQuery(embedding)
+                                .setFields("embedding")
+                                .setKNearestNeighborsCount(request.getTopK())));
+        if (request.hasFilterExpression()) {
+            options.setFilter(filterConverter.convertExpression(request.getFilterExpression()));
+        }
+        if (semantic) {
+            options.setQueryType(QueryType.SEMANTIC)
+                    .setSemanticSearchOptions(new SemanticSearchOptions().setSemanticConfigurationName(semanticConfig));
+        }
+        return options;
+    }
+
+    private List<Document> search(String query, SearchOptions options) {
+        List<Document> documents = new ArrayList<>();
+        for (SearchResult result : searchClient.search(query, options, Context.NONE)) {
+            documents.add(toDocument(result));
+        }
+        return documents;
+    }
+
+    private Document toDocument(SearchResult result) {
+        SearchDocument document = result.getDocument(SearchDocument.class);
+        return Document.builder()
+                .id(String.valueOf(document.get("id")))
+                .text((String) document.get("content"))
+                .metadata(metadata(document.get("metadata")))
+                .score(score(result))
+                .build();
+    }
+
+    private double score(SearchResult result) {
+        Double rerankerScore = result.getSemanticSearch() == null ? null : result.getSemanticSearch().getRerankerScore();
+        if (rerankerScore != null) {
+            return Math.min(rerankerScore / MAX_RERANKER_SCORE, 1.0);
+        }
+        return Math.min(result.getScore() / MAX_FUSED_SCORE, 1.0);
+    }
+
+    private Map<String, Object> metadata(Object json) {
+        if (!(json instanceof String value) || value.isBlank()) {
+            return new HashMap<>();
+        }
+        try {
+            return objectMapper.readValue(value, METADATA_TYPE);
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable metadata of a search result", e);
+            return new HashMap<>();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.upply.vector.hybrid;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+
+import java.util.List;
+
+/**
+ * Lexical (BM25) and vector search over the same index, merged with reciprocal rank fusion.
+ * Exact terms in the query ("Kafka", "PhD") find chunks that embeddings rank low.
+ *
+ * <p>The query, {@code topK} and filter of the request are honoured; the similarity
+ * threshold is not, since fused ranks have no common similarity scale. Document scores
+ * are the fused score scaled to [0, 1], 1 being first in every list.
+ */
+public interface HybridRetriever {
+
+    /**
+     * Constant of reciprocal rank fusion, {@code 1 / (k + rank)}; Azure AI Search uses 60.
+     */
+    int RRF_K = 60;
+
+    List<Document> retrieve(SearchRequest request);
+}
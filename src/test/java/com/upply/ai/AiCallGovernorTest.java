@@ -0,0 +1,182 @@
+package com.upply.ai;
+
+import com.upply.exception.custom.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("AiCallGovernor unit tests")
+class AiCallGovernorTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    }
+
+    private AiCallGovernor governor(int queueCapacity, Duration maxWait) {
+        AiCallGovernor.QueueSettings queue = new AiCallGovernor.QueueSettings(queueCapacity, maxWait);
+        return new AiCallGovernor("gemini", redisTemplate,
+                new AiCallGovernor.Limits(20, 1.0, 8),
+                new AiCallGovernor.Settings(0.25, Duration.ofMinutes(5), Duration.ofMillis(10),
+                        Map.of(AiPriority.INTERACTIVE, queue, AiPriority.BACKGROUND, queue)),
+                meterRegistry);
+    }
+
+    /**
+     * Answers the acquire script; the function gets the script arguments
+     * (burst, rate, reserved tokens, slots, lease, lease millis).
+     */
+    @SuppressWarnings("unchecked")
+    private void whenAcquire(Function<List<String>, Long> answer) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenAnswer((InvocationOnMock invocation) -> {
+                    Object[] arguments = invocation.getArguments();
+                    List<String> scriptArguments = Arrays.stream(arguments, 2, arguments.length)
+                            .map(String::valueOf)
+                            .toList();
+                    return answer.apply(scriptArguments);
+                });
+    }
+
+    private double depth(AiPriority priority) {
+        return meterRegistry.get("ai.governor.queue.depth")
+                .tag("priority", priority.name().toLowerCase())
+                .gauge().value();
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get("ai.governor.rejections").tag("reason", reason)
+                .counters().stream().mapToDouble(counter -> counter.count()).sum();
+    }
+
+    @Test
+    @DisplayName("acquire - takes a lease when a token and a slot are free, release hands the slot back")
+    void acquire_TakesAndReleasesLease() {
+        whenAcquire(arguments -> 0L);
+        AiCallGovernor governor = governor(10, Duration.ofSeconds(1));
+
+        String lease = governor.acquire(AiPriority.INTERACTIVE);
+        governor.release(lease);
+
+        verify(zSetOperations).remove("ai-governor:{gemini}:leases", lease);
+        assertEquals(0, depth(AiPriority.INTERACTIVE));
+    }
+
+    @Test
+    @DisplayName("acquire - background calls leave the interactive share of tokens and slots alone")
+    void acquire_BackgroundKeepsInteractiveReserve() {
+        List<List<String>> calls = new CopyOnWriteArrayList<>();
+        whenAcquire(arguments -> {
+            calls.add(arguments);
+            return 0L;
+        });
+        AiCallGovernor governor = governor(10, Duration.ofSeconds(1));
+
+        governor.acquire(AiPriority.INTERACTIVE);
+        governor.acquire(AiPriority.BACKGROUND);
+
+        assertEquals(List.of("0", "8"), calls.get(0).subList(2, 4));
+        assertEquals(List.of("5", "6"), calls.get(1).subList(2, 4));
+    }
+
+    @Test
+    @DisplayName("acquire - waits for the next token when the bucket is empty")
+    void acquire_WaitsForToken() {
+        AtomicInteger attempts = new AtomicInteger();
+        whenAcquire(arguments -> attempts.incrementAndGet() < 3 ? 5L : 0L);
+        AiCallGovernor governor = governor(10, Duration.ofSeconds(1));
+
+        assertNotNull(governor.acquire(AiPriority.BACKGROUND));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    @DisplayName("acquire - gives up after the priority's maximum wait")
+    void acquire_TimesOut() {
+        whenAcquire(arguments -> -1L);
+        AiCallGovernor governor = governor(10, Duration.ofMillis(50));
+
+        assertThrows(ServiceBusyException.class, () -> governor.acquire(AiPriority.INTERACTIVE));
+        assertEquals(1, rejections("timeout"));
+        assertEquals(0, depth(AiPriority.INTERACTIVE));
+    }
+
+    @Test
+    @DisplayName("acquire - rejects right away when the priority's queue is full")
+    void acquire_RejectsWhenQueueFull() throws Exception {
+        whenAcquire(arguments -> -1L);
+        AiCallGovernor governor = governor(1, Duration.ofSeconds(2));
+
+        CompletableFuture<String> waiting = CompletableFuture.supplyAsync(() -> governor.acquire(AiPriority.BACKGROUND));
+        while (depth(AiPriority.BACKGROUND) < 1) {
+            Thread.sleep(5);
+        }
+
+        assertThrows(ServiceBusyException.class, () -> governor.acquire(AiPriority.BACKGROUND));
+        assertEquals(1, rejections("queue_full"));
+        assertThrows(Exception.class, () -> waiting.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("acquire - interactive calls are not queued behind waiting background calls")
+    void acquire_InteractiveGoesFirst() throws Exception {
+        // only interactive calls (no reserved tokens) get capacity
+        whenAcquire(arguments -> arguments.get(2).equals("0") ? 0L : -1L);
+        AiCallGovernor governor = governor(10, Duration.ofSeconds(2));
+
+        CompletableFuture<String> background = CompletableFuture.supplyAsync(() -> governor.acquire(AiPriority.BACKGROUND));
+        while (depth(AiPriority.BACKGROUND) < 1) {
+            Thread.sleep(5);
+        }
+
+        assertNotNull(governor.acquire(AiPriority.INTERACTIVE));
+        assertFalse(background.isDone());
+        assertThrows(Exception.class, () -> background.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("acquire - lets calls through when Redis is unreachable")
+    @SuppressWarnings("unchecked")
+    void acquire_FailsOpenWithoutRedis() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new IllegalStateException("connection refused"));
+        AiCallGovernor governor = governor(10, Duration.ofSeconds(1));
+
+        assertNotNull(governor.acquire(AiPriority.INTERACTIVE));
+    }
+}
@@ -0,0 +1,163 @@
+package com.upply.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.ai.chat.client.ChatClientAttributes;
+import org.springframework.ai.chat.client.ChatClientRequest;
+import org.springframework.ai.chat.client.ChatClientResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAdvisorChain;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("CachingChatAdvisor unit tests")
+class CachingChatAdvisorTest {
+
+    @Mock
+    private CallAdvisorChain chain;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingChatAdvisor advisor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(chain.nextCall(any())).thenAnswer(inv -> response("answer"));
+
+        advisor = new CachingChatAdvisor("test", redisTemplate, meterRegistry, 100, Duration.ofMinutes(10), Duration.ofDays(1));
+    }
+
+    private static ChatClientRequest request(String userText, Map<String, Object> context) {
+        Prompt prompt = new Prompt(List.of(new SystemMessage("system"), new UserMessage(userText)),
+                ChatOptions.builder().model("model").temperature(0.1).build());
+        return new ChatClientRequest(prompt, context);
+    }
+
+    private static ChatClientResponse response(String text) {
+        return ChatClientResponse.builder()
+                .chatResponse(new ChatResponse(List.of(new Generation(new AssistantMessage(text)))))
+                .build();
+    }
+
+    private static String textOf(ChatClientResponse response) {
+        return response.chatResponse().getResult().getOutput().getText();
+    }
+
+    private double count(String name, String... tags) {
+        return meterRegistry.counter(name, tags).count();
+    }
+
+    @Test
+    @DisplayName("adviseCall - identical requests hit the local tier after the first call")
+    void adviseCall_LocalHit() {
+        assertEquals("answer", textOf(advisor.adviseCall(request("hello", Map.of()), chain)));
+        assertEquals("answer", textOf(advisor.adviseCall(request("hello", Map.of()), chain)));
+
+        verify(chain, times(1)).nextCall(any());
+        verify(valueOperations).set(startsWith("ai-cache:test:"), eq("answer"), eq(Duration.ofDays(1)));
+        assertEquals(1, count("ai.cache.misses", "client", "test"));
+        assertEquals(1, count("ai.cache.hits", "client", "test", "tier", "local"));
+    }
+
+    @Test
+    @DisplayName("adviseCall - a Redis hit skips the model")
+    void adviseCall_RedisHit() {
+        when(valueOperations.get(startsWith("ai-cache:test:"))).thenReturn("from redis");
+
+        assertEquals("from redis", textOf(advisor.adviseCall(request("hello", Map.of()), chain)));
+
+        verifyNoInteractions(chain);
+        assertEquals(1, count("ai.cache.hits", "client", "test", "tier", "redis"));
+    }
+
+    @Test
+    @DisplayName("adviseCall - a different prompt or output format is a different entry")
+    void adviseCall_KeyCoversPromptAndFormat() {
+        advisor.adviseCall(request("hello", Map.of()), chain);
+        advisor.adviseCall(request("hello again", Map.of()), chain);
+        advisor.adviseCall(request("hello", Map.of(ChatClientAttributes.OUTPUT_FORMAT.getKey(), "json")), chain);
+
+        verify(chain, times(3)).nextCall(any());
+    }
+
+    @Test
+    @DisplayName("adviseCall - concurrent identical requests share one model call")
+    void adviseCall_CoalescesInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(chain.nextCall(any())).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return response("slow answer");
+        });
+
+        CompletableFuture<ChatClientResponse> first = CompletableFuture.supplyAsync(
+                () -> advisor.adviseCall(request("hello", Map.of()), chain));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ChatClientResponse> second = CompletableFuture.supplyAsync(
+                () -> advisor.adviseCall(request("hello", Map.of()), chain));
+        while (count("ai.cache.coalesced", "client", "test") == 0 && !second.isDone()) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertEquals("slow answer", textOf(first.get(5, TimeUnit.SECONDS)));
+        assertEquals("slow answer", textOf(second.get(5, TimeUnit.SECONDS)));
+        verify(chain, times(1)).nextCall(any());
+        assertEquals(1, count("ai.cache.coalesced", "client", "test"));
+    }
+
+    @Test
+    @DisplayName("adviseCall - failures propagate and are not cached")
+    void adviseCall_DoesNotCacheFailures() {
+        when(chain.nextCall(any())).thenThrow(new RuntimeException("provider down")).thenAnswer(inv -> response("answer"));
+
+        assertThrows(RuntimeException.class, () -> advisor.adviseCall(request("hello", Map.of()), chain));
+        assertEquals("answer", textOf(advisor.adviseCall(request("hello", Map.of()), chain)));
+
+        verify(chain, times(2)).nextCall(any());
+    }
+
+    @Test
+    @DisplayName("adviseCall - a Redis outage falls back to the model")
+    void adviseCall_RedisFailureFallsBack() {
+        when(valueOperations.get(anyString())).thenThrow(new RuntimeException("redis down"));
+        doThrow(new RuntimeException("redis down")).when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+
+        assertEquals("answer", textOf(advisor.adviseCall(request("hello", Map.of()), chain)));
+        verify(chain, times(1)).nextCall(any());
+    }
+}
@@ -0,0 +1,137 @@
+package com.upply.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.ai.chat.client.ChatClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ChatProviderRouter unit tests")
+class ChatProviderRouterTest {
+
+    @Mock
+    private ChatClient gemini;
+
+    @Mock
+    private ChatClient groq;
+
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicInteger geminiCalls = new AtomicInteger();
+    private final AtomicInteger groqCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private ChatProviderRouter router(int minSamples, double errorRateThreshold, boolean hedge) {
+        return new ChatProviderRouter("test", List.of(
+                new ChatProviderRouter.Provider("gemini", gemini),
+                new ChatProviderRouter.Provider("groq", groq)),
+                new ChatProviderRouter.Settings(100, minSamples, errorRateThreshold, Duration.ofMinutes(1),
+                        hedge, 0.95, Duration.ofMillis(500), Duration.ofMillis(20)),
+                meterRegistry);
+    }
+
+    private Function<ChatClient, String> request(Function<ChatClient, String> gemini, Function<ChatClient, String> groq) {
+        return client -> {
+            if (client == this.gemini) {
+                geminiCalls.incrementAndGet();
+                return gemini.apply(client);
+            }
+            groqCalls.incrementAndGet();
+            return groq.apply(client);
+        };
+    }
+
+    private static String sleepThen(String value, long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        return value;
+    }
+
+    private static String fail(ChatClient client) {
+        throw new RuntimeException("provider down");
+    }
+
+    @Test
+    @DisplayName("call - falls back to the next provider when the first fails")
+    void call_FallsBackOnFailure() {
+        ChatProviderRouter router = router(20, 0.5, false);
+
+        assertEquals("groq", router.call(request(ChatProviderRouterTest::fail, client -> "groq")));
+        assertEquals(1, geminiCalls.get());
+        assertEquals(1, groqCalls.get());
+    }
+
+    @Test
+    @DisplayName("call - rethrows the last failure when every provider fails")
+    void call_ThrowsWhenAllFail() {
+        ChatProviderRouter router = router(20, 0.5, false);
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> router.call(request(ChatProviderRouterTest::fail, ChatProviderRouterTest::fail)));
+        assertEquals("provider down", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("call - hedges a slow provider and returns the first answer")
+    void call_HedgesSlowProvider() {
+        ChatProviderRouter router = router(20, 0.5, true);
+
+        long start = System.nanoTime();
+        String result = router.call(request(client -> sleepThen("gemini", 5_000), client -> "groq"));
+
+        assertEquals("groq", result);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+        assertEquals(1, meterRegistry.counter("ai.provider.hedges", "route", "test").count());
+    }
+
+    @Test
+    @DisplayName("call - skips a provider whose circuit opened")
+    void call_OpensCircuitOnErrors() {
+        ChatProviderRouter router = router(4, 0.5, false);
+
+        for (int i = 0; i < 4; i++) {
+            router.call(request(ChatProviderRouterTest::fail, client -> "groq"));
+        }
+        router.call(request(ChatProviderRouterTest::fail, client -> "groq"));
+
+        assertEquals(4, geminiCalls.get());
+        assertEquals(5, groqCalls.get());
+        assertEquals(1, meterRegistry.counter("ai.provider.circuit.opened", "route", "test", "provider", "gemini").count());
+    }
+
+    @Test
+    @DisplayName("call - routes to the provider with the lower tail latency")
+    void call_PrefersFasterProvider() {
+        ChatProviderRouter router = router(3, 0.5, true);
+        Function<ChatClient, String> request = request(client -> sleepThen("gemini", 2_000), client -> "groq");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("groq", router.call(request));
+        }
+        int geminiCallsBefore = geminiCalls.get();
+        assertEquals("groq", router.call(request));
+
+        assertEquals(geminiCallsBefore, geminiCalls.get());
+        assertEquals(4, groqCalls.get());
+    }
+}
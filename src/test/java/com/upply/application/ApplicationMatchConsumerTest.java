@@ -0,0 +1,198 @@
+package com.upply.application;
+
+import com.upply.application.dto.ApplicationMatchEvent;
+import com.upply.application.dto.ApplicationSummaryResult;
+import com.upply.job.Job;
+import com.upply.job.JobRepository;
+import com.upply.profile.resume.Resume;
+import com.upply.profile.resume.ResumeTextService;
+import com.upply.profile.resume.chunks.ResumeVectorService;
+import com.upply.user.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ApplicationMatchConsumer unit tests")
+class ApplicationMatchConsumerTest {
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private ResumeTextService resumeTextService;
+
+    @Mock
+    private ApplicationSummaryService applicationSummaryService;
+
+    @Mock
+    private ResumeVectorService resumeVectorService;
+
+    @InjectMocks
+    private ApplicationMatchConsumer consumer;
+
+    private Job backendJob;
+    private Job frontendJob;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(consumer, "batchMaxSize", 2);
+        TransactionSynchronizationManager.initSynchronization();
+
+        backendJob = Job.builder().id(10L).title("Backend Engineer").build();
+        frontendJob = Job.builder().id(20L).title("Frontend Engineer").build();
+
+        when(resumeTextService.getText(any(Resume.class))).thenAnswer(invocation ->
+                "resume of " + ((Resume) invocation.getArgument(0)).getId());
+        when(applicationSummaryService.resumeTextOrFallback(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private Application application(long id, Job job) {
+        Resume resume = new Resume();
+        resume.setId(id);
+        resume.setBlobName("resume-" + id + ".pdf");
+        User applicant = new User();
+        applicant.setId(100 + id);
+        return Application.builder().id(id).job(job).applicant(applicant).resume(resume).build();
+    }
+
+    private static ApplicationMatchEvent event(Application application) {
+        return new ApplicationMatchEvent(application.getId(), application.getApplicant().getId(), application.getJob().getId());
+    }
+
+    @Test
+    @DisplayName("handleMatchCalcBatch should score applications of the same job together, max-size per request")
+    void handleMatchCalcBatch_GroupsByJob() {
+        Application first = application(1L, backendJob);
+        Application second = application(2L, backendJob);
+        Application third = application(3L, backendJob);
+        Application other = application(4L, frontendJob);
+        when(applicationRepository.findAllById(any())).thenReturn(List.of(first, other, second, third));
+        when(applicationSummaryService.callAiBatch(eq(backendJob), anyMap())).thenReturn(Map.of(
+                1L, new ApplicationSummaryResult("first", 80),
+                2L, new ApplicationSummaryResult("second", 40)));
+        when(applicationSummaryService.callAi(any(Job.class), anyString())).thenAnswer(invocation ->
+                new ApplicationSummaryResult("single " + invocation.getArgument(1), 60));
+
+        consumer.handleMatchCalcBatch(List.of(event(first), event(other), event(second), event(third)));
+
+        verify(applicationSummaryService).callAiBatch(backendJob, Map.of(1L, "resume of 1", 2L, "resume of 2"));
+        verify(applicationSummaryService).callAi(backendJob, "resume of 3");
+        verify(applicationSummaryService).callAi(frontendJob, "resume of 4");
+        assertEquals(0.8, first.getMatchingRatio());
+        assertEquals("second", second.getSummary());
+        assertEquals("single resume of 3", third.getSummary());
+        assertEquals("single resume of 4", other.getSummary());
+        verify(applicationRepository, times(4)).save(any(Application.class));
+    }
+
+    @Test
+    @DisplayName("handleMatchCalcBatch should score applications the batch left out one by one")
+    void handleMatchCalcBatch_FallsBackForMissingResults() {
+        Application first = application(1L, backendJob);
+        Application second = application(2L, backendJob);
+        when(applicationRepository.findAllById(any())).thenReturn(List.of(first, second));
+        when(applicationSummaryService.callAiBatch(eq(backendJob), anyMap()))
+                .thenReturn(Map.of(1L, new ApplicationSummaryResult("first", 70)));
+        when(applicationSummaryService.callAi(backendJob, "resume of 2"))
+                .thenReturn(new ApplicationSummaryResult("second", 55));
+
+        consumer.handleMatchCalcBatch(List.of(event(first), event(second)));
+
+        verify(applicationSummaryService, never()).callAi(backendJob, "resume of 1");
+        assertEquals("first", first.getSummary());
+        assertEquals(0.55, second.getMatchingRatio());
+    }
+
+    @Test
+    @DisplayName("handleMatchCalcBatch should score every application on its own when the batch call fails")
+    void handleMatchCalcBatch_FallsBackWhenBatchFails() {
+        Application first = application(1L, backendJob);
+        Application second = application(2L, backendJob);
+        when(applicationRepository.findAllById(any())).thenReturn(List.of(first, second));
+        when(applicationSummaryService.callAiBatch(eq(backendJob), anyMap()))
+                .thenThrow(new IllegalStateException("malformed output"));
+        when(applicationSummaryService.callAi(any(Job.class), anyString()))
+                .thenReturn(new ApplicationSummaryResult("single", 50));
+
+        consumer.handleMatchCalcBatch(List.of(event(first), event(second)));
+
+        verify(applicationSummaryService, times(2)).callAi(any(Job.class), anyString());
+        assertEquals("single", first.getSummary());
+        assertEquals("single", second.getSummary());
+    }
+
+    @Test
+    @DisplayName("handleMatchCalcBatch should store resume embeddings after commit")
+    void handleMatchCalcBatch_StoresEmbeddingsAfterCommit() {
+        Application first = application(1L, backendJob);
+        when(applicationRepository.findAllById(any())).thenReturn(List.of(first));
+        when(applicationSummaryService.callAi(any(Job.class), anyString()))
+                .thenReturn(new ApplicationSummaryResult("single", 50));
+
+        consumer.handleMatchCalcBatch(List.of(event(first)));
+
+        verifyNoInteractions(resumeVectorService);
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCommit());
+        verify(resumeVectorService).storeResumeEmbedding(1L, 101L, 10L, first.getResume());
+    }
+
+    @Test
+    @DisplayName("handleMatchCalc should only index the resume of an application pre-scored without review")
+    void handleMatchCalc_IndexOnly() {
+        Application application = application(1L, backendJob);
+        when(applicationRepository.findById(1L)).thenReturn(Optional.of(application));
+
+        consumer.handleMatchCalc(new ApplicationMatchEvent(1L, 101L, 10L, true));
+
+        verifyNoInteractions(applicationSummaryService);
+        verify(applicationRepository, never()).save(any(Application.class));
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCommit());
+        verify(resumeVectorService).storeResumeEmbedding(1L, 101L, 10L, application.getResume());
+    }
+
+    @Test
+    @DisplayName("handleMatchCalcBatch should score reviewed applications and index every one")
+    void handleMatchCalcBatch_IndexOnlySkipsScoring() {
+        Application reviewed = application(1L, backendJob);
+        Application preScored = application(2L, backendJob);
+        when(applicationRepository.findAllById(any())).thenReturn(List.of(reviewed, preScored));
+        when(applicationSummaryService.callAi(any(Job.class), anyString()))
+                .thenReturn(new ApplicationSummaryResult("single", 50));
+
+        consumer.handleMatchCalcBatch(List.of(event(reviewed), new ApplicationMatchEvent(2L, 102L, 10L, true)));
+
+        verify(applicationSummaryService).callAi(backendJob, "resume of 1");
+        verify(applicationSummaryService, never()).callAiBatch(any(), anyMap());
+        verify(resumeTextService, never()).getText(preScored.getResume());
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCommit());
+        verify(resumeVectorService).storeResumeEmbedding(1L, 101L, 10L, reviewed.getResume());
+        verify(resumeVectorService).storeResumeEmbedding(2L, 102L, 10L, preScored.getResume());
+    }
+}
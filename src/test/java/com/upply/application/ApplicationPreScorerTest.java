@@ -0,0 +1,146 @@
+package com.upply.application;
+
+import com.upply.job.Job;
+import com.upply.job.JobMatchingService;
+import com.upply.job.JobRepository;
+import com.upply.profile.resume.Resume;
+import com.upply.profile.resume.ResumeTextService;
+import com.upply.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ApplicationPreScorer unit tests")
+class ApplicationPreScorerTest {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private ResumeTextService resumeTextService;
+
+    @Mock
+    private JobMatchingService jobMatchingService;
+
+    @InjectMocks
+    private ApplicationPreScorer preScorer;
+
+    private Job job;
+    private User applicant;
+    private Resume resume;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(preScorer, "skillWeight", 0.6);
+        ReflectionTestUtils.setField(preScorer, "embeddingWeight", 0.4);
+        ReflectionTestUtils.setField(preScorer, "embeddingFloor", 0.5);
+        ReflectionTestUtils.setField(preScorer, "reviewPolicy", ApplicationPreScorer.ReviewPolicy.ABOVE_MIN_RATIO);
+        ReflectionTestUtils.setField(preScorer, "reviewMinRatio", 0.2);
+
+        job = Job.builder().id(10L).title("Backend Engineer").build();
+        applicant = new User();
+        applicant.setId(5L);
+        resume = Resume.builder().id(1L).blobName("5/resume.pdf").contentHash("hash").build();
+
+        when(jobRepository.findJobSkillNames(10L)).thenReturn(List.of("Java", "Spring Boot", "Node.js", "Kubernetes"));
+        when(jobMatchingService.calculateMatchScores(eq(job), anyCollection())).thenReturn(Map.of());
+    }
+
+    @Test
+    @DisplayName("matchSkills - finds multi-word and punctuated skills in normalized resume text")
+    void matchSkills_NormalizesSkillsAndText() {
+        String text = "Built services in JAVA and spring-boot.\nFrontend work with NodeJS, some C#.";
+
+        List<String> matched = ApplicationPreScorer.matchSkills(
+                List.of("Java", "Spring Boot", "Node.js", "C#", "Kubernetes", "Go"), text);
+
+        assertEquals(List.of("Java", "Spring Boot", "Node.js", "C#"), matched);
+    }
+
+    @Test
+    @DisplayName("score - combines skill coverage with the rescaled vector similarity")
+    void score_CombinesSkillsAndEmbedding() {
+        when(resumeTextService.getText(resume)).thenReturn("Java developer, Spring Boot microservices");
+        // cosine 0.9 on the 1 / (2 - cos) scale, 0.8 once rescaled from the 0.5 floor
+        when(jobMatchingService.calculateMatchScores(eq(job), anyCollection())).thenReturn(Map.of(5L, 1.0 / 1.1));
+
+        ApplicationPreScorer.PreScore preScore = preScorer.score(job, applicant, resume);
+
+        assertEquals(List.of("Java", "Spring Boot"), preScore.matchedSkills());
+        assertEquals(0.8, preScore.embeddingSimilarity(), 1e-9);
+        assertEquals(0.62, preScore.ratio());
+        assertTrue(preScorer.needsReview(preScore));
+    }
+
+    @Test
+    @DisplayName("score - uses skill coverage alone when no vectors are stored")
+    void score_SkillsOnlyWithoutVectors() {
+        when(resumeTextService.getText(resume)).thenReturn("Pastry chef");
+
+        ApplicationPreScorer.PreScore preScore = preScorer.score(job, applicant, resume);
+
+        assertNull(preScore.embeddingSimilarity());
+        assertEquals(0.0, preScore.ratio());
+        assertFalse(preScorer.needsReview(preScore));
+        assertEquals("Automatically pre-screened without an AI review: the resume mentions 0 of the 4 required skills.",
+                preScorer.summary(preScore));
+    }
+
+    @Test
+    @DisplayName("score - leaves skills out for a resume without text instead of counting none matched")
+    void score_EmptyResumeText() {
+        when(resumeTextService.getText(resume)).thenReturn("");
+        when(jobMatchingService.calculateMatchScores(eq(job), anyCollection())).thenReturn(Map.of(5L, 1.0 / 1.1));
+
+        ApplicationPreScorer.PreScore preScore = preScorer.score(job, applicant, resume);
+
+        assertNull(preScore.matchedSkills());
+        assertEquals(0.8, preScore.ratio());
+        assertEquals("Automatically pre-screened without an AI review.", preScorer.summary(preScore));
+
+        // nothing left to score with, so the application is reviewed
+        when(jobMatchingService.calculateMatchScores(eq(job), anyCollection())).thenReturn(Map.of());
+        ApplicationPreScorer.PreScore unscored = preScorer.score(job, applicant, resume);
+        assertNull(unscored.ratio());
+        assertTrue(preScorer.needsReview(unscored));
+    }
+
+    @Test
+    @DisplayName("needsReview - applications that could not be pre-scored are always reviewed")
+    void needsReview_WithoutScore() {
+        when(jobRepository.findJobSkillNames(10L)).thenReturn(List.of());
+
+        ApplicationPreScorer.PreScore preScore = preScorer.score(job, applicant, resume);
+
+        assertNull(preScore.ratio());
+        assertTrue(preScorer.needsReview(preScore));
+    }
+
+    @Test
+    @DisplayName("needsReview - follows the configured policy")
+    void needsReview_FollowsPolicy() {
+        ApplicationPreScorer.PreScore low = new ApplicationPreScorer.PreScore(0.05, List.of(), List.of("Java"), null);
+
+        ReflectionTestUtils.setField(preScorer, "reviewPolicy", ApplicationPreScorer.ReviewPolicy.ALL);
+        assertTrue(preScorer.needsReview(low));
+
+        ReflectionTestUtils.setField(preScorer, "reviewPolicy", ApplicationPreScorer.ReviewPolicy.NONE);
+        assertFalse(preScorer.needsReview(new ApplicationPreScorer.PreScore(0.95, List.of("Java"), List.of("Java"), null)));
+    }
+}
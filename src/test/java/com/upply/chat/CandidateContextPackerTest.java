@@ -0,0 +1,103 @@
+package com.upply.chat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CandidateContextPacker unit tests")
+class CandidateContextPackerTest {
+
+    private CandidateContextPacker packer;
+
+    @BeforeEach
+    void setUp() {
+        packer = new CandidateContextPacker();
+        ReflectionTestUtils.setField(packer, "applicationBaseUrl", "https://upply.test/applications/");
+        ReflectionTestUtils.setField(packer, "tokenBudget", 6000);
+        ReflectionTestUtils.setField(packer, "maxWeight", 0.7);
+        ReflectionTestUtils.setField(packer, "duplicateSimilarity", 0.9);
+    }
+
+    private static Document chunk(long userId, String type, String text, double score) {
+        return Document.builder()
+                .text(text)
+                .metadata(Map.of(
+                        "userId", String.valueOf(userId),
+                        "applicationId", String.valueOf(userId * 10),
+                        "chunkType", type))
+                .score(score)
+                .build();
+    }
+
+    @Test
+    @DisplayName("pack - ranks applicants by fused best and mean chunk similarity")
+    void pack_RanksByFusedScore() {
+        List<Document> documents = List.of(
+                chunk(1, "skills", "Candidate skilled in PHP", 0.60),
+                chunk(2, "skills", "Candidate skilled in Java, Spring Boot", 0.90),
+                chunk(2, "project", "Built project payments gateway", 0.50),
+                chunk(1, "experience", "Backend developer at Acme", 0.58));
+
+        CandidateContextPacker.PackedContext packed = packer.pack(documents);
+
+        // 0.7 * 0.90 + 0.3 * 0.70 = 0.84 ranks above 0.7 * 0.60 + 0.3 * 0.59 = 0.597
+        String text = packed.text();
+        assertTrue(text.indexOf("applications/20") < text.indexOf("applications/10"));
+        assertTrue(text.contains("Relevance: 0.84"));
+        assertTrue(text.indexOf("[skills] Candidate skilled in Java") < text.indexOf("[project] Built project"));
+        assertEquals(2, packed.candidates());
+        assertEquals(0, packed.droppedCandidates());
+    }
+
+    @Test
+    @DisplayName("pack - keeps one of near-identical chunks of an applicant")
+    void pack_DropsNearDuplicates() {
+        List<Document> documents = List.of(
+                chunk(1, "skills", "Candidate skilled in Java, Spring Boot, Docker", 0.9),
+                chunk(1, "skills", "Candidate skilled in java spring boot docker", 0.8),
+                chunk(1, "experience", "Backend developer at Acme", 0.7));
+
+        CandidateContextPacker.PackedContext packed = packer.pack(documents);
+
+        assertEquals(1, packed.duplicateChunks());
+        assertFalse(packed.text().contains("java spring boot docker"));
+        assertTrue(packed.text().contains("Backend developer at Acme"));
+    }
+
+    @Test
+    @DisplayName("pack - stays within the token budget and reports what was left out")
+    void pack_FillsBudgetGreedily() {
+        ReflectionTestUtils.setField(packer, "tokenBudget", 150);
+        List<Document> documents = new ArrayList<>();
+        for (long userId = 1; userId <= 20; userId++) {
+            documents.add(chunk(userId, "skills", "Candidate skilled in Java and Kotlin number " + userId, 0.9 - userId / 100.0));
+            documents.add(chunk(userId, "experience", "Worked on distributed billing systems for years at company " + userId, 0.5));
+        }
+
+        CandidateContextPacker.PackedContext packed = packer.pack(documents);
+
+        assertTrue(packed.tokens() <= 150);
+        assertTrue(packed.candidates() > 0);
+        assertEquals(20, packed.candidates() + packed.droppedCandidates());
+        assertTrue(packed.text().contains("applications/10\n"));
+        assertFalse(packed.text().contains("applications/200"));
+        assertTrue(packed.text().contains(packed.droppedCandidates() + " more matching candidates were left out"));
+    }
+
+    @Test
+    @DisplayName("pack - ignores chunks without an applicant")
+    void pack_SkipsChunksWithoutApplicant() {
+        CandidateContextPacker.PackedContext packed = packer.pack(List.of(new Document("orphan chunk")));
+
+        assertEquals("", packed.text());
+        assertEquals(0, packed.candidates());
+    }
+}
@@ -0,0 +1,122 @@
+package com.upply.chat;
+
+import com.upply.profile.resume.chunks.ResumeIndexVersions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("CandidateRetrievalCache unit tests")
+class CandidateRetrievalCacheTest {
+
+    @Mock
+    private EmbeddingModel embeddingModel;
+
+    @Mock
+    private ResumeIndexVersions resumeIndexVersions;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CandidateRetrievalCache cache;
+    private final AtomicInteger searches = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CandidateRetrievalCache(embeddingModel, resumeIndexVersions, true, 0.9, 10, 4,
+                Duration.ofMinutes(30), meterRegistry);
+
+        when(resumeIndexVersions.current(anyLong())).thenReturn(OptionalLong.of(3));
+        when(embeddingModel.embed("top java candidates")).thenReturn(new float[]{1, 0, 0});
+        when(embeddingModel.embed("best java candidates")).thenReturn(new float[]{2, 0.2f, 0});
+        when(embeddingModel.embed("who knows design")).thenReturn(new float[]{0, 1, 0});
+    }
+
+    private Supplier<List<Document>> search(String text) {
+        return () -> {
+            searches.incrementAndGet();
+            return List.of(new Document(text));
+        };
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("chat.retrieval.cache.requests").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("search - reuses the result of a close earlier prompt in the same session")
+    void search_ReusesCloseQuery() {
+        List<Document> first = cache.search("s1", 10L, "top java candidates", search("first"));
+        List<Document> second = cache.search("s1", 10L, "best java candidates", search("second"));
+
+        assertEquals(1, searches.get());
+        assertEquals(first, second);
+        assertEquals(1, requests("hit"));
+        assertEquals(1, requests("miss"));
+    }
+
+    @Test
+    @DisplayName("search - searches again for unrelated prompts, other jobs and other sessions")
+    void search_MissesUnrelated() {
+        cache.search("s1", 10L, "top java candidates", search("java"));
+
+        cache.search("s1", 10L, "who knows design", search("design"));
+        cache.search("s1", 11L, "top java candidates", search("other job"));
+        cache.search("s2", 10L, "top java candidates", search("other session"));
+
+        assertEquals(4, searches.get());
+    }
+
+    @Test
+    @DisplayName("search - drops results once resume chunks of the job were indexed")
+    void search_InvalidatedByIndexVersion() {
+        cache.search("s1", 10L, "top java candidates", search("before"));
+        when(resumeIndexVersions.current(10L)).thenReturn(OptionalLong.of(4));
+
+        List<Document> after = cache.search("s1", 10L, "top java candidates", search("after"));
+
+        assertEquals(2, searches.get());
+        assertEquals("after", after.get(0).getText());
+    }
+
+    @Test
+    @DisplayName("search - bypasses the cache when the index version cannot be read")
+    void search_BypassWithoutVersion() {
+        when(resumeIndexVersions.current(10L)).thenReturn(OptionalLong.empty());
+
+        cache.search("s1", 10L, "top java candidates", search("a"));
+        cache.search("s1", 10L, "top java candidates", search("b"));
+
+        assertEquals(2, searches.get());
+        assertEquals(2, requests("bypass"));
+        verifyNoInteractions(embeddingModel);
+    }
+
+    @Test
+    @DisplayName("evictSession - forgets the session's results")
+    void evictSession_ForgetsResults() {
+        cache.search("s1", 10L, "top java candidates", search("a"));
+
+        cache.evictSession("s1");
+        cache.search("s1", 10L, "top java candidates", search("b"));
+
+        assertEquals(2, searches.get());
+    }
+}
@@ -0,0 +1,131 @@
+package com.upply.chat;
+
+import com.upply.chat.dto.RecruiterChatMapper;
+import com.upply.exception.custom.ResourceNotFoundException;
+import com.upply.job.Job;
+import com.upply.job.JobRepository;
+import com.upply.vector.hybrid.HybridRetriever;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.vectorstore.VectorStore;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("RecruiterChatSessionService unit tests")
+class RecruiterChatSessionServiceTest {
+
+    @Mock
+    private VectorStore vectorStore;
+
+    @Mock
+    private HybridRetriever hybridRetriever;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private ChatClient geminiChatClient;
+
+    @Mock
+    private ChatClient groqChatClient;
+
+    @Mock
+    private ChatMemory chatMemory;
+
+    @Mock
+    private RecruiterChatSessionRepository sessionRepository;
+
+    @Mock
+    private RecruiterChatMapper recruiterChatMapper;
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private CandidateRetrievalCache candidateRetrievalCache;
+
+    @Mock
+    private CandidateContextPacker candidateContextPacker;
+
+    private RecruiterChatSessionService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        service = new RecruiterChatSessionService(vectorStore, hybridRetriever, geminiChatClient, groqChatClient,
+                chatMemory, sessionRepository, recruiterChatMapper, jobRepository,
+                candidateRetrievalCache, candidateContextPacker);
+
+        Job job = Job.builder().id(7L).title("Backend Engineer").build();
+        when(sessionRepository.findBySessionId("session-1"))
+                .thenReturn(Optional.of(RecruiterChatSession.builder().sessionId("session-1").job(job).build()));
+        when(geminiChatClient.prompt()
+                .system(any(Consumer.class))
+                .messages(anyList())
+                .user(anyString())
+                .stream()
+                .content())
+                .thenReturn(Flux.just("Two ", "candidates."));
+    }
+
+    @Test
+    @DisplayName("streamChat - assembles candidate context, job context and history concurrently")
+    void streamChat_AssemblesContextConcurrently() {
+        // each step waits for the other two to have started; run one after another they time out
+        CyclicBarrier allStarted = new CyclicBarrier(3);
+        when(candidateRetrievalCache.search(eq("session-1"), eq(7L), anyString(), any())).thenAnswer(inv -> {
+            allStarted.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        when(jobRepository.findJobSkillNames(7L)).thenAnswer(inv -> {
+            allStarted.await(5, TimeUnit.SECONDS);
+            return List.of("Java");
+        });
+        when(chatMemory.get("session-1")).thenAnswer(inv -> {
+            allStarted.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        List<String> tokens = service.streamChat("session-1", "Who knows Kafka?")
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(List.of("Two ", "candidates."), tokens);
+    }
+
+    @Test
+    @DisplayName("streamChat - assembles nothing until the stream is subscribed")
+    void streamChat_Deferred() {
+        service.streamChat("session-1", "Who knows Kafka?");
+
+        verify(candidateRetrievalCache, never()).search(anyString(), anyLong(), anyString(), any());
+        verify(jobRepository, never()).findJobSkillNames(anyLong());
+        verify(chatMemory, never()).get(anyString());
+    }
+
+    @Test
+    @DisplayName("streamChat - rejects an unknown session before streaming")
+    void streamChat_UnknownSession() {
+        when(sessionRepository.findBySessionId("missing")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.streamChat("missing", "Who knows Kafka?"));
+    }
+}
@@ -0,0 +1,224 @@
+package com.upply.chat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("WriteBehindChatMemoryRepository unit tests")
+class WriteBehindChatMemoryRepositoryTest {
+
+    private static final String WINDOW_KEY = "chat-memory:window:session-1";
+    private static final String DIRTY_KEY = "chat-memory:dirty";
+    private static final String DELETED_KEY = "chat-memory:deleted:session-1";
+
+    @Mock
+    private ChatMemoryRepository delegate;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private final Map<String, String> windows = new HashMap<>();
+    private WriteBehindChatMemoryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(setOperations.move(eq(DIRTY_KEY), anyString(), startsWith("chat-memory:processing:"))).thenReturn(true);
+        doAnswer(inv -> windows.put(inv.getArgument(0), inv.getArgument(1)))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        when(valueOperations.get(anyString())).thenAnswer(inv -> windows.get(inv.<String>getArgument(0)));
+
+        // the worker only runs on close within a test
+        repository = new WriteBehindChatMemoryRepository(delegate, redisTemplate, Duration.ofHours(1), 2, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        repository.close();
+    }
+
+    private static List<Message> turn() {
+        return List.of(new UserMessage("Who knows Kafka?"), new AssistantMessage("Two candidates do."));
+    }
+
+    @Test
+    @DisplayName("saveAll - keeps the window in Redis and marks it dirty without touching the database")
+    void saveAll_WritesBehind() {
+        repository.saveAll("session-1", turn());
+
+        verify(setOperations).add(DIRTY_KEY, "session-1");
+        verify(delegate, never()).saveAll(anyString(), anyList());
+
+        List<Message> messages = repository.findByConversationId("session-1");
+        assertEquals(2, messages.size());
+        assertEquals(MessageType.USER, messages.get(0).getMessageType());
+        assertEquals("Two candidates do.", messages.get(1).getText());
+        verify(delegate, never()).findByConversationId(anyString());
+    }
+
+    @Test
+    @DisplayName("findByConversationId - loads a cold window from the database and caches it")
+    void findByConversationId_LoadsOnMiss() {
+        when(delegate.findByConversationId("session-1")).thenReturn(turn());
+
+        assertEquals(2, repository.findByConversationId("session-1").size());
+
+        verify(valueOperations).setIfAbsent(eq(WINDOW_KEY), anyString(), eq(Duration.ofHours(1)));
+    }
+
+    @Test
+    @DisplayName("flush - claims dirty conversations and releases them once persisted")
+    @SuppressWarnings("unchecked")
+    void flush_PersistsDirtyConversations() {
+        repository.saveAll("session-1", turn());
+        when(setOperations.distinctRandomMembers(DIRTY_KEY, 2)).thenReturn(Set.of("session-1"));
+
+        repository.flush();
+
+        ArgumentCaptor<List<Message>> saved = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<String> processing = ArgumentCaptor.forClass(String.class);
+        verify(setOperations).move(eq(DIRTY_KEY), eq("session-1"), processing.capture());
+        verify(delegate).saveAll(eq("session-1"), saved.capture());
+        verify(setOperations).remove(processing.getValue(), "session-1");
+        assertEquals("Who knows Kafka?", saved.getValue().get(0).getText());
+        assertEquals(MessageType.ASSISTANT, saved.getValue().get(1).getMessageType());
+    }
+
+    @Test
+    @DisplayName("flush - skips conversations another worker claimed first")
+    void flush_SkipsClaimedElsewhere() {
+        when(setOperations.distinctRandomMembers(DIRTY_KEY, 2)).thenReturn(Set.of("session-1"));
+        when(setOperations.move(eq(DIRTY_KEY), eq("session-1"), anyString())).thenReturn(false);
+
+        repository.flush();
+
+        verify(delegate, never()).saveAll(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("flush - requeues conversations claimed by a worker that stopped")
+    void flush_RecoversStaleWorkers() {
+        when(zSetOperations.rangeByScore(eq("chat-memory:workers"), eq(0.0), anyDouble())).thenReturn(Set.of("dead"));
+        when(setOperations.members("chat-memory:processing:dead")).thenReturn(Set.of("session-9"));
+
+        repository.flush();
+
+        verify(setOperations).move("chat-memory:processing:dead", "session-9", DIRTY_KEY);
+        verify(zSetOperations).remove("chat-memory:workers", "dead");
+    }
+
+    @Test
+    @DisplayName("flush - puts a conversation back in the dirty set when the database write fails")
+    void flush_RequeuesOnFailure() {
+        repository.saveAll("session-1", turn());
+        when(setOperations.distinctRandomMembers(DIRTY_KEY, 2)).thenReturn(Set.of("session-1"));
+        doThrow(new IllegalStateException("database down")).when(delegate).saveAll(eq("session-1"), anyList());
+
+        repository.flush();
+
+        verify(setOperations).move(startsWith("chat-memory:processing:"), eq("session-1"), eq(DIRTY_KEY));
+        verify(redisTemplate).expire(WINDOW_KEY, Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("saveAll - writes to the database directly when Redis is unavailable")
+    void saveAll_RedisDown() {
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+
+        repository.saveAll("session-1", turn());
+
+        verify(delegate).saveAll(eq("session-1"), anyList());
+    }
+
+    @Test
+    @DisplayName("close - drains dirty conversations before returning")
+    void close_FlushesPending() throws InterruptedException {
+        repository.saveAll("session-1", turn());
+        when(setOperations.distinctRandomMembers(DIRTY_KEY, 2)).thenReturn(Set.of("session-1"), Set.of());
+
+        repository.close();
+
+        verify(delegate).saveAll(eq("session-1"), anyList());
+    }
+
+    @Test
+    @DisplayName("deleteByConversationId - leaves a tombstone, then removes the window and the durable copy")
+    void deleteByConversationId_RemovesEverywhere() {
+        repository.deleteByConversationId("session-1");
+
+        InOrder order = inOrder(valueOperations, delegate);
+        order.verify(valueOperations).set(DELETED_KEY, "1", Duration.ofHours(1));
+        order.verify(delegate).deleteByConversationId("session-1");
+        verify(setOperations).remove(DIRTY_KEY, "session-1");
+        verify(redisTemplate).delete(WINDOW_KEY);
+    }
+
+    @Test
+    @DisplayName("flush - does not write back a conversation deleted before it was persisted")
+    void flush_SkipsDeleted() {
+        repository.saveAll("session-1", turn());
+        when(setOperations.distinctRandomMembers(DIRTY_KEY, 2)).thenReturn(Set.of("session-1"));
+        when(redisTemplate.hasKey(DELETED_KEY)).thenReturn(true);
+
+        repository.flush();
+
+        verify(delegate, never()).saveAll(anyString(), anyList());
+        verify(setOperations).remove(startsWith("chat-memory:processing:"), eq("session-1"));
+    }
+
+    @Test
+    @DisplayName("flush - deletes again a conversation deleted while it was being persisted")
+    void flush_UndoesSaveRacingDelete() {
+        repository.saveAll("session-1", turn());
+        when(setOperations.distinctRandomMembers(DIRTY_KEY, 2)).thenReturn(Set.of("session-1"));
+        when(redisTemplate.hasKey(DELETED_KEY)).thenReturn(false, true);
+
+        repository.flush();
+
+        InOrder order = inOrder(delegate);
+        order.verify(delegate).saveAll(eq("session-1"), anyList());
+        order.verify(delegate).deleteByConversationId("session-1");
+    }
+}
@@ -2,11 +2,15 @@ package com.upply.config;
 
 
 import com.google.firebase.FirebaseApp;
+import com.upply.ai.ChatProviderRouter;
 import com.upply.application.dto.ApplicationMatchEvent;
 import com.upply.job.dto.PostJobEvent;
 import com.upply.notification.dto.DispatchPayload;
 import com.upply.notification.dto.NotificationEvent;
 import com.upply.user.dto.SkillEvent;
+import com.upply.vector.VectorLookup;
+import com.upply.vector.hybrid.HybridRetriever;
+import com.upply.vector.hybrid.LocalHybridRetriever;
 import org.mockito.Mockito;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.memory.ChatMemory;
@@ -109,6 +113,36 @@ public class UpplyApplicationTests {
         return Mockito.mock(VectorStore.class);
     }
 
+    @Bean
+    public VectorLookup jobsVectorLookup() {
+        return Mockito.mock(VectorLookup.class);
+    }
+
+    @Bean
+    public VectorLookup userSkillsVectorLookup() {
+        return Mockito.mock(VectorLookup.class);
+    }
+
+    @Bean
+    public ChatProviderRouter resumeAnalysisRouter() {
+        return Mockito.mock(ChatProviderRouter.class);
+    }
+
+    @Bean
+    public ChatProviderRouter resumeParserRouter() {
+        return Mockito.mock(ChatProviderRouter.class);
+    }
+
+    @Bean
+    public ChatProviderRouter applicationSummaryRouter() {
+        return Mockito.mock(ChatProviderRouter.class);
+    }
+
+    @Bean
+    public ChatProviderRouter jobImportRouter() {
+        return Mockito.mock(ChatProviderRouter.class);
+    }
+
     @Bean
     public ChatClient recruiterRagGeminiChatClient() {
         return Mockito.mock(ChatClient.class);
@@ -138,4 +172,9 @@ public class UpplyApplicationTests {
     public EmbeddingModel embeddingModel() {
         return Mockito.mock(EmbeddingModel.class);
     }
+
+    @Bean
+    public HybridRetriever resumeHybridRetriever(EmbeddingModel embeddingModel) {
+        return new LocalHybridRetriever(embeddingModel);
+    }
 }
@@ -0,0 +1,90 @@
+package com.upply.job;
+
+import com.upply.application.dto.ApplicationExportRow;
+import com.upply.application.enums.ApplicationStatus;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ApplicationExcelExportService unit tests")
+class ApplicationExcelExportServiceTest {
+
+    private ApplicationExcelExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ApplicationExcelExportService();
+        exportService.APPLICATION_URL = "https://upply.test/applications/";
+        ReflectionTestUtils.setField(exportService, "rowAccessWindow", 10);
+    }
+
+    private static ApplicationExportRow row(long id, double matchingRatio) {
+        return new ApplicationExportRow(id, "Jane", "Doe", "jane" + id + "@mail.com", null,
+                "Strong backend profile", "Java Developer", null, ApplicationStatus.SUBMITTED,
+                matchingRatio, LocalDateTime.of(2026, 1, 2, 3, 4, 5));
+    }
+
+    @Test
+    @DisplayName("writeExcel - writes every row even when they exceed the row window")
+    void writeExcel_WritesAllRowsPastWindow() throws Exception {
+        List<ApplicationExportRow> rows = IntStream.range(0, 250).mapToObj(i -> row(i, 0.5)).toList();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int written = exportService.writeExcel(rows.iterator(), out);
+
+        assertEquals(250, written);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Applications");
+            assertEquals(250, sheet.getLastRowNum());
+            assertEquals("Applicant Name", sheet.getRow(0).getCell(0).getStringCellValue());
+            assertEquals("jane249@mail.com", sheet.getRow(250).getCell(1).getStringCellValue());
+        }
+    }
+
+    @Test
+    @DisplayName("writeExcel - maps row fields and uses fixed column widths")
+    void writeExcel_MapsFields() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.writeExcel(List.of(row(7, 0.876)).iterator(), out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Applications");
+            Row row = sheet.getRow(1);
+            assertEquals("Jane Doe", row.getCell(0).getStringCellValue());
+            assertEquals("", row.getCell(2).getStringCellValue());
+            assertEquals("Java Developer", row.getCell(4).getStringCellValue());
+            assertEquals("HYPERLINK(\"https://upply.test/applications/7/resume/view\",\"https://upply.test/applications/7/resume/view\")",
+                    row.getCell(6).getCellFormula());
+            assertEquals("SUBMITTED", row.getCell(7).getStringCellValue());
+            assertEquals(0.88, row.getCell(8).getNumericCellValue(), 0.0);
+            assertEquals("2026-01-02 03:04:05", row.getCell(9).getStringCellValue());
+            assertEquals(25 * 256, sheet.getColumnWidth(0));
+        }
+    }
+
+    @Test
+    @DisplayName("writeExcel - writes only the header when there are no applications")
+    void writeExcel_EmptyExport() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int written = exportService.writeExcel(List.<ApplicationExportRow>of().iterator(), out);
+
+        assertEquals(0, written);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(0, workbook.getSheet("Applications").getLastRowNum());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.upply.job;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ExportTaskStore unit tests")
+class ExportTaskStoreTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisTemplate<String, byte[]> chunkTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private ValueOperations<String, byte[]> valueOperations;
+
+    @TempDir
+    private Path tempDir;
+
+    private final Map<String, byte[]> chunks = new HashMap<>();
+    private ExportTaskStore store;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(chunkTemplate.opsForValue()).thenReturn(valueOperations);
+        doAnswer(inv -> chunks.put(inv.getArgument(0), inv.getArgument(1)))
+                .when(valueOperations).set(anyString(), any(byte[].class), any(Duration.class));
+        when(valueOperations.get(anyString())).thenAnswer(inv -> chunks.get(inv.<String>getArgument(0)));
+
+        store = new ExportTaskStore(redisTemplate, chunkTemplate, DataSize.ofBytes(4));
+    }
+
+    @Test
+    @DisplayName("storeFile - splits the file into chunks that openFile reassembles")
+    void storeFile_RoundTripsThroughChunks() throws IOException {
+        byte[] content = "0123456789".getBytes();
+        Path file = Files.write(tempDir.resolve("export.xlsx"), content);
+        ExportTask task = new ExportTask("task-1", 1L, 600);
+
+        store.storeFile(task, file);
+
+        assertEquals(3, task.getChunkCount());
+        assertEquals(10, task.getSize());
+        assertArrayEquals("0123".getBytes(), chunks.get("export-task:chunk:task-1:0"));
+        verify(valueOperations, times(3)).set(startsWith("export-task:chunk:task-1:"), any(byte[].class),
+                argThat(ttl -> ttl.compareTo(Duration.ofSeconds(600)) <= 0 && ttl.compareTo(Duration.ZERO) > 0));
+        try (InputStream inputStream = store.openFile(task)) {
+            assertArrayEquals(content, inputStream.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("openFile - fails when a chunk has expired mid-download")
+    void openFile_ThrowsOnMissingChunk() throws IOException {
+        Path file = Files.write(tempDir.resolve("export.xlsx"), "0123456789".getBytes());
+        ExportTask task = new ExportTask("task-1", 1L, 600);
+        store.storeFile(task, file);
+        chunks.remove("export-task:chunk:task-1:1");
+
+        try (InputStream inputStream = store.openFile(task)) {
+            assertThrows(IOException.class, inputStream::readAllBytes);
+        }
+    }
+
+    @Test
+    @DisplayName("find - rebuilds the task from its hash")
+    void find_ReadsTaskHash() {
+        Instant createdAt = Instant.parse("2026-01-01T10:00:00Z");
+        when(hashOperations.entries("export-task:task-1")).thenReturn(Map.of(
+                "jobId", "7",
+                "status", "FAILED",
+                "chunkCount", "0",
+                "size", "0",
+                "createdAt", String.valueOf(createdAt.toEpochMilli()),
+                "expireAt", String.valueOf(createdAt.plusSeconds(600).toEpochMilli()),
+                "errorMessage", "boom"));
+
+        ExportTask task = store.find("task-1").orElseThrow();
+
+        assertEquals(7L, task.getJobId());
+        assertEquals(ExportTask.Status.FAILED, task.getStatus());
+        assertEquals("boom", task.getErrorMessage());
+        assertEquals(createdAt, task.getCreatedAt());
+        assertEquals(createdAt.plusSeconds(600), task.getExpireAt());
+    }
+
+    @Test
+    @DisplayName("find - returns empty once the hash has expired")
+    void find_EmptyWhenExpired() {
+        when(hashOperations.entries("export-task:task-1")).thenReturn(Map.of());
+
+        assertEquals(Optional.empty(), store.find("task-1"));
+    }
+
+    @Test
+    @DisplayName("save - skips tasks that are already past their expiry")
+    void save_SkipsExpiredTask() {
+        ExportTask task = new ExportTask("task-1", 1L, 0);
+
+        store.save(task);
+
+        verify(redisTemplate, never()).execute(any(SessionCallback.class));
+    }
+}
@@ -0,0 +1,65 @@
+package com.upply.job;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JobFullTextQuery unit tests")
+class JobFullTextQueryTest {
+
+    @Test
+    @DisplayName("parse - requires every term and prefix-matches stemmed forms")
+    void parse_StemsAndRequiresTerms() {
+        JobFullTextQuery query = JobFullTextQuery.parse("Senior Java Developers, Engineering");
+
+        assertEquals("+senior* +java* +developer* +engineer*", query.booleanQuery());
+        assertTrue(query.shortTerms().isEmpty());
+    }
+
+    @Test
+    @DisplayName("parse - strips boolean-mode operators from user input")
+    void parse_StripsOperators() {
+        JobFullTextQuery query = JobFullTextQuery.parse("-python +\"spring boot\" (kafka)*");
+
+        assertEquals("+python* +spring* +boot* +kafka*", query.booleanQuery());
+    }
+
+    @Test
+    @DisplayName("parse - drops stopwords and keeps two-letter terms for LIKE matching")
+    void parse_SeparatesShortTerms() {
+        JobFullTextQuery query = JobFullTextQuery.parse("the AI engineer for Go");
+
+        assertEquals("+engineer*", query.booleanQuery());
+        assertEquals(List.of("ai", "go"), query.shortTerms());
+    }
+
+    @Test
+    @DisplayName("parse - keeps single letters and symbol names as short terms instead of dropping them")
+    void parse_OnlyShortTerms() {
+        JobFullTextQuery query = JobFullTextQuery.parse("UI c# C++ r");
+
+        assertFalse(query.hasIndexedTerms());
+        assertEquals(List.of("ui", "c#", "c++", "r"), query.shortTerms());
+    }
+
+    @Test
+    @DisplayName("likePatterns - matches single letters as words and longer terms anywhere")
+    void likePatterns_WordsForSingleLetters() {
+        assertEquals(List.of("%c#%"), JobFullTextQuery.likePatterns("c#"));
+
+        List<String> patterns = JobFullTextQuery.likePatterns("r");
+        assertTrue(patterns.containsAll(List.of("r", "% r", "r %", "% r %", "% r,%")));
+        assertFalse(patterns.contains("%r%"));
+    }
+
+    @Test
+    @DisplayName("stem - leaves short words and double-s endings alone")
+    void stem_KeepsShortWords() {
+        assertEquals("bus", JobFullTextQuery.stem("bus"));
+        assertEquals("access", JobFullTextQuery.stem("access"));
+        assertEquals("manag", JobFullTextQuery.stem("managed"));
+    }
+}
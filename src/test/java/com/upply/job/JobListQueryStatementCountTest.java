@@ -0,0 +1,130 @@
+package com.upply.job;
+
+import com.upply.config.Beans;
+import com.upply.job.dto.JobFilter;
+import com.upply.job.dto.JobListView;
+import com.upply.job.enums.*;
+import com.upply.organization.Organization;
+import com.upply.organization.OrganizationRepository;
+import com.upply.user.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import(Beans.class)
+@DisplayName("Job list queries statement count")
+class JobListQueryStatementCountTest {
+
+    private static final int JOBS = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    private Organization organization;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        organization = entityManager.persist(Organization.builder().name("Org").domain("org.com").build());
+        Instant now = Instant.now();
+        for (int i = 0; i < JOBS; i++) {
+            // a distinct poster and organization per job is the worst case for eager to-one loading
+            Organization jobOrganization = i == 0 ? organization
+                    : entityManager.persist(Organization.builder().name("Org " + i).domain("org" + i + ".com").build());
+            User poster = entityManager.persist(User.builder()
+                    .email("recruiter" + i + "@org.com")
+                    .password("secret")
+                    .organization(jobOrganization)
+                    .build());
+            entityManager.persist(Job.builder()
+                    .title("Java Developer " + i)
+                    .description("Description " + i)
+                    .status(JobStatus.OPEN)
+                    .type(JobType.FULL_TIME)
+                    .seniority(JobSeniority.MID)
+                    .model(JobModel.REMOTE)
+                    .source(JobSource.INTERNAL)
+                    .createdDate(now.minusSeconds(i))
+                    .postedBy(poster)
+                    .organization(i % 2 == 0 ? organization : jobOrganization)
+                    .organizationName("Org")
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("findByStatus - one select and one count per page")
+    void findByStatus_FixedStatementCount() {
+        Page<JobListView> page = jobRepository.findByStatus(JobStatus.OPEN,
+                PageRequest.of(0, 10, Sort.by("createdDate").descending()));
+
+        assertEquals(10, page.getContent().size());
+        assertEquals(JOBS, page.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("findListViews - specification search runs one select and one count per page")
+    void findListViews_FixedStatementCount() {
+        JobFilter filter = JobFilter.builder().type(JobType.FULL_TIME).model(JobModel.REMOTE).build();
+
+        Page<JobListView> page = jobRepository.findListViews(JobSpecification.withFilters(filter),
+                PageRequest.of(1, 10, Sort.by("createdDate").descending()));
+
+        assertEquals(10, page.getContent().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("findListViews - cursor page runs a single select")
+    void findListViews_CursorPageSingleStatement() {
+        List<JobListView> rows = jobRepository.findListViews(JobSpecification.withFilters(new JobFilter()),
+                Sort.by(Sort.Order.desc("createdDate"), Sort.Order.desc("id")), 11);
+
+        assertEquals(11, rows.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("findJobsByOrganizationIdAndStatus - one select and one count per page")
+    void findJobsByOrganization_FixedStatementCount() {
+        Page<JobListView> page = organizationRepository.findJobsByOrganizationIdAndStatus(
+                organization.getId(), JobStatus.OPEN, PageRequest.of(0, 5, Sort.by("createdDate").descending()));
+
+        assertEquals(5, page.getContent().size());
+        assertEquals(JOBS / 2, page.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
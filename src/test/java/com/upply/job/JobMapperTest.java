@@ -2,6 +2,7 @@ package com.upply.job;
 
 import com.upply.job.dto.JobMapper;
 import com.upply.job.dto.JobListResponse;
+import com.upply.job.dto.JobListView;
 import com.upply.job.dto.JobRequest;
 import com.upply.job.dto.JobResponse;
 import com.upply.job.dto.MatchedJobListResponse;
@@ -122,6 +123,28 @@ class JobMapperTest {
         assertEquals(testJob.getCreatedDate(), result.getCreatedDate());
     }
 
+    @Test
+    @DisplayName("toJobListResponse should map JobListView to the same JobListResponse as the entity")
+    void shouldMapJobListViewToJobListResponse() {
+        JobListView view = new JobListView(testJob.getId(), testJob.getTitle(), testJob.getOrganizationName(),
+                testJob.getType(), testJob.getSeniority(), testJob.getModel(), testJob.getStatus(),
+                testJob.getSource(), testJob.getLocation(), testJob.getCreatedDate());
+
+        JobListResponse fromView = jobMapper.toJobListResponse(view);
+        JobListResponse fromEntity = jobMapper.toJobListResponse(testJob);
+
+        assertEquals(fromEntity.getId(), fromView.getId());
+        assertEquals(fromEntity.getTitle(), fromView.getTitle());
+        assertEquals(fromEntity.getOrganizationName(), fromView.getOrganizationName());
+        assertEquals(fromEntity.getType(), fromView.getType());
+        assertEquals(fromEntity.getSeniority(), fromView.getSeniority());
+        assertEquals(fromEntity.getModel(), fromView.getModel());
+        assertEquals(fromEntity.getStatus(), fromView.getStatus());
+        assertEquals(fromEntity.getJobSource(), fromView.getJobSource());
+        assertEquals(fromEntity.getLocation(), fromView.getLocation());
+        assertEquals(fromEntity.getCreatedDate(), fromView.getCreatedDate());
+    }
+
     @Test
     @DisplayName("toMatchedJobListResponse should map Job to MatchedJobListResponse with match score")
     void shouldMapJobToMatchedJobListResponse() {
@@ -2,6 +2,8 @@ package com.upply.job;
 
 import com.upply.user.User;
 import com.upply.user.UserRepository;
+import com.upply.vector.VectorLookup;
+import com.upply.vector.VectorStoreBatchWriter;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,9 +14,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -33,12 +37,23 @@ class JobMatchingServiceTest {
     @Mock
     private VectorStore userSkillsVectorStore;
 
+    @Mock
+    private VectorLookup jobsVectorLookup;
+
+    @Mock
+    private VectorLookup userSkillsVectorLookup;
+
+    @Mock
+    private EmbeddingModel embeddingModel;
+
     @Mock
     private JobRepository jobRepository;
 
     @Mock
     private UserRepository userRepository;
 
+    private VectorStoreBatchWriter jobsIndexWriter;
+
     private JobMatchingService jobMatchingService;
 
     private Job testJob;
@@ -46,7 +61,9 @@ class JobMatchingServiceTest {
 
     @BeforeEach
     void setUp() {
-        jobMatchingService = new JobMatchingService(jobsVectorStore, userSkillsVectorStore, jobRepository, userRepository);
+        jobsIndexWriter = new VectorStoreBatchWriter(jobsVectorStore, "jobs", 16, Duration.ZERO);
+        jobMatchingService = new JobMatchingService(jobsVectorStore, userSkillsVectorStore, jobsIndexWriter,
+                jobsVectorLookup, userSkillsVectorLookup, embeddingModel, jobRepository, userRepository);
         
         testJob = mock(Job.class);
         testUser = mock(User.class);
@@ -62,7 +79,8 @@ class JobMatchingServiceTest {
     }
 
     @AfterEach
-    void tearDown() {
+    void tearDown() throws InterruptedException {
+        jobsIndexWriter.close();
         clearInvocations(jobsVectorStore, userSkillsVectorStore, jobRepository, userRepository);
     }
 
@@ -136,27 +154,20 @@ class JobMatchingServiceTest {
     @Test
     @DisplayName("calculateMatchScore - returns score between 0 and 1")
     void calculateMatchScore_ReturnsScore() {
-        when(userRepository.findUserSkillNames(1L)).thenReturn(List.of("Java", "Spring Boot"));
-
-        Document doc = mock(Document.class);
-        when(doc.getId()).thenReturn("1");
-        when(doc.getScore()).thenReturn(0.85);
-
-        when(jobsVectorStore.similaritySearch(any(SearchRequest.class)))
-                .thenReturn(List.of(doc));
+        when(userSkillsVectorLookup.findVectors(List.of("1"))).thenReturn(Map.of("1", new float[]{1f, 0f, 0f}));
+        when(jobsVectorLookup.findVectors(List.of("1"))).thenReturn(Map.of("1", new float[]{0.6f, 0.8f, 0f}));
 
         double score = jobMatchingService.calculateMatchScore(testUser, testJob);
 
-        assertTrue(score >= 0.0 && score <= 1.0);
+        // cos = 0.6 on the 1 / (2 - cos) scale
+        assertEquals(0.71, score, 0.0);
     }
 
     @Test
-    @DisplayName("calculateMatchScore - returns 0 when no matching document found")
+    @DisplayName("calculateMatchScore - returns 0 when the job has no stored vector")
     void calculateMatchScore_ReturnsZeroWhenNotFound() {
-        when(userRepository.findUserSkillNames(1L)).thenReturn(List.of("Java", "Spring Boot"));
-
-        when(jobsVectorStore.similaritySearch(any(SearchRequest.class)))
-                .thenReturn(List.of());
+        when(userSkillsVectorLookup.findVectors(List.of("1"))).thenReturn(Map.of("1", new float[]{1f, 0f, 0f}));
+        when(jobsVectorLookup.findVectors(List.of("1"))).thenReturn(Map.of());
 
         double score = jobMatchingService.calculateMatchScore(testUser, testJob);
 
@@ -166,15 +177,61 @@ class JobMatchingServiceTest {
     @Test
     @DisplayName("calculateMatchScore - handles exception and returns 0")
     void calculateMatchScore_HandlesException() {
-        when(userRepository.findUserSkillNames(1L)).thenReturn(List.of("Java", "Spring Boot"));
-        when(jobsVectorStore.similaritySearch(any(SearchRequest.class)))
-                .thenThrow(new RuntimeException("Error"));
+        when(userSkillsVectorLookup.findVectors(anyCollection())).thenThrow(new RuntimeException("Error"));
 
         double score = jobMatchingService.calculateMatchScore(testUser, testJob);
 
         assertEquals(0.0, score, 0.0);
     }
 
+    @Test
+    @DisplayName("calculateMatchScores - scores every job with a stored vector in one lookup")
+    void calculateMatchScores_ForUser_ScoresAllJobs() {
+        when(userSkillsVectorLookup.findVectors(List.of("1"))).thenReturn(Map.of("1", new float[]{1f, 0f}));
+        when(jobsVectorLookup.findVectors(List.of("10", "11", "12"))).thenReturn(Map.of(
+                "10", new float[]{1f, 0f},
+                "11", new float[]{0f, 1f}));
+
+        Map<Long, Double> scores = jobMatchingService.calculateMatchScores(testUser, List.of(10L, 11L, 12L));
+
+        assertEquals(Map.of(10L, 1.0, 11L, 0.5), scores);
+        verify(jobsVectorLookup, times(1)).findVectors(anyCollection());
+        verifyNoInteractions(embeddingModel);
+    }
+
+    @Test
+    @DisplayName("calculateMatchScores - embeds the profile when the user has no stored vector")
+    void calculateMatchScores_ForUser_EmbedsMissingProfile() {
+        when(userSkillsVectorLookup.findVectors(List.of("1"))).thenReturn(Map.of());
+        when(userRepository.findUserSkillNames(1L)).thenReturn(List.of("Java"));
+        when(embeddingModel.embed(anyString())).thenReturn(new float[]{0f, 1f});
+        when(jobsVectorLookup.findVectors(List.of("10"))).thenReturn(Map.of("10", new float[]{0f, 2f}));
+
+        Map<Long, Double> scores = jobMatchingService.calculateMatchScores(testUser, List.of(10L));
+
+        assertEquals(Map.of(10L, 1.0), scores);
+    }
+
+    @Test
+    @DisplayName("calculateMatchScores - scores one job against many users")
+    void calculateMatchScores_ForJob_ScoresAllUsers() {
+        when(jobsVectorLookup.findVectors(List.of("1"))).thenReturn(Map.of("1", new float[]{0f, 1f}));
+        when(userSkillsVectorLookup.findVectors(List.of("5", "6"))).thenReturn(Map.of(
+                "5", new float[]{0f, 1f},
+                "6", new float[]{0f, -1f}));
+
+        Map<Long, Double> scores = jobMatchingService.calculateMatchScores(testJob, List.of(5L, 6L));
+
+        assertEquals(Map.of(5L, 1.0, 6L, 0.33), scores);
+    }
+
+    @Test
+    @DisplayName("calculateMatchScores - empty ids skip the lookups")
+    void calculateMatchScores_EmptyIds() {
+        assertTrue(jobMatchingService.calculateMatchScores(testUser, List.of()).isEmpty());
+        verifyNoInteractions(jobsVectorLookup, userSkillsVectorLookup);
+    }
+
     @Test
     @DisplayName("findMatchingUsers - returns matching users for job")
     void findMatchingUsers_ReturnsMatchingUsers() {
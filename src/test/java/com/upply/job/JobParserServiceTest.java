@@ -1,5 +1,6 @@
 package com.upply.job;
 
+import com.upply.ai.ChatProviderRouter;
 import com.upply.exception.custom.BusinessLogicException;
 import com.upply.job.dto.ParsedJobResponse;
 import com.upply.job.enums.JobModel;
@@ -14,7 +15,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.ai.chat.client.ChatClient;
 
 import java.util.Arrays;
 import java.util.List;
@@ -31,10 +31,7 @@ import static org.mockito.Mockito.*;
 class JobParserServiceTest {
 
     @Mock
-    private ChatClient geminiChatClient;
-
-    @Mock
-    private ChatClient groqChatClient;
+    private ChatProviderRouter jobImportRouter;
 
     @Mock
     private SkillRepository skillRepository;
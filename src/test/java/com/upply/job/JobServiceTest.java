@@ -2,6 +2,7 @@ package com.upply.job;
 
 import com.upply.application.ApplicationRepository;
 import com.upply.application.dto.ApplicationMapper;
+import com.upply.common.Cursor;
 import com.upply.exception.custom.BusinessLogicException;
 import com.upply.exception.custom.OperationNotPermittedException;
 import com.upply.exception.custom.ResourceNotFoundException;
@@ -18,8 +19,10 @@ import com.upply.job.enums.JobType;
 import com.upply.job.enums.JobModel;
 import com.upply.job.ApplicationExcelExportService;
 import com.upply.job.dto.ExportTaskMapper;
+import com.upply.job.dto.ExportTaskResponse;
 import com.upply.job.dto.MatchedJobListResponse;
 import com.upply.job.dto.JobListResponse;
+import com.upply.job.dto.JobListView;
 import com.upply.notification.dto.NotificationEvent;
 import com.upply.organization.Organization;
 import com.upply.profile.skill.Skill;
@@ -30,6 +33,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -41,8 +45,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -71,6 +80,9 @@ class JobServiceTest {
     @Mock
     private JobMatchingService jobMatchingService;
 
+    @Mock
+    private MatchedJobsService matchedJobsService;
+
     @Mock
     private ApplicationExcelExportService applicationExcelExportService;
 
@@ -86,6 +98,12 @@ class JobServiceTest {
     @Mock
     private KafkaTemplate<String, PostJobEvent> postJobEventKafkaTemplate;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ExportTaskStore exportTaskStore;
+
     @InjectMocks
     private JobService jobService;
 
@@ -186,14 +204,19 @@ class JobServiceTest {
         assertTrue(exception.getMessage().contains("999"));
     }
 
+    private static JobListView listView(long id, Instant createdDate) {
+        return new JobListView(id, "Software Engineer", "Test Organization", JobType.FULL_TIME,
+                JobSeniority.SENIOR, JobModel.REMOTE, JobStatus.OPEN, JobSource.INTERNAL, "Remote", createdDate);
+    }
+
     @Test
     @DisplayName("getAllOpenJobs should return paginated results")
     void shouldGetAllOpenJobsSuccessfully() {
-        Page<Job> jobPage = new PageImpl<>(List.of(testJob));
+        Page<JobListView> jobPage = new PageImpl<>(List.of(listView(1L, Instant.now())));
         
         when(jobRepository.findByStatus(eq(JobStatus.OPEN), any(Pageable.class)))
                 .thenReturn(jobPage);
-        when(jobMapper.toJobListResponse(any(Job.class))).thenReturn(mock(JobListResponse.class));
+        when(jobMapper.toJobListResponse(any(JobListView.class))).thenReturn(mock(JobListResponse.class));
 
         var result = jobService.getAllOpenJobs(0, 10, mockAuthentication);
 
@@ -204,29 +227,179 @@ class JobServiceTest {
     @DisplayName("searchJobs should return jobs with filters")
     void shouldSearchJobsSuccessfully() {
         JobFilter filter = new JobFilter();
-        Page<Job> jobPage = new PageImpl<>(List.of(testJob));
+        Page<JobListView> jobPage = new PageImpl<>(List.of(listView(1L, Instant.now())));
         
-        when(jobRepository.findAll(any(org.springframework.data.jpa.domain.Specification.class), any(Pageable.class)))
+        when(jobRepository.findListViews(any(org.springframework.data.jpa.domain.Specification.class), any(Pageable.class)))
                 .thenReturn(jobPage);
-        when(jobMapper.toJobListResponse(any(Job.class))).thenReturn(mock(JobListResponse.class));
+        when(jobMapper.toJobListResponse(any(JobListView.class))).thenReturn(mock(JobListResponse.class));
 
         var result = jobService.searchJobs(0, 10, filter);
 
         assertNotNull(result);
     }
 
+    @Test
+    @DisplayName("searchJobs should leave ordering to relevance when a keyword is given")
+    void shouldSearchJobsByRelevanceWhenKeywordGiven() {
+        JobFilter filter = JobFilter.builder().keyword("java developer").build();
+        Page<JobListView> jobPage = new PageImpl<>(List.of(listView(1L, Instant.now())));
+
+        when(jobRepository.findListViews(any(org.springframework.data.jpa.domain.Specification.class), any(Pageable.class)))
+                .thenReturn(jobPage);
+        when(jobMapper.toJobListResponse(any(JobListView.class))).thenReturn(mock(JobListResponse.class));
+
+        jobService.searchJobs(0, 10, filter);
+
+        verify(jobRepository).findListViews(any(org.springframework.data.jpa.domain.Specification.class),
+                argThat((Pageable pageable) -> pageable.getSort().isUnsorted()));
+    }
+
+
+    @Test
+    @DisplayName("getAllOpenJobsByCursor should return a continuation token when more rows exist")
+    void shouldGetOpenJobsByCursorWithNextPage() {
+        Instant now = Instant.parse("2026-01-01T10:00:00.123456Z");
+        List<JobListView> rows = List.of(listView(3L, now), listView(2L, now), listView(1L, now.minusSeconds(5)));
+
+        when(jobRepository.findByStatusBefore(eq(JobStatus.OPEN), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(rows);
+        when(jobMapper.toJobListResponse(any(JobListView.class))).thenReturn(mock(JobListResponse.class));
+
+        var result = jobService.getAllOpenJobsByCursor(null, 2);
+
+        assertEquals(2, result.getContent().size());
+        assertFalse(result.isLast());
+        assertEquals(new Cursor(now, 2L), Cursor.decode(result.getNextCursor()));
+        verify(jobRepository).findByStatusBefore(eq(JobStatus.OPEN), isNull(), isNull(),
+                argThat((Pageable pageable) -> pageable.getPageSize() == 3 && pageable.getOffset() == 0));
+    }
+
+    @Test
+    @DisplayName("getAllOpenJobsByCursor should continue from the decoded cursor and mark the last page")
+    void shouldGetOpenJobsByCursorLastPage() {
+        Instant createdDate = Instant.parse("2026-01-01T10:00:00Z");
+        JobListView job = listView(1L, createdDate.minusSeconds(5));
+
+        when(jobRepository.findByStatusBefore(eq(JobStatus.OPEN), eq(createdDate), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(job));
+        when(jobMapper.toJobListResponse(any(JobListView.class))).thenReturn(mock(JobListResponse.class));
+
+        var result = jobService.getAllOpenJobsByCursor(new Cursor(createdDate, 2L).encode(), 2);
+
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isLast());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("getAllOpenJobsByCursor should reject a malformed cursor")
+    void shouldRejectMalformedCursor() {
+        assertThrows(BusinessLogicException.class, () -> jobService.getAllOpenJobsByCursor("not-a-cursor", 10));
+        verifyNoInteractions(jobRepository);
+    }
+
+    private ExportTask awaitExport(String taskId) throws InterruptedException {
+        ArgumentCaptor<ExportTask> captor = ArgumentCaptor.forClass(ExportTask.class);
+        verify(exportTaskStore, timeout(2000).times(2)).save(captor.capture());
+        ExportTask task = captor.getValue();
+        assertEquals(taskId, task.getTaskId());
+        return task;
+    }
+
+    @Test
+    @DisplayName("startExportTask should copy the export into the task store and delete the temp file")
+    void shouldExportApplicationsToTaskStore() throws Exception {
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(testJob));
+        when(exportTaskMapper.toExportTaskResponse(any(ExportTask.class)))
+                .thenAnswer(inv -> ExportTaskResponse.builder().taskId(((ExportTask) inv.getArgument(0)).getTaskId()).build());
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                ((org.springframework.transaction.support.TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        when(applicationRepository.streamExportRows(1L)).thenReturn(Stream.empty());
+        when(applicationExcelExportService.writeExcel(any(), any())).thenAnswer(inv -> {
+            ((java.io.OutputStream) inv.getArgument(1)).write(new byte[]{1, 2, 3});
+            return 0;
+        });
+        List<Path> storedFiles = new ArrayList<>();
+        doAnswer(inv -> {
+            Path file = inv.getArgument(1);
+            assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(file));
+            storedFiles.add(file);
+            return null;
+        }).when(exportTaskStore).storeFile(any(ExportTask.class), any(Path.class));
+
+        String taskId = jobService.startExportTask(1L, mockAuthentication).taskId();
+        ExportTask task = awaitExport(taskId);
+
+        assertEquals(ExportTask.Status.COMPLETED, task.getStatus());
+        assertEquals(1, storedFiles.size());
+        assertFalse(Files.exists(storedFiles.get(0)));
+    }
+
+    @Test
+    @DisplayName("startExportTask should save the task as failed when the export throws")
+    void shouldFailExport() throws Exception {
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(testJob));
+        when(exportTaskMapper.toExportTaskResponse(any(ExportTask.class)))
+                .thenAnswer(inv -> ExportTaskResponse.builder().taskId(((ExportTask) inv.getArgument(0)).getTaskId()).build());
+        when(transactionTemplate.execute(any())).thenThrow(new RuntimeException("database unavailable"));
+
+        String taskId = jobService.startExportTask(1L, mockAuthentication).taskId();
+        ExportTask task = awaitExport(taskId);
+
+        assertEquals(ExportTask.Status.FAILED, task.getStatus());
+        assertEquals("database unavailable", task.getErrorMessage());
+        verify(exportTaskStore, never()).storeFile(any(), any());
+
+        when(exportTaskStore.find(taskId)).thenReturn(Optional.of(task));
+        assertThrows(BusinessLogicException.class, () -> jobService.getExportedFile(1L, taskId, mockAuthentication));
+    }
+
+    @Test
+    @DisplayName("startExportTask should report the task as failed when saving it as completed throws")
+    void shouldFailExportWhenCompletionNotSaved() throws Exception {
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(testJob));
+        when(exportTaskMapper.toExportTaskResponse(any(ExportTask.class)))
+                .thenAnswer(inv -> ExportTaskResponse.builder().taskId(((ExportTask) inv.getArgument(0)).getTaskId()).build());
+        when(transactionTemplate.execute(any())).thenReturn(0);
+        List<ExportTask.Status> saved = new ArrayList<>();
+        doAnswer(inv -> {
+            ExportTask.Status status = ((ExportTask) inv.getArgument(0)).getStatus();
+            saved.add(status);
+            if (status == ExportTask.Status.COMPLETED) {
+                throw new RuntimeException("redis unavailable");
+            }
+            return null;
+        }).when(exportTaskStore).save(any(ExportTask.class));
+
+        jobService.startExportTask(1L, mockAuthentication);
+
+        verify(exportTaskStore, timeout(2000).times(3)).save(any(ExportTask.class));
+        assertEquals(ExportTask.Status.FAILED, saved.get(2));
+    }
+
+    @Test
+    @DisplayName("getExportTask should throw when the task is unknown or expired")
+    void shouldThrowWhenExportTaskMissing() {
+        when(exportTaskStore.find("missing")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> jobService.getExportTask("missing"));
+    }
+
     @Test
     @DisplayName("getMatchedJobs should return matched jobs")
     void shouldGetMatchedJobsSuccessfully() {
         JobMatchingService.JobWithScore jobWithScore = new JobMatchingService.JobWithScore(testJob, 0.85);
-        
-        when(jobMatchingService.findSimilarJobs(any(User.class), anyInt())).thenReturn(List.of(jobWithScore));
+        Instant computedAt = Instant.now();
+
+        when(matchedJobsService.getMatchedJobs(any(User.class)))
+                .thenReturn(new MatchedJobsService.MatchedJobs(List.of(jobWithScore), computedAt));
         when(jobMapper.toMatchedJobListResponse(any(Job.class), anyDouble())).thenReturn(mock(MatchedJobListResponse.class));
 
         var result = jobService.getMatchedJobs(mockAuthentication);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(1, result.getJobs().size());
+        assertEquals(computedAt, result.getComputedAt());
     }
 
     @Test
@@ -247,6 +420,19 @@ class JobServiceTest {
         verify(jobMatchingService).deleteJobEmbedding(1L);
     }
 
+    @Test
+    @DisplayName("closeJob should hand the matched jobs patch to the background worker")
+    void shouldRemoveClosedJobFromMatchedJobsInBackground() {
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(testJob));
+        when(jobRepository.save(any(Job.class))).thenReturn(testJob);
+        when(jobMapper.toJobResponse(any(Job.class))).thenReturn(mock(JobResponse.class));
+
+        jobService.closeJob(1L, mockAuthentication);
+
+        verify(matchedJobsService).onJobRemovedAsync(1L);
+        verify(matchedJobsService, never()).onJobRemoved(anyLong());
+    }
+
     @Test
     @DisplayName("pauseJob should pause job successfully")
     void shouldPauseJobSuccessfully() {
@@ -0,0 +1,182 @@
+package com.upply.job;
+
+import com.upply.job.enums.JobStatus;
+import com.upply.user.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("MatchedJobsService unit tests")
+class MatchedJobsServiceTest {
+
+    @Mock
+    private MatchedJobsStore matchedJobsStore;
+
+    @Mock
+    private JobMatchingService jobMatchingService;
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @InjectMocks
+    private MatchedJobsService matchedJobsService;
+
+    @Mock
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(matchedJobsService, "patchCandidates", 500);
+        ReflectionTestUtils.setField(matchedJobsService, "patchQueueCapacity", 10);
+        matchedJobsService.startPatcher();
+        when(testUser.getId()).thenReturn(7L);
+        when(matchedJobsStore.size()).thenReturn(50);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        matchedJobsService.stopPatcher();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Job job(long id, JobStatus status) {
+        Job job = mock(Job.class);
+        when(job.getId()).thenReturn(id);
+        when(job.getStatus()).thenReturn(status);
+        return job;
+    }
+
+    @Test
+    @DisplayName("getMatchedJobs - serves the materialized result in score order")
+    void getMatchedJobs_FromSnapshot() {
+        Instant computedAt = Instant.parse("2026-01-01T00:00:00Z");
+        LinkedHashMap<Long, Double> scores = new LinkedHashMap<>();
+        scores.put(2L, 0.9);
+        scores.put(1L, 0.8);
+        scores.put(3L, 0.7);
+        when(matchedJobsStore.find(7L)).thenReturn(Optional.of(new MatchedJobsStore.Snapshot(scores, computedAt)));
+        List<Job> jobs = List.of(job(1L, JobStatus.OPEN), job(2L, JobStatus.OPEN), job(3L, JobStatus.PAUSED));
+        when(jobRepository.findAllById(any())).thenReturn(jobs);
+
+        MatchedJobsService.MatchedJobs result = matchedJobsService.getMatchedJobs(testUser);
+
+        assertEquals(List.of(2L, 1L), result.jobs().stream().map(j -> j.getJob().getId()).toList());
+        assertEquals(0.9, result.jobs().get(0).getScore());
+        assertEquals(computedAt, result.computedAt());
+        verify(jobMatchingService, never()).findSimilarJobs(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("getMatchedJobs - recomputes and stores when nothing is materialized")
+    void getMatchedJobs_RecomputesOnMiss() {
+        Job job = job(1L, JobStatus.OPEN);
+        when(matchedJobsStore.find(7L)).thenReturn(Optional.empty());
+        when(jobMatchingService.findSimilarJobs(testUser, 50))
+                .thenReturn(List.of(new JobMatchingService.JobWithScore(job, 0.75)));
+
+        MatchedJobsService.MatchedJobs result = matchedJobsService.getMatchedJobs(testUser);
+
+        assertEquals(1, result.jobs().size());
+        verify(matchedJobsStore).save(eq(7L), eq(Map.of(1L, 0.75)), eq(result.computedAt()));
+    }
+
+    @Test
+    @DisplayName("getMatchedJobs - falls back to a live search when the store fails")
+    void getMatchedJobs_StoreFailure() {
+        when(matchedJobsStore.find(7L)).thenThrow(new RuntimeException("redis down"));
+        doThrow(new RuntimeException("redis down")).when(matchedJobsStore).save(anyLong(), anyMap(), any());
+        when(jobMatchingService.findSimilarJobs(testUser, 50)).thenReturn(List.of());
+
+        MatchedJobsService.MatchedJobs result = matchedJobsService.getMatchedJobs(testUser);
+
+        assertTrue(result.jobs().isEmpty());
+    }
+
+    @Test
+    @DisplayName("onJobOpened - patches matching users with their scores")
+    void onJobOpened_PatchesMatchingUsers() {
+        Job job = job(5L, JobStatus.OPEN);
+        when(jobMatchingService.findMatchingUserScores(job, 500)).thenReturn(Map.of(7L, 0.8, 8L, 0.65));
+
+        matchedJobsService.onJobOpened(job);
+
+        verify(matchedJobsStore).addJob(5L, Map.of(7L, 0.8, 8L, 0.65));
+    }
+
+    @Test
+    @DisplayName("onJobUpdated - re-scores open jobs and drops paused ones")
+    void onJobUpdated_ReScores() {
+        Job open = job(5L, JobStatus.OPEN);
+        Job paused = job(6L, JobStatus.PAUSED);
+        when(jobMatchingService.findMatchingUserScores(any(), anyInt())).thenReturn(Map.of());
+
+        matchedJobsService.onJobUpdated(open);
+        matchedJobsService.onJobUpdated(paused);
+
+        verify(matchedJobsStore).removeJob(5L);
+        verify(matchedJobsStore).addJob(5L, Map.of());
+        verify(matchedJobsStore).removeJob(6L);
+        verify(matchedJobsStore, never()).addJob(eq(6L), anyMap());
+    }
+
+    @Test
+    @DisplayName("onJobOpenedAsync - patches on the background worker once the transaction commits")
+    void onJobOpenedAsync_AfterCommit() {
+        Job job = job(5L, JobStatus.OPEN);
+        when(jobRepository.findById(5L)).thenReturn(Optional.of(job));
+        when(jobMatchingService.findMatchingUserScores(job, 500)).thenReturn(Map.of(7L, 0.8));
+        TransactionSynchronizationManager.initSynchronization();
+
+        matchedJobsService.onJobOpenedAsync(5L);
+
+        verify(jobRepository, after(200).never()).findById(anyLong());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(matchedJobsStore, timeout(1000)).addJob(5L, Map.of(7L, 0.8));
+    }
+
+    @Test
+    @DisplayName("onJobUpdatedAsync - acts on the latest status of the job")
+    void onJobUpdatedAsync_ReloadsJob() {
+        Job paused = job(5L, JobStatus.PAUSED);
+        when(jobRepository.findById(5L)).thenReturn(Optional.of(paused));
+
+        matchedJobsService.onJobOpenedAsync(5L);
+        matchedJobsService.onJobUpdatedAsync(5L);
+
+        verify(matchedJobsStore, timeout(1000)).removeJob(5L);
+        verify(jobMatchingService, never()).findMatchingUserScores(any(), anyInt());
+        verify(matchedJobsStore, never()).addJob(anyLong(), anyMap());
+    }
+
+    @Test
+    @DisplayName("onUserSkillsChanged - drops the user's materialized result")
+    void onUserSkillsChanged_Invalidates() {
+        matchedJobsService.onUserSkillsChanged(7L);
+
+        verify(matchedJobsStore).invalidate(7L);
+    }
+}
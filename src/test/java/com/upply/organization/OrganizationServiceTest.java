@@ -7,6 +7,7 @@ import com.upply.exception.custom.OperationNotPermittedException;
 import com.upply.exception.custom.ResourceNotFoundException;
 import com.upply.job.Job;
 import com.upply.job.dto.JobListResponse;
+import com.upply.job.dto.JobListView;
 import com.upply.job.dto.JobMapper;
 import com.upply.job.enums.JobStatus;
 import com.upply.organization.dto.ConnectToOrganizationRequest;
@@ -29,9 +30,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -188,16 +191,22 @@ class OrganizationServiceTest {
         assertTrue(exception.getMessage().contains("not permitted"));
     }
 
+    private static JobListView viewOf(Job job) {
+        return new JobListView(job.getId(), job.getTitle(), job.getOrganizationName(), job.getType(),
+                job.getSeniority(), job.getModel(), job.getStatus(), job.getSource(), job.getLocation(),
+                job.getCreatedDate());
+    }
+
     @Test
     @DisplayName("getOrganizationOpenJobs should return paginated jobs")
     void shouldGetOrganizationOpenJobsSuccessfully() {
-        List<Job> jobs = List.of(testJob);
-        PageImpl<Job> jobPage = new PageImpl<>(jobs, PageRequest.of(0, 10), 1);
+        List<JobListView> jobs = List.of(viewOf(testJob));
+        PageImpl<JobListView> jobPage = new PageImpl<>(jobs, PageRequest.of(0, 10), 1);
 
         when(organizationRepository.existsById(1L)).thenReturn(true);
         when(organizationRepository.findJobsByOrganizationIdAndStatus(eq(1L), eq(JobStatus.OPEN), any(PageRequest.class)))
                 .thenReturn(jobPage);
-        when(jobMapper.toJobListResponse(testJob)).thenReturn(testJobResponse);
+        when(jobMapper.toJobListResponse(any(JobListView.class))).thenReturn(testJobResponse);
 
         var result = organizationService.getOrganizationOpenJobs(1L, 0, 10);
 
@@ -205,16 +214,32 @@ class OrganizationServiceTest {
         assertEquals(1, result.getContent().size());
     }
 
+    @Test
+    @DisplayName("getOrganizationOpenJobsByCursor should return the last page without a continuation token")
+    void shouldGetOrganizationOpenJobsByCursor() {
+        when(organizationRepository.existsById(1L)).thenReturn(true);
+        testJob.setCreatedDate(Instant.parse("2026-01-01T10:00:00Z"));
+        when(organizationRepository.findJobsByOrganizationIdAndStatusBefore(eq(1L), eq(JobStatus.OPEN), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(viewOf(testJob)));
+        when(jobMapper.toJobListResponse(any(JobListView.class))).thenReturn(testJobResponse);
+
+        var result = organizationService.getOrganizationOpenJobsByCursor(1L, null, 10);
+
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isLast());
+        assertNull(result.getNextCursor());
+    }
+
     @Test
     @DisplayName("getOrganizationJobsByStatus should return paginated jobs for given status")
     void shouldGetOrganizationJobsByStatusSuccessfully() {
-        List<Job> jobs = List.of(testJob);
-        PageImpl<Job> jobPage = new PageImpl<>(jobs, PageRequest.of(0, 10), 1);
+        List<JobListView> jobs = List.of(viewOf(testJob));
+        PageImpl<JobListView> jobPage = new PageImpl<>(jobs, PageRequest.of(0, 10), 1);
 
         when(organizationRepository.existsById(1L)).thenReturn(true);
         when(organizationRepository.findJobsByOrganizationIdAndStatus(eq(1L), eq(JobStatus.OPEN), any(PageRequest.class)))
                 .thenReturn(jobPage);
-        when(jobMapper.toJobListResponse(testJob)).thenReturn(testJobResponse);
+        when(jobMapper.toJobListResponse(any(JobListView.class))).thenReturn(testJobResponse);
 
         var result = organizationService.getOrganizationJobsByStatus(1L, JobStatus.OPEN, 0, 10);
 
@@ -227,13 +252,13 @@ class OrganizationServiceTest {
     @DisplayName("getOrganizationJobsByStatus should return paginated PAUSED jobs")
     void shouldGetPausedJobsByStatus() {
         testJob.setStatus(JobStatus.PAUSED);
-        List<Job> jobs = List.of(testJob);
-        PageImpl<Job> jobPage = new PageImpl<>(jobs, PageRequest.of(0, 10), 1);
+        List<JobListView> jobs = List.of(viewOf(testJob));
+        PageImpl<JobListView> jobPage = new PageImpl<>(jobs, PageRequest.of(0, 10), 1);
 
         when(organizationRepository.existsById(1L)).thenReturn(true);
         when(organizationRepository.findJobsByOrganizationIdAndStatus(eq(1L), eq(JobStatus.PAUSED), any(PageRequest.class)))
                 .thenReturn(jobPage);
-        when(jobMapper.toJobListResponse(testJob)).thenReturn(testJobResponse);
+        when(jobMapper.toJobListResponse(any(JobListView.class))).thenReturn(testJobResponse);
 
         var result = organizationService.getOrganizationJobsByStatus(1L, JobStatus.PAUSED, 0, 10);
 
@@ -245,13 +270,13 @@ class OrganizationServiceTest {
     @DisplayName("getOrganizationJobsByStatus should return paginated CLOSED jobs")
     void shouldGetClosedJobsByStatus() {
         testJob.setStatus(JobStatus.CLOSED);
-        List<Job> jobs = List.of(testJob);
-        PageImpl<Job> jobPage = new PageImpl<>(jobs, PageRequest.of(0, 10), 1);
+        List<JobListView> jobs = List.of(viewOf(testJob));
+        PageImpl<JobListView> jobPage = new PageImpl<>(jobs, PageRequest.of(0, 10), 1);
 
         when(organizationRepository.existsById(1L)).thenReturn(true);
         when(organizationRepository.findJobsByOrganizationIdAndStatus(eq(1L), eq(JobStatus.CLOSED), any(PageRequest.class)))
                 .thenReturn(jobPage);
-        when(jobMapper.toJobListResponse(testJob)).thenReturn(testJobResponse);
+        when(jobMapper.toJobListResponse(any(JobListView.class))).thenReturn(testJobResponse);
 
         var result = organizationService.getOrganizationJobsByStatus(1L, JobStatus.CLOSED, 0, 10);
 
@@ -276,7 +301,7 @@ class OrganizationServiceTest {
     @Test
     @DisplayName("getOrganizationJobsByStatus should return empty page when no jobs match status")
     void shouldReturnEmptyPageWhenNoJobsMatchStatus() {
-        PageImpl<Job> emptyPage = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
+        PageImpl<JobListView> emptyPage = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
 
         when(organizationRepository.existsById(1L)).thenReturn(true);
         when(organizationRepository.findJobsByOrganizationIdAndStatus(eq(1L), eq(JobStatus.PAUSED), any(PageRequest.class)))
@@ -0,0 +1,286 @@
+package com.upply.profile.resume;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BlobDiskCache unit tests")
+class BlobDiskCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FakeSource source;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        source = new FakeSource();
+    }
+
+    private BlobDiskCache cache(long maxBytes, Duration revalidateAfter) {
+        return new BlobDiskCache(directory, DataSize.ofBytes(maxBytes), revalidateAfter, meterRegistry);
+    }
+
+    private static String text(byte[] data) {
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    private long cachedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".blob")).count();
+        }
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("blob.cache.requests").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("read - serves a cached blob without calling the store")
+    void read_HitWithoutSource() throws IOException {
+        BlobDiskCache cache = cache(1024, Duration.ofHours(1));
+        source.put("1/resume.pdf", "resume", "v1");
+
+        assertEquals("resume", text(cache.read("1/resume.pdf", source)));
+        assertEquals("resume", text(cache.read("1/resume.pdf", source)));
+
+        assertEquals(1, source.downloads);
+        assertEquals(0, source.etagChecks);
+        assertEquals(1, cachedFiles());
+        assertEquals(1, requests("hit"));
+        assertEquals(1, requests("miss"));
+        assertEquals(0.5, meterRegistry.get("blob.cache.hit.ratio").gauge().value());
+        assertEquals(6, meterRegistry.get("blob.cache.size.bytes").gauge().value());
+    }
+
+    @Test
+    @DisplayName("read - revalidates stale entries by ETag and downloads again only when it changed")
+    void read_RevalidatesByEtag() {
+        BlobDiskCache cache = cache(1024, Duration.ZERO);
+        source.put("1/resume.pdf", "first", "v1");
+
+        cache.read("1/resume.pdf", source);
+        assertEquals("first", text(cache.read("1/resume.pdf", source)));
+        assertEquals(1, source.downloads);
+        assertEquals(1, requests("revalidated"));
+
+        source.put("1/resume.pdf", "second", "v2");
+        assertEquals("second", text(cache.read("1/resume.pdf", source)));
+        assertEquals(2, source.downloads);
+        assertEquals(2, requests("miss"));
+    }
+
+    @Test
+    @DisplayName("read - releases the entry when the ETag check fails, so eviction still deletes it")
+    void read_EtagCheckFails() throws IOException {
+        BlobDiskCache cache = cache(1024, Duration.ZERO);
+        source.put("1/resume.pdf", "resume", "v1");
+        cache.read("1/resume.pdf", source);
+
+        source.etagFailure = new IllegalStateException("store unreachable");
+        assertThrows(IllegalStateException.class, () -> cache.read("1/resume.pdf", source));
+        cache.evict("1/resume.pdf");
+
+        assertEquals(0, cachedFiles());
+        assertEquals(0, cache.sizeInBytes());
+    }
+
+    @Test
+    @DisplayName("read - evicts the least recently used blobs once over the byte budget")
+    void read_EvictsLeastRecentlyUsed() throws IOException {
+        BlobDiskCache cache = cache(10, Duration.ofHours(1));
+        source.put("a", "aaaa", "1");
+        source.put("b", "bbbb", "1");
+        source.put("c", "cccc", "1");
+
+        cache.read("a", source);
+        cache.read("b", source);
+        cache.read("a", source);
+        cache.read("c", source);
+
+        assertEquals(2, cachedFiles());
+        assertEquals(8, cache.sizeInBytes());
+        assertEquals(1, meterRegistry.get("blob.cache.evictions").counter().count());
+
+        cache.read("a", source);
+        assertEquals(3, source.downloads);
+        cache.read("b", source);
+        assertEquals(4, source.downloads);
+    }
+
+    @Test
+    @DisplayName("read - returns blobs larger than the budget without caching them")
+    void read_OversizedNotCached() throws IOException {
+        BlobDiskCache cache = cache(4, Duration.ofHours(1));
+        source.put("big", "0123456789", "1");
+
+        assertEquals("0123456789", text(cache.read("big", source)));
+        assertEquals("0123456789", text(cache.read("big", source)));
+
+        assertEquals(2, source.downloads);
+        assertEquals(0, cachedFiles());
+        assertEquals(0, cache.sizeInBytes());
+    }
+
+    private static String text(BlobDiskCache.CachedFile file) throws IOException {
+        try (InputStream in = file.newInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    @DisplayName("open - opens the cached file, or returns null for blobs larger than the budget")
+    void open_CachedFileOrNull() throws IOException {
+        BlobDiskCache cache = cache(8, Duration.ofHours(1));
+        source.put("small", "resume", "1");
+        source.put("big", "0123456789", "1");
+
+        try (BlobDiskCache.CachedFile file = cache.open("small", source)) {
+            assertEquals("resume", text(file));
+            assertEquals(6, file.size());
+        }
+        try (BlobDiskCache.CachedFile file = cache.open("small", source)) {
+            assertEquals("resume", text(file));
+        }
+        assertEquals(1, requests("hit"));
+
+        assertNull(cache.open("big", source));
+        assertEquals(1, cachedFiles());
+    }
+
+    @Test
+    @DisplayName("open - keeps an evicted file on disk until its reader closes it")
+    void open_EvictionWaitsForReaders() throws IOException {
+        BlobDiskCache cache = cache(8, Duration.ofHours(1));
+        source.put("first", "resume", "1");
+        source.put("second", "letter", "1");
+
+        BlobDiskCache.CachedFile first = cache.open("first", source);
+        cache.read("second", source);
+        cache.evict("first");
+
+        assertEquals(2, cachedFiles());
+        assertEquals("resume", text(first));
+        assertEquals("resume", text(first));
+
+        first.close();
+        assertEquals(1, cachedFiles());
+        assertEquals(6, cache.sizeInBytes());
+    }
+
+    @Test
+    @DisplayName("open - downloads again when the cached file disappeared")
+    void open_MissingFileReloaded() throws IOException {
+        BlobDiskCache cache = cache(1024, Duration.ofHours(1));
+        source.put("small", "resume", "1");
+        cache.read("small", source);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+
+        try (BlobDiskCache.CachedFile file = cache.open("small", source)) {
+            assertEquals("resume", text(file));
+        }
+        assertEquals(2, source.downloads);
+        assertEquals(6, cache.sizeInBytes());
+    }
+
+    @Test
+    @DisplayName("read - does not cache anything when the download fails")
+    void read_DownloadFails() throws IOException {
+        BlobDiskCache cache = cache(1024, Duration.ofHours(1));
+
+        assertThrows(UncheckedIOException.class, () -> cache.read("missing", source));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("evict - removes the cached file so the next read downloads again")
+    void evict_RemovesFile() throws IOException {
+        BlobDiskCache cache = cache(1024, Duration.ofHours(1));
+        source.put("1/resume.pdf", "resume", "v1");
+        cache.read("1/resume.pdf", source);
+
+        cache.evict("1/resume.pdf");
+
+        assertEquals(0, cachedFiles());
+        assertEquals(0, cache.sizeInBytes());
+        cache.read("1/resume.pdf", source);
+        assertEquals(2, source.downloads);
+    }
+
+    @Test
+    @DisplayName("constructor - clears files left over from a previous run")
+    void constructor_ClearsLeftovers() throws IOException {
+        Files.writeString(directory.resolve("old.blob"), "stale");
+        Files.writeString(directory.resolve("download-1.tmp"), "partial");
+        Files.writeString(directory.resolve("keep.txt"), "unrelated");
+
+        cache(1024, Duration.ofHours(1));
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+        assertTrue(Files.exists(directory.resolve("keep.txt")));
+    }
+
+    private static class FakeSource implements BlobDiskCache.Source {
+
+        private final Map<String, String> contents = new HashMap<>();
+        private final Map<String, String> etags = new HashMap<>();
+        private int downloads;
+        private int etagChecks;
+        private RuntimeException etagFailure;
+
+        void put(String blobName, String content, String etag) {
+            contents.put(blobName, content);
+            etags.put(blobName, etag);
+        }
+
+        @Override
+        public String etag(String blobName) {
+            etagChecks++;
+            if (etagFailure != null) {
+                throw etagFailure;
+            }
+            return etags.get(blobName);
+        }
+
+        @Override
+        public String download(String blobName, Path target) {
+            downloads++;
+            String content = contents.get(blobName);
+            if (content == null) {
+                throw new UncheckedIOException(new IOException("Blob not found: " + blobName));
+            }
+            try {
+                Files.writeString(target, content);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return etags.get(blobName);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.upply.profile.resume;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.encryption.AccessPermission;
+import org.apache.pdfbox.pdmodel.encryption.StandardProtectionPolicy;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ResumeTextExtractor unit tests")
+class ResumeTextExtractorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResumeTextExtractor extractor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        extractor = extractor(10, 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        extractor.close();
+    }
+
+    private ResumeTextExtractor extractor(int maxPages, int maxChars) {
+        return new ResumeTextExtractor(maxPages, maxChars, 2, 2, 4, DataSize.ofMegabytes(1),
+                Duration.ofSeconds(10), meterRegistry);
+    }
+
+    private static byte[] pdf(int pages, StandardProtectionPolicy protection) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int i = 1; i <= pages; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(font, 12);
+                    content.newLineAtOffset(72, 700);
+                    content.showText("Page " + i + " experience");
+                    content.endText();
+                }
+            }
+            if (protection != null) {
+                document.protect(protection);
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    @Test
+    @DisplayName("extract - keeps page order when pages are stripped in parallel")
+    void extract_ParallelPagesInOrder() throws IOException {
+        String text = extractor.extract(pdf(7, null));
+
+        assertEquals("Page 1 experience\nPage 2 experience\nPage 3 experience\nPage 4 experience\n"
+                + "Page 5 experience\nPage 6 experience\nPage 7 experience", text.replace("\r\n", "\n"));
+        assertEquals(1, meterRegistry.get("resume.text.extraction").tag("outcome", "success").timer().count());
+        assertEquals(7, meterRegistry.get("resume.text.extraction.pages").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("extract - reads a stream the same way as a byte array")
+    void extract_FromStream() throws IOException {
+        assertEquals("Page 1 experience", extractor.extract(new ByteArrayInputStream(pdf(1, null))));
+    }
+
+    @Test
+    @DisplayName("extract - stops at the page cap")
+    void extract_CapsPages() throws IOException {
+        extractor.close();
+        extractor = extractor(3, 10_000);
+
+        String text = extractor.extract(pdf(6, null));
+
+        assertTrue(text.contains("Page 3 experience"));
+        assertFalse(text.contains("Page 4"));
+    }
+
+    @Test
+    @DisplayName("extract - cuts the text at the character cap")
+    void extract_CapsCharacters() throws IOException {
+        extractor.close();
+        extractor = extractor(10, 10);
+
+        assertEquals("Page 1 exp", extractor.extract(pdf(4, null)));
+    }
+
+    @Test
+    @DisplayName("extract - returns an empty string for encrypted or unreadable files")
+    void extract_EncryptedOrUnreadable() throws IOException {
+        StandardProtectionPolicy protection = new StandardProtectionPolicy("owner", "", new AccessPermission());
+
+        assertEquals("", extractor.extract(pdf(1, protection)));
+        assertEquals("", extractor.extract(new byte[]{1, 2, 3}));
+        assertEquals(1, meterRegistry.get("resume.text.extraction").tag("outcome", "unreadable").timer().count());
+        assertEquals(0, meterRegistry.get("resume.text.extraction").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    @DisplayName("extract - throws instead of returning no text when interrupted")
+    void extract_FailsWhenInterrupted() throws IOException {
+        byte[] file = pdf(4, null);
+
+        Thread.currentThread().interrupt();
+        assertThrows(ResumeTextExtractionException.class, () -> extractor.extract(file));
+
+        assertTrue(Thread.interrupted());
+        assertEquals(1, meterRegistry.get("resume.text.extraction").tag("outcome", "failure").timer().count());
+    }
+}
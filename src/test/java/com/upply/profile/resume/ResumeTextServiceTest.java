@@ -0,0 +1,157 @@
+package com.upply.profile.resume;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ResumeTextService unit tests")
+class ResumeTextServiceTest {
+
+    @Mock
+    private ResumeTextRepository resumeTextRepository;
+
+    @Mock
+    private ResumeRepository resumeRepository;
+
+    @Mock
+    private ResumeTextExtractor resumeTextExtractor;
+
+    @Mock
+    private AzureStorageService azureStorageService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ResumeTextService resumeTextService;
+
+    private final byte[] fileData = {1, 2, 3};
+    private final String contentHash = ResumeTextService.sha256(new byte[]{1, 2, 3});
+
+    @BeforeEach
+    void setUp() {
+        when(resumeTextRepository.save(any(ResumeText.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(resumeTextExtractor.extract(fileData)).thenReturn("Java developer");
+    }
+
+    @Test
+    @DisplayName("save - extracts and stores the text keyed by content hash")
+    void save_StoresExtractedText() {
+        when(resumeTextRepository.findById(contentHash)).thenReturn(Optional.empty());
+
+        assertEquals(contentHash, resumeTextService.save(fileData));
+
+        verify(resumeTextRepository).save(argThat(text ->
+                text.getContentHash().equals(contentHash) && text.getText().equals("Java developer")));
+    }
+
+    @Test
+    @DisplayName("save - skips extraction when the same content was stored before")
+    void save_ReusesExistingText() {
+        when(resumeTextRepository.findById(contentHash))
+                .thenReturn(Optional.of(ResumeText.builder().contentHash(contentHash).text("stored").build()));
+
+        assertEquals(contentHash, resumeTextService.save(fileData));
+
+        verifyNoInteractions(resumeTextExtractor);
+        verify(resumeTextRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("save - hashes and extracts a re-readable file from streams")
+    void save_FromStream() throws IOException {
+        when(resumeTextRepository.findById(contentHash)).thenReturn(Optional.empty());
+        when(resumeTextExtractor.extract(any(InputStream.class))).thenReturn("Java developer");
+
+        assertEquals(contentHash, resumeTextService.save(new ByteArrayResource(fileData)));
+
+        verify(resumeTextExtractor, never()).extract(any(byte[].class));
+        verify(resumeTextRepository).save(argThat(text ->
+                text.getContentHash().equals(contentHash) && text.getText().equals("Java developer")));
+    }
+
+    @Test
+    @DisplayName("getText - reads the stored text without touching blob storage")
+    void getText_ReadsStoredText() {
+        Resume resume = Resume.builder().id(1L).blobName("1/blob").contentHash(contentHash).build();
+        when(resumeTextRepository.findById(contentHash))
+                .thenReturn(Optional.of(ResumeText.builder().contentHash(contentHash).text("stored").build()));
+
+        assertEquals("stored", resumeTextService.getText(resume));
+
+        verifyNoInteractions(azureStorageService, resumeTextExtractor);
+    }
+
+    @Test
+    @DisplayName("getText - backfills resumes uploaded before texts were stored")
+    void getText_BackfillsLegacyResume() {
+        Resume resume = Resume.builder().id(1L).blobName("1/blob").build();
+        when(azureStorageService.downloadFile("1/blob")).thenReturn(fileData);
+        when(resumeTextRepository.findById(contentHash)).thenReturn(Optional.empty());
+
+        assertEquals("Java developer", resumeTextService.getText(resume));
+
+        assertEquals(contentHash, resume.getContentHash());
+        verify(resumeRepository).save(resume);
+    }
+
+    @Test
+    @DisplayName("save - stores nothing when extraction fails, leaving it to the first read")
+    void save_ExtractionFailed() {
+        when(resumeTextRepository.findById(contentHash)).thenReturn(Optional.empty());
+        when(resumeTextExtractor.extract(fileData))
+                .thenThrow(new ResumeTextExtractionException("PDF extraction failed", new IOException("disk full")));
+
+        assertEquals(contentHash, resumeTextService.save(fileData));
+
+        verify(resumeTextRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("getText - returns no text this time and stores nothing when the backfill fails")
+    void getText_BackfillFailed() {
+        Resume resume = Resume.builder().id(1L).blobName("1/blob").contentHash(contentHash).build();
+        when(azureStorageService.downloadFile("1/blob")).thenReturn(fileData);
+        when(resumeTextRepository.findById(contentHash)).thenReturn(Optional.empty());
+        when(resumeTextExtractor.extract(fileData))
+                .thenThrow(new ResumeTextExtractionException("PDF extraction failed", new IOException("timeout")));
+
+        assertEquals("", resumeTextService.getText(resume));
+        assertThrows(ResumeTextExtractionException.class, () -> resumeTextService.getResumeText(resume));
+
+        verify(resumeTextRepository, never()).save(any());
+        verify(resumeRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("getResumeText - reads the text a concurrent upload of the same file stored first")
+    void getResumeText_ConcurrentUpload() {
+        Resume resume = Resume.builder().id(1L).blobName("1/blob").build();
+        ResumeText stored = ResumeText.builder().contentHash(contentHash).text("stored").build();
+        when(azureStorageService.downloadFile("1/blob")).thenReturn(fileData);
+        when(resumeTextRepository.findById(contentHash)).thenReturn(Optional.empty(), Optional.of(stored));
+        when(resumeTextRepository.save(any(ResumeText.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertSame(stored, resumeTextService.getResumeText(resume));
+        assertEquals(contentHash, resume.getContentHash());
+    }
+}
@@ -0,0 +1,123 @@
+package com.upply.profile.resume.parse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upply.ai.ChatProviderRouter;
+import com.upply.profile.experience.ExperienceRepository;
+import com.upply.profile.experience.dto.ExperienceMapper;
+import com.upply.profile.project.ProjectRepository;
+import com.upply.profile.project.dto.ProjectMapper;
+import com.upply.profile.resume.Resume;
+import com.upply.profile.resume.ResumeRepository;
+import com.upply.profile.resume.ResumeText;
+import com.upply.profile.resume.ResumeTextService;
+import com.upply.profile.resume.dto.ParsedResumeResponse;
+import com.upply.profile.skill.SkillRepository;
+import com.upply.profile.socialLink.SocialLinkRepository;
+import com.upply.profile.socialLink.dto.SocialLinkMapper;
+import com.upply.user.UserRepository;
+import com.upply.user.dto.SkillEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ResumeParserService unit tests")
+class ResumeParserServiceTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private ChatClient geminiChatClient;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private ChatClient groqChatClient;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ResumeRepository resumeRepository;
+
+    @Mock
+    private ResumeTextService resumeTextService;
+
+    @Mock
+    private KafkaTemplate<String, SkillEvent> skillEventKafkaTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ResumeParserService resumeParserService;
+    private Resume resume;
+    private ResumeText resumeText;
+
+    private final ParsedResumeResponse parsed = new ParsedResumeResponse(
+            "MIT", "Jane", "Doe", List.of(), List.of(), List.of("Java"), List.of(), false, "HIGH", null);
+
+    @BeforeEach
+    void setUp() {
+        ChatProviderRouter router = new ChatProviderRouter("resume-parser", List.of(
+                new ChatProviderRouter.Provider("gemini", geminiChatClient),
+                new ChatProviderRouter.Provider("groq", groqChatClient)),
+                new ChatProviderRouter.Settings(100, 20, 0.5, Duration.ofSeconds(30), false, 0.95,
+                        Duration.ofSeconds(2), Duration.ofSeconds(15)),
+                new SimpleMeterRegistry());
+        resumeParserService = new ResumeParserService(router, userRepository,
+                resumeRepository, resumeTextService, mock(SkillRepository.class), mock(ExperienceRepository.class),
+                mock(ProjectRepository.class), mock(SocialLinkRepository.class), mock(ExperienceMapper.class),
+                mock(ProjectMapper.class), mock(SocialLinkMapper.class), skillEventKafkaTemplate, objectMapper);
+
+        resume = Resume.builder().id(1L).blobName("1/blob").contentHash("hash").build();
+        resumeText = ResumeText.builder().contentHash("hash").text("Jane Doe, Java developer").build();
+        when(resumeRepository.getResumeById(1L)).thenReturn(Optional.of(resume));
+        when(resumeTextService.getResumeText(resume)).thenReturn(resumeText);
+        when(geminiChatClient.prompt().user(anyString()).advisors(anyAdvisorSpec()).call().entity(ParsedResumeResponse.class)).thenReturn(parsed);
+        doAnswer(inv -> {
+            resumeText.setParsedResume(inv.getArgument(1));
+            resumeText.setParsedResumeVersion(inv.getArgument(2));
+            return null;
+        }).when(resumeTextService).saveParsedResume(eq(resumeText), anyString(), anyInt());
+    }
+
+    private static Consumer<ChatClient.AdvisorSpec> anyAdvisorSpec() {
+        return any();
+    }
+
+    @Test
+    @DisplayName("preview - repeated parses of the same content call the model once")
+    void preview_ReusesStoredParse() {
+        ParsedResumeResponse first = resumeParserService.preview(1L);
+        ParsedResumeResponse second = resumeParserService.preview(1L);
+
+        assertEquals(parsed, first);
+        assertEquals(parsed, second);
+        verify(resumeTextService, times(1))
+                .saveParsedResume(eq(resumeText), anyString(), eq(ResumeParserService.PARSED_RESUME_VERSION));
+        verify(geminiChatClient.prompt().user(anyString()).advisors(anyAdvisorSpec()).call(), times(1)).entity(ParsedResumeResponse.class);
+    }
+
+    @Test
+    @DisplayName("parse - results stored under an older schema version are parsed again")
+    void parse_IgnoresOutdatedVersion() {
+        resumeText.setParsedResume("{\"firstName\":\"Stale\"}");
+        resumeText.setParsedResumeVersion(ResumeParserService.PARSED_RESUME_VERSION - 1);
+
+        assertEquals(parsed, resumeParserService.parse(resume));
+        assertEquals(ResumeParserService.PARSED_RESUME_VERSION, resumeText.getParsedResumeVersion());
+    }
+}
@@ -0,0 +1,143 @@
+package com.upply.vector;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("VectorStoreBatchWriter unit tests")
+class VectorStoreBatchWriterTest {
+
+    @Mock
+    private VectorStore vectorStore;
+
+    private VectorStoreBatchWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.close();
+    }
+
+    private static Document document(String id) {
+        return new Document(id, "text-" + id, Map.of("jobId", id));
+    }
+
+    @Test
+    @DisplayName("add - writes submitted within the window share one vector store call")
+    void add_BatchesWithinWindow() {
+        writer = new VectorStoreBatchWriter(vectorStore, "test", 100, Duration.ofMillis(300));
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(writer.add(document(String.valueOf(i))));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Document>> captor = ArgumentCaptor.forClass(List.class);
+        verify(vectorStore, times(1)).add(captor.capture());
+        assertEquals(10, captor.getValue().size());
+    }
+
+    @Test
+    @DisplayName("add - flushes once the batch size is reached")
+    void add_FlushesAtMaxBatchSize() {
+        writer = new VectorStoreBatchWriter(vectorStore, "test", 4, Duration.ofSeconds(30));
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(writer.add(document(String.valueOf(i))));
+        }
+
+        assertDoesNotThrow(() -> CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .get(5, TimeUnit.SECONDS));
+        verify(vectorStore, times(2)).add(argThat(docs -> docs.size() == 4));
+    }
+
+    @Test
+    @DisplayName("add - a failing document only fails its own future")
+    void add_IsolatesFailingDocument() {
+        doAnswer(inv -> {
+            List<Document> docs = inv.getArgument(0);
+            if (docs.stream().anyMatch(d -> d.getId().equals("bad"))) {
+                throw new RuntimeException("rejected");
+            }
+            return null;
+        }).when(vectorStore).add(anyList());
+        writer = new VectorStoreBatchWriter(vectorStore, "test", 100, Duration.ofMillis(200));
+
+        CompletableFuture<Void> good = writer.add(document("good"));
+        CompletableFuture<Void> bad = writer.add(document("bad"));
+        CompletableFuture<Void> other = writer.add(document("other"));
+
+        assertDoesNotThrow(good::join);
+        assertDoesNotThrow(other::join);
+        assertThrows(CompletionException.class, bad::join);
+        verify(vectorStore).add(List.of(document("good")));
+        verify(vectorStore).add(List.of(document("other")));
+    }
+
+    @Test
+    @DisplayName("close - flushes queued writes and fails the ones submitted afterwards")
+    void close_FlushesThenRejects() throws InterruptedException {
+        writer = new VectorStoreBatchWriter(vectorStore, "test", 100, Duration.ofMillis(200));
+
+        CompletableFuture<Void> queued = writer.add(document("1"));
+        writer.close();
+        CompletableFuture<Void> late = writer.add(document("2"));
+
+        assertTrue(queued.isDone());
+        assertDoesNotThrow(queued::join);
+        assertThrows(CompletionException.class, late::join);
+        verify(vectorStore).add(List.of(document("1")));
+    }
+
+    @Test
+    @DisplayName("delete - last write per id wins within a batch")
+    void delete_LastWriteWins() {
+        writer = new VectorStoreBatchWriter(vectorStore, "test", 100, Duration.ofMillis(200));
+
+        CompletableFuture<Void> added = writer.add(document("1"));
+        CompletableFuture<Void> deleted = writer.delete("1");
+        CompletableFuture<Void> kept = writer.add(document("2"));
+        CompletableFuture.allOf(added, deleted, kept).join();
+
+        verify(vectorStore).delete(List.of("1"));
+        verify(vectorStore).add(List.of(document("2")));
+        verifyNoMoreInteractions(vectorStore);
+    }
+
+    @Test
+    @DisplayName("close - flushes queued writes and rejects new ones")
+    void close_FlushesPendingWrites() throws InterruptedException {
+        writer = new VectorStoreBatchWriter(vectorStore, "test", 100, Duration.ofSeconds(1));
+
+        CompletableFuture<Void> pending = writer.add(document("1"));
+        writer.close();
+
+        assertTrue(pending.isDone());
+        assertFalse(pending.isCompletedExceptionally());
+        assertThrows(CompletionException.class, () -> writer.add(document("2")).join());
+    }
+}
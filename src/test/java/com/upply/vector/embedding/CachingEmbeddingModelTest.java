@@ -0,0 +1,124 @@
+package com.upply.vector.embedding;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("CachingEmbeddingModel unit tests")
+class CachingEmbeddingModelTest {
+
+    @Mock
+    private EmbeddingModel delegate;
+
+    @Mock
+    private RedisTemplate<String, byte[]> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, byte[]> valueOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingEmbeddingModel embeddingModel;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenAnswer(inv -> Arrays.asList(new byte[inv.<List<String>>getArgument(0).size()][]));
+        when(delegate.embed(anyList())).thenAnswer(inv -> inv.<List<String>>getArgument(0).stream()
+                .map(text -> new float[]{text.length(), 1f, 2f})
+                .toList());
+
+        embeddingModel = new CachingEmbeddingModel(delegate, redisTemplate, meterRegistry, "test", 100, Duration.ofDays(1));
+    }
+
+    private double count(String name, String... tags) {
+        return meterRegistry.counter(name, tags).count();
+    }
+
+    @Test
+    @DisplayName("embed - equivalent texts hit the local tier after the first call")
+    void embed_LocalHitForNormalizedText() {
+        float[] first = embeddingModel.embed("User Skills: Java, Spring.");
+        float[] second = embeddingModel.embed("  user skills:   JAVA, spring. ");
+
+        assertArrayEquals(first, second);
+        verify(delegate, times(1)).embed(List.of("user skills: java, spring."));
+        verify(valueOperations, times(1)).set(startsWith("embedding:test:"), any(byte[].class), eq(Duration.ofDays(1)));
+        assertEquals(1, count("embedding.cache.misses"));
+        assertEquals(1, count("embedding.cache.hits", "tier", "local"));
+    }
+
+    @Test
+    @DisplayName("embed - batch de-duplicates misses into a single model call")
+    void embed_BatchDeduplicatesMisses() {
+        List<float[]> vectors = embeddingModel.embed(List.of("Java", "java", "Python", "JAVA "));
+
+        assertEquals(4, vectors.size());
+        assertArrayEquals(vectors.get(0), vectors.get(3));
+        verify(delegate, times(1)).embed(List.of("java", "python"));
+        assertEquals(2, count("embedding.cache.misses"));
+    }
+
+    @Test
+    @DisplayName("embed - vectors found in redis skip the model")
+    void embed_RedisHit() {
+        float[] stored = {0.5f, -1f, 3f};
+        ByteBuffer buffer = ByteBuffer.allocate(stored.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(stored);
+        when(valueOperations.multiGet(anyList())).thenAnswer(inv -> {
+            List<byte[]> values = new ArrayList<>();
+            inv.<List<String>>getArgument(0).forEach(k -> values.add(buffer.array()));
+            return values;
+        });
+
+        float[] vector = embeddingModel.embed("Java");
+        embeddingModel.embed("Java");
+
+        assertArrayEquals(stored, vector);
+        verify(delegate, never()).embed(anyList());
+        assertEquals(1, count("embedding.cache.hits", "tier", "redis"));
+        assertEquals(1, count("embedding.cache.hits", "tier", "local"));
+    }
+
+    @Test
+    @DisplayName("embed - redis failures fall back to the model")
+    void embed_RedisFailureFallsBack() {
+        when(valueOperations.multiGet(anyList())).thenThrow(new RuntimeException("redis down"));
+        doThrow(new RuntimeException("redis down")).when(valueOperations).set(anyString(), any(byte[].class), any(Duration.class));
+
+        float[] vector = embeddingModel.embed("Java");
+
+        assertArrayEquals(new float[]{4f, 1f, 2f}, vector);
+    }
+
+    @Test
+    @DisplayName("embed - returned vectors are copies of the cached entry")
+    void embed_ReturnsDefensiveCopies() {
+        float[] first = embeddingModel.embed("Java");
+        first[0] = 99f;
+
+        assertEquals(4f, embeddingModel.embed("Java")[0]);
+    }
+}
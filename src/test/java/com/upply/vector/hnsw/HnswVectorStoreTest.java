@@ -0,0 +1,228 @@
+package com.upply.vector.hnsw;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("HnswVectorStore unit tests")
+class HnswVectorStoreTest {
+
+    private static final int DIMENSIONS = 16;
+
+    @Mock
+    private EmbeddingModel embeddingModel;
+
+    private final Map<String, float[]> embeddings = new HashMap<>();
+    private final Random random = new Random(42);
+
+    private HnswVectorStore vectorStore;
+
+    @BeforeEach
+    void setUp() {
+        vectorStore = new HnswVectorStore(embeddingModel, new HnswIndex(DIMENSIONS, 8, 64, new Random(7)), 50);
+
+        when(embeddingModel.embed(anyString())).thenAnswer(inv -> embeddings.get(inv.<String>getArgument(0)));
+        when(embeddingModel.embed(anyList())).thenAnswer(inv -> inv.<List<String>>getArgument(0).stream()
+                .map(embeddings::get)
+                .toList());
+    }
+
+    private float[] randomVector() {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private Document job(long id, String status) {
+        String text = "job-" + id;
+        embeddings.putIfAbsent(text, randomVector());
+        return new Document(String.valueOf(id), text, Map.of("jobId", String.valueOf(id), "status", status));
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0, na = 0, nb = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            na += a[i] * a[i];
+            nb += b[i] * b[i];
+        }
+        return dot / Math.sqrt(na * nb);
+    }
+
+    @Test
+    @DisplayName("similaritySearch - approximate results agree with brute force")
+    void similaritySearch_RecallAgainstBruteForce() {
+        List<Document> jobs = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            jobs.add(job(id, "OPEN"));
+        }
+        vectorStore.add(jobs);
+
+        int hits = 0;
+        int queries = 50;
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomVector();
+            embeddings.put("query", query);
+
+            Set<String> expected = jobs.stream()
+                    .sorted(Comparator.comparingDouble((Document d) -> -cosine(embeddings.get(d.getText()), query)))
+                    .limit(10)
+                    .map(Document::getId)
+                    .collect(Collectors.toSet());
+
+            List<Document> results = vectorStore.similaritySearch(SearchRequest.builder().query("query").topK(10).build());
+            hits += (int) results.stream().filter(d -> expected.contains(d.getId())).count();
+        }
+
+        assertTrue(hits / (double) (queries * 10) >= 0.9, "recall@10 was " + hits / (double) (queries * 10));
+    }
+
+    @Test
+    @DisplayName("similaritySearch - status filter excludes non open jobs")
+    void similaritySearch_StatusFilter() {
+        List<Document> jobs = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            jobs.add(job(id, id % 2 == 0 ? "OPEN" : "PAUSED"));
+        }
+        vectorStore.add(jobs);
+        embeddings.put("query", randomVector());
+
+        List<Document> results = vectorStore.similaritySearch(SearchRequest.builder()
+                .query("query")
+                .topK(20)
+                .filterExpression("status == 'OPEN'")
+                .build());
+
+        assertEquals(20, results.size());
+        assertTrue(results.stream().allMatch(d -> "OPEN".equals(d.getMetadata().get("status"))));
+    }
+
+    @Test
+    @DisplayName("similaritySearch - jobId filter returns that job with an azure scaled score")
+    void similaritySearch_JobIdFilter() {
+        List<Document> jobs = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            jobs.add(job(id, "OPEN"));
+        }
+        vectorStore.add(jobs);
+        float[] query = randomVector();
+        embeddings.put("query", query);
+
+        List<Document> results = vectorStore.similaritySearch(SearchRequest.builder()
+                .query("query")
+                .topK(1)
+                .filterExpression("jobId == '137'")
+                .similarityThreshold(0.0)
+                .build());
+
+        assertEquals(1, results.size());
+        assertEquals("137", results.get(0).getId());
+        double expected = 1.0 / (2.0 - cosine(embeddings.get("job-137"), query));
+        assertEquals(expected, results.get(0).getScore(), 1e-4);
+    }
+
+    @Test
+    @DisplayName("similaritySearch - applies the similarity threshold")
+    void similaritySearch_Threshold() {
+        vectorStore.add(List.of(job(1, "OPEN")));
+        float[] opposite = embeddings.get("job-1").clone();
+        for (int i = 0; i < opposite.length; i++) {
+            opposite[i] = -opposite[i];
+        }
+        embeddings.put("query", opposite);
+
+        List<Document> results = vectorStore.similaritySearch(SearchRequest.builder()
+                .query("query")
+                .topK(5)
+                .similarityThreshold(0.6)
+                .build());
+
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    @DisplayName("add - re-adding a job replaces its metadata and vector")
+    void add_ReplacesExistingDocument() {
+        vectorStore.add(List.of(job(1, "OPEN"), job(2, "OPEN")));
+        embeddings.put("query", embeddings.get("job-1"));
+
+        vectorStore.add(List.of(new Document("1", "job-1", Map.of("jobId", "1", "status", "PAUSED"))));
+
+        List<Document> results = vectorStore.similaritySearch(SearchRequest.builder()
+                .query("query")
+                .topK(2)
+                .filterExpression("status == 'OPEN'")
+                .build());
+
+        assertEquals(List.of("2"), results.stream().map(Document::getId).toList());
+        assertEquals(2, vectorStore.size());
+    }
+
+    @Test
+    @DisplayName("delete - removed jobs are no longer returned")
+    void delete_RemovesFromResults() {
+        List<Document> jobs = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            jobs.add(job(id, "OPEN"));
+        }
+        vectorStore.add(jobs);
+        List<String> removed = new ArrayList<>();
+        for (long id = 1; id <= 250; id++) {
+            removed.add(String.valueOf(id));
+        }
+
+        vectorStore.delete(removed);
+        embeddings.put("query", embeddings.get("job-10"));
+
+        List<Document> results = vectorStore.similaritySearch(SearchRequest.builder().query("query").topK(100).build());
+
+        assertEquals(50, vectorStore.size());
+        assertEquals(50, results.size());
+        assertTrue(results.stream().noneMatch(d -> removed.contains(d.getId())));
+    }
+
+    @Test
+    @DisplayName("delete - by filter expression")
+    void delete_ByFilterExpression() {
+        vectorStore.add(List.of(job(1, "OPEN"), job(2, "CLOSED"), job(3, "CLOSED")));
+
+        vectorStore.delete(new FilterExpressionBuilder().eq("status", "CLOSED").build());
+
+        assertEquals(1, vectorStore.size());
+    }
+
+    @Test
+    @DisplayName("add - notifies the change listener, load does not")
+    void add_NotifiesChangeListener() {
+        HnswVectorStore.ChangeListener listener = mock(HnswVectorStore.ChangeListener.class);
+        vectorStore.setChangeListener(listener);
+
+        vectorStore.add(List.of(job(1, "OPEN")));
+        vectorStore.load(List.of(job(2, "OPEN")));
+        vectorStore.delete(List.of("1"));
+
+        verify(listener).onAdded(argThat(docs -> docs.size() == 1 && docs.get(0).getId().equals("1")));
+        verify(listener).onDeleted(List.of("1"));
+        verifyNoMoreInteractions(listener);
+    }
+}
@@ -0,0 +1,144 @@
+package com.upply.vector.hybrid;
+
+import com.upply.vector.VectorMath;
+import com.upply.vector.hnsw.FilterExpressionMatcher;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+
+import java.util.*;
+
+/**
+ * In-memory {@link HybridRetriever} standing in for Azure AI Search in tests. Documents
+ * matching the filter are ranked by BM25 (k1 1.2, b 0.75) over their text and, up to
+ * {@code topK}, by cosine between their embedding and the query's; the two rankings are fused
+ * with reciprocal rank fusion as Azure AI Search does for hybrid queries.
+ */
+public class LocalHybridRetriever implements HybridRetriever {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double MAX_FUSED_SCORE = 2.0 / (RRF_K + 1);
+
+    private record Indexed(Document document, float[] embedding, Map<String, Integer> termFrequencies, int length) {
+    }
+
+    private record Ranked(Indexed indexed, double score) {
+    }
+
+    private final EmbeddingModel embeddingModel;
+    private final Map<String, Indexed> documents = new LinkedHashMap<>();
+
+    public LocalHybridRetriever(EmbeddingModel embeddingModel) {
+        this.embeddingModel = embeddingModel;
+    }
+
+    public void add(List<Document> added) {
+        List<float[]> embeddings = embeddingModel.embed(added.stream().map(Document::getText).toList());
+        synchronized (documents) {
+            for (int i = 0; i < added.size(); i++) {
+                Document document = added.get(i);
+                List<String> tokens = tokens(document.getText());
+                Map<String, Integer> termFrequencies = new HashMap<>();
+                tokens.forEach(token -> termFrequencies.merge(token, 1, Integer::sum));
+                documents.put(document.getId(), new Indexed(document, embeddings.get(i), termFrequencies, tokens.size()));
+            }
+        }
+    }
+
+    public void delete(Collection<String> ids) {
+        synchronized (documents) {
+            ids.forEach(documents::remove);
+        }
+    }
+
+    @Override
+    public List<Document> retrieve(SearchRequest request) {
+        float[] queryEmbedding = embeddingModel.embed(request.getQuery());
+        Set<String> queryTerms = new LinkedHashSet<>(tokens(request.getQuery()));
+
+        List<Indexed> all;
+        synchronized (documents) {
+            all = List.copyOf(documents.values());
+        }
+        List<Indexed> matching = all.stream()
+                .filter(indexed -> !request.hasFilterExpression()
+                        || FilterExpressionMatcher.matches(request.getFilterExpression(), indexed.document().getMetadata()))
+                .toList();
+
+        Map<Indexed, Double> fused = new IdentityHashMap<>();
+        fuse(fused, bm25(all, matching, queryTerms));
+        fuse(fused, cosine(matching, queryEmbedding).stream().limit(request.getTopK()).toList());
+
+        return fused.entrySet().stream()
+                .sorted(Map.Entry.<Indexed, Double>comparingByValue().reversed())
+                .limit(request.getTopK())
+                .map(entry -> entry.getKey().document().mutate()
+                        .score(Math.min(entry.getValue() / MAX_FUSED_SCORE, 1.0))
+                        .build())
+                .toList();
+    }
+
+    private static void fuse(Map<Indexed, Double> fused, List<Ranked> ranking) {
+        for (int rank = 0; rank < ranking.size(); rank++) {
+            fused.merge(ranking.get(rank).indexed(), 1.0 / (RRF_K + rank + 1), Double::sum);
+        }
+    }
+
+    // statistics come from the whole collection, like the index-wide ones of Azure AI Search
+    private static List<Ranked> bm25(List<Indexed> all, List<Indexed> matching, Set<String> queryTerms) {
+        if (all.isEmpty() || queryTerms.isEmpty()) {
+            return List.of();
+        }
+        double averageLength = all.stream().mapToInt(Indexed::length).average().orElse(1);
+        Map<String, Double> idf = new HashMap<>();
+        for (String term : queryTerms) {
+            long containing = all.stream().filter(indexed -> indexed.termFrequencies().containsKey(term)).count();
+            idf.put(term, Math.log(1 + (all.size() - containing + 0.5) / (containing + 0.5)));
+        }
+
+        List<Ranked> ranked = new ArrayList<>();
+        for (Indexed indexed : matching) {
+            double score = 0;
+            for (String term : queryTerms) {
+                int frequency = indexed.termFrequencies().getOrDefault(term, 0);
+                if (frequency > 0) {
+                    double norm = K1 * (1 - B + B * indexed.length() / averageLength);
+                    score += idf.get(term) * frequency * (K1 + 1) / (frequency + norm);
+                }
+            }
+            if (score > 0) {
+                ranked.add(new Ranked(indexed, score));
+            }
+        }
+        ranked.sort(Comparator.comparingDouble(Ranked::score).reversed());
+        return ranked;
+    }
+
+    private static List<Ranked> cosine(List<Indexed> matching, float[] queryEmbedding) {
+        float queryNorm = VectorMath.norm(queryEmbedding);
+        List<Ranked> ranked = new ArrayList<>();
+        for (Indexed indexed : matching) {
+            float norm = VectorMath.norm(indexed.embedding());
+            double cosine = norm == 0 || queryNorm == 0
+                    ? 0
+                    : VectorMath.dot(indexed.embedding(), queryEmbedding) / (norm * queryNorm);
+            ranked.add(new Ranked(indexed, cosine));
+        }
+        ranked.sort(Comparator.comparingDouble(Ranked::score).reversed());
+        return ranked;
+    }
+
+    private static List<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}+#]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
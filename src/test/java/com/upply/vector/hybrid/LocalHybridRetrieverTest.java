@@ -0,0 +1,92 @@
+package com.upply.vector.hybrid;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("LocalHybridRetriever unit tests")
+class LocalHybridRetrieverTest {
+
+    @Mock
+    private EmbeddingModel embeddingModel;
+
+    private LocalHybridRetriever retriever;
+
+    @BeforeEach
+    void setUp() {
+        retriever = new LocalHybridRetriever(embeddingModel);
+
+        // the Kafka chunk is the furthest from the query vector
+        when(embeddingModel.embed(anyList())).thenReturn(List.of(
+                new float[]{1, 0},
+                new float[]{0.9f, 0.1f},
+                new float[]{0.8f, 0.2f},
+                new float[]{0, 1},
+                new float[]{1, 0}));
+        retriever.add(List.of(
+                chunk("1-0", "1", "Candidate skilled in Java, Spring Boot"),
+                chunk("2-0", "1", "Backend developer building REST services"),
+                chunk("3-0", "1", "Built project inventory dashboard"),
+                chunk("4-0", "1", "Streaming pipelines with Kafka and Flink"),
+                chunk("5-0", "2", "Operated Kafka clusters")));
+        when(embeddingModel.embed("engineers who know Kafka")).thenReturn(new float[]{1, 0});
+    }
+
+    private static Document chunk(String id, String jobId, String text) {
+        return new Document(id, text, Map.of("jobId", jobId, "userId", id.substring(0, 1)));
+    }
+
+    private List<Document> retrieve(int topK) {
+        return retriever.retrieve(SearchRequest.builder()
+                .query("engineers who know Kafka")
+                .topK(topK)
+                .filterExpression("jobId == '1'")
+                .build());
+    }
+
+    @Test
+    @DisplayName("retrieve - lifts chunks naming the exact term above closer vectors")
+    void retrieve_LexicalMatchFused() {
+        List<String> ids = retrieve(2).stream().map(Document::getId).toList();
+
+        // first in the lexical ranking and first in the vector ranking; closer vectors drop out
+        assertEquals(2, ids.size());
+        assertTrue(ids.containsAll(List.of("4-0", "1-0")));
+    }
+
+    @Test
+    @DisplayName("retrieve - applies the filter and scales fused scores to [0, 1]")
+    void retrieve_FilteredAndScored() {
+        List<Document> results = retrieve(10);
+
+        assertEquals(4, results.size());
+        assertTrue(results.stream().allMatch(document -> "1".equals(document.getMetadata().get("jobId"))));
+        assertTrue(results.stream().allMatch(document -> document.getScore() > 0 && document.getScore() <= 1));
+        assertTrue(results.get(0).getScore() >= results.get(1).getScore());
+    }
+
+    @Test
+    @DisplayName("delete - removes documents from both rankings")
+    void delete_RemovesDocuments() {
+        retriever.delete(List.of("4-0"));
+
+        assertTrue(retrieve(10).stream().noneMatch(document -> document.getId().equals("4-0")));
+    }
+}